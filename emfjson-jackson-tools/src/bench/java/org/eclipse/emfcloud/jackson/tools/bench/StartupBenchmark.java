@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tools.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.ToolProvider;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.jackson.databind.property.EObjectCodec;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.eclipse.emfcloud.jackson.resource.JsonResource;
+import org.eclipse.emfcloud.jackson.tools.EObjectCodecGenerator;
+import org.eclipse.emfcloud.jackson.tools.FeatureMetadataGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures the time to the first load of an Ecore model in a fresh JVM, with the interpreted properties only,
+ * with the feature metadata of the Ecore package precomputed by {@link FeatureMetadataGenerator}, or with both
+ * the precomputed metadata and the codecs generated by {@link EObjectCodecGenerator}, and with or without
+ * preparing the mapper for all classes of the package first.
+ * <p>
+ * The payload and the generated classes are written and compiled by another process, so that nothing is
+ * loaded or computed in the measured JVM before the first load. The generated classes are registered
+ * explicitly, as they are not on the class path the Ecore package is loaded from.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 20, jvmArgsAppend = "-Xmx2G")
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+   static final int CLASSES = 50;
+   static final String JAVA_PACKAGE = "org.eclipse.emfcloud.jackson.tools.bench.ecore";
+   static final String METADATA = JAVA_PACKAGE + ".EcoreFeatureMetadata";
+   static final String CODECS = JAVA_PACKAGE + ".EcoreJsonCodecs";
+
+   @Param({ "interpreted", "metadata", "codecs" })
+   public String generated;
+
+   @Param({ "false", "true" })
+   public boolean warmUp;
+
+   private ObjectMapper mapper;
+   private byte[] payload;
+
+   @Setup(Level.Trial)
+   public void setUp() throws IOException, InterruptedException, ReflectiveOperationException {
+      Path directory = Files.createTempDirectory("startup");
+      Process process = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+         "-cp", System.getProperty("java.class.path"), Prepare.class.getName(), directory.toString())
+            .inheritIO()
+            .start();
+      if (process.waitFor() != 0) {
+         throw new IllegalStateException("Cannot prepare the payload and the generated classes");
+      }
+
+      payload = Files.readAllBytes(directory.resolve("payload.json"));
+      if (!"interpreted".equals(generated)) {
+         URLClassLoader loader = new URLClassLoader(new URL[] { directory.resolve("classes").toUri().toURL() },
+            getClass().getClassLoader());
+         FeatureMetadata.register(
+            (FeatureMetadata.Provider) loader.loadClass(METADATA).getDeclaredConstructor().newInstance());
+         if ("codecs".equals(generated)) {
+            EObjectCodec.register(
+               (EObjectCodec.Provider) loader.loadClass(CODECS).getDeclaredConstructor().newInstance());
+         }
+      }
+      mapper = EMFModule.setupDefaultMapper();
+   }
+
+   @Benchmark
+   public Resource firstLoad() throws IOException {
+      if (warmUp) {
+         EMFModule.warmUp(mapper, EcorePackage.eINSTANCE);
+      }
+      Resource resource = new JsonResource(URI.createURI("startup.json"), mapper);
+      resource.load(new ByteArrayInputStream(payload), null);
+      return resource;
+   }
+
+   /*
+    * A package of classes with attributes of the usual data types, and references between them.
+    */
+   static EPackage model() {
+      EcoreFactory factory = EcoreFactory.eINSTANCE;
+      EPackage ePackage = factory.createEPackage();
+      ePackage.setName("startup");
+      ePackage.setNsPrefix("startup");
+      ePackage.setNsURI("http://www.emfjson.org/jackson/startup");
+
+      EDataType[] types = { EcorePackage.Literals.ESTRING, EcorePackage.Literals.EINT,
+         EcorePackage.Literals.EBOOLEAN, EcorePackage.Literals.ELONG, EcorePackage.Literals.EDOUBLE };
+      EClass previous = null;
+      for (int i = 0; i < CLASSES; i++) {
+         EClass type = factory.createEClass();
+         type.setName("Class" + i);
+         type.setAbstract(i % 10 == 0);
+         if (previous != null) {
+            type.getESuperTypes().add(previous);
+         }
+
+         for (int j = 0; j < 10; j++) {
+            EAttribute attribute = factory.createEAttribute();
+            attribute.setName("attribute" + j);
+            attribute.setEType(types[j % types.length]);
+            attribute.setLowerBound(j % 2);
+            attribute.setUpperBound(j % 3 == 0 ? -1 : 1);
+            attribute.setUnsettable(j % 4 == 0);
+            attribute.setID(j == 0);
+            type.getEStructuralFeatures().add(attribute);
+         }
+
+         EReference reference = factory.createEReference();
+         reference.setName("children");
+         reference.setEType(type);
+         reference.setContainment(true);
+         reference.setUpperBound(-1);
+         type.getEStructuralFeatures().add(reference);
+
+         ePackage.getEClassifiers().add(type);
+         previous = type;
+      }
+      return ePackage;
+   }
+
+   /**
+    * Writes the payload and compiles the generated classes of the Ecore package into the given directory.
+    */
+   public static final class Prepare {
+
+      private Prepare() {}
+
+      public static void main(final String[] args) throws IOException {
+         Path directory = Paths.get(args[0]);
+         Resource resource = new JsonResource(URI.createURI("startup.json"), EMFModule.setupDefaultMapper());
+         resource.getContents().add(model());
+         ByteArrayOutputStream payload = new ByteArrayOutputStream();
+         resource.save(payload, null);
+         Files.write(directory.resolve("payload.json"), payload.toByteArray());
+
+         Path sources = directory.resolve("sources").resolve(JAVA_PACKAGE.replace('.', '/'));
+         Files.createDirectories(sources);
+         List<String> arguments = new ArrayList<>(List.of("-cp", System.getProperty("java.class.path"),
+            "-d", directory.resolve("classes").toString()));
+
+         Path source = sources.resolve("EcoreFeatureMetadata.java");
+         Files.writeString(source,
+            FeatureMetadataGenerator.generate(EcorePackage.eINSTANCE, JAVA_PACKAGE, "EcoreFeatureMetadata"));
+         arguments.add(source.toString());
+         for (Map.Entry<String, String> codec : EObjectCodecGenerator
+            .generate(EcorePackage.eINSTANCE, JAVA_PACKAGE, "EcoreJsonCodecs").entrySet()) {
+            source = sources.resolve(codec.getKey() + ".java");
+            Files.writeString(source, codec.getValue());
+            arguments.add(source.toString());
+         }
+
+         int result = ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0]));
+         if (result != 0) {
+            throw new IllegalStateException("Cannot compile the generated classes");
+         }
+      }
+   }
+
+}
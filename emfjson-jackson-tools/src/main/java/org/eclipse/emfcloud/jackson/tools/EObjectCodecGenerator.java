@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tools;
+
+import static org.eclipse.emfcloud.jackson.tools.FeatureMetadataGenerator.literal;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emfcloud.jackson.databind.property.EObjectCodec;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureKind;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
+
+/**
+ * Writes the {@link EObjectCodec} of each concrete class of a generated package, and the
+ * {@link EObjectCodec.Provider} that returns them.
+ * <p>
+ * A codec writes and reads the single valued attributes of type {@code String}, {@code boolean}, {@code int},
+ * {@code long}, {@code float} and {@code double}, primitive or not, with the generated getters and setters of
+ * the class and the methods of the Jackson generator and parser. Attributes of other types, references and
+ * containments, as well as attributes whose accessors are not found, are left to the interpreted properties. The
+ * model classes must be compiled and on the class path of the generator, which looks up their accessors.
+ * </p>
+ */
+public final class EObjectCodecGenerator {
+
+   /**
+    * Types of the attributes handled by codecs, with the token they are read from and the generator and
+    * parser methods that write and read them.
+    */
+   private enum ValueType {
+      STRING(String.class, null, "token != JsonToken.VALUE_STRING", "jp.getText()", "writeString", null),
+      BOOLEAN(Boolean.class, boolean.class, "!token.isBoolean()", "jp.getBooleanValue()", "writeBoolean",
+         "booleanValue"),
+      INT(Integer.class, int.class, "token != JsonToken.VALUE_NUMBER_INT", "jp.getIntValue()", "writeNumber",
+         "intValue"),
+      LONG(Long.class, long.class, "token != JsonToken.VALUE_NUMBER_INT", "jp.getLongValue()", "writeNumber",
+         "longValue"),
+      FLOAT(Float.class, float.class, "!token.isNumeric()", "jp.getFloatValue()", "writeNumber", "floatValue"),
+      DOUBLE(Double.class, double.class, "!token.isNumeric()", "jp.getDoubleValue()", "writeNumber",
+         "doubleValue");
+
+      private final Class<?> boxed;
+      private final Class<?> primitive;
+      private final String unexpectedToken;
+      private final String read;
+      private final String write;
+      private final String unbox;
+
+      ValueType(final Class<?> boxed, final Class<?> primitive, final String unexpectedToken, final String read,
+         final String write, final String unbox) {
+         this.boxed = boxed;
+         this.primitive = primitive;
+         this.unexpectedToken = unexpectedToken;
+         this.read = read;
+         this.write = write;
+         this.unbox = unbox;
+      }
+
+      static ValueType of(final Class<?> type) {
+         for (ValueType value : values()) {
+            if (type == value.boxed || type == value.primitive) {
+               return value;
+            }
+         }
+         return null;
+      }
+   }
+
+   /**
+    * Attribute handled by a codec, with its generated accessors.
+    */
+   private static final class Attribute {
+
+      private final int featureID;
+      private final ValueType type;
+      // boxed values may be null and are not written by the generator methods of primitive values
+      private final boolean boxed;
+      private final String getter;
+      private final String setter;
+
+      Attribute(final int featureID, final ValueType type, final boolean boxed, final String getter,
+         final String setter) {
+         this.featureID = featureID;
+         this.type = type;
+         this.boxed = boxed;
+         this.getter = getter;
+         this.setter = setter;
+      }
+   }
+
+   private EObjectCodecGenerator() {}
+
+   /**
+    * Returns the sources of the codecs of the classes of the given package and of their provider, by simple
+    * class name. The provider comes first.
+    *
+    * @param ePackage     generated package
+    * @param javaPackage  Java package of the codecs and of their provider
+    * @param providerName simple name of the provider
+    * @return Java sources
+    */
+   public static Map<String, String> generate(final EPackage ePackage, final String javaPackage,
+      final String providerName) {
+      Map<String, String> codecs = new LinkedHashMap<>();
+      for (EClassifier classifier : ePackage.getEClassifiers()) {
+         if (classifier instanceof EClass) {
+            String className = getCodecName((EClass) classifier);
+            String source = generate((EClass) classifier, javaPackage, className);
+            if (source != null) {
+               codecs.put(className, source);
+            }
+         }
+      }
+
+      StringBuilder out = new StringBuilder();
+      out.append("package ").append(javaPackage).append(";\n\n");
+      out.append("import ").append(EObjectCodec.class.getName()).append(";\n\n");
+      out.append("// Generated by ").append(EObjectCodecGenerator.class.getName()).append(", do not edit.\n");
+      out.append("public final class ").append(providerName).append(" implements EObjectCodec.Provider {\n\n");
+
+      out.append("   @Override\n");
+      out.append("   public String getNsURI() { return ").append(literal(ePackage.getNsURI())).append("; }\n\n");
+
+      out.append("   @Override\n");
+      out.append("   public EObjectCodec getCodec(final String className) {\n");
+      out.append("      switch (className) {\n");
+      for (EClassifier classifier : ePackage.getEClassifiers()) {
+         String className = getCodecName(classifier);
+         if (codecs.containsKey(className)) {
+            out.append("         case ").append(literal(classifier.getName())).append(":\n");
+            out.append("            return new ").append(className).append("();\n");
+         }
+      }
+      out.append("         default:\n");
+      out.append("            return null;\n");
+      out.append("      }\n");
+      out.append("   }\n\n");
+      out.append("}\n");
+
+      Map<String, String> sources = new LinkedHashMap<>();
+      sources.put(providerName, out.toString());
+      sources.putAll(codecs);
+      return sources;
+   }
+
+   static String getCodecName(final EClassifier type) {
+      return type.getName() + "JsonCodec";
+   }
+
+   /**
+    * Returns the source of the codec of the given class.
+    *
+    * @param type        class of a generated package
+    * @param javaPackage Java package of the codec
+    * @param className   simple name of the codec
+    * @return Java source, or null if the class is abstract or has no attribute handled by a codec
+    */
+   public static String generate(final EClass type, final String javaPackage, final String className) {
+      Class<?> instanceClass = type.getInstanceClass();
+      if (type.isAbstract() || type.isInterface() || instanceClass == null
+         || !Modifier.isPublic(instanceClass.getModifiers())) {
+         return null;
+      }
+
+      List<Attribute> attributes = new ArrayList<>();
+      for (EStructuralFeature feature : type.getEAllStructuralFeatures()) {
+         Attribute attribute = getAttribute(type, instanceClass, feature);
+         if (attribute != null) {
+            attributes.add(attribute);
+         }
+      }
+      if (attributes.isEmpty()) {
+         return null;
+      }
+
+      String typeName = instanceClass.getCanonicalName();
+      StringBuilder out = new StringBuilder();
+      out.append("package ").append(javaPackage).append(";\n\n");
+      out.append("import java.io.IOException;\n\n");
+      out.append("import org.eclipse.emf.ecore.EObject;\n");
+      out.append("import ").append(EObjectCodec.class.getName()).append(";\n\n");
+      out.append("import com.fasterxml.jackson.core.JsonGenerator;\n");
+      out.append("import com.fasterxml.jackson.core.JsonParser;\n");
+      out.append("import com.fasterxml.jackson.core.JsonToken;\n\n");
+      out.append("// Generated by ").append(EObjectCodecGenerator.class.getName()).append(", do not edit.\n");
+      out.append("public final class ").append(className).append(" extends EObjectCodec {\n\n");
+
+      out.append("   public ").append(className).append("() {\n");
+      out.append("      super(").append(EObjectCodec.hashFeatures(type)).append(");\n");
+      out.append("   }\n\n");
+
+      out.append("   @Override\n");
+      out.append("   public boolean handles(final int featureID) {\n");
+      out.append("      switch (featureID) {\n");
+      for (Attribute attribute : attributes) {
+         out.append("         case ").append(attribute.featureID).append(":\n");
+      }
+      out.append("            return true;\n");
+      out.append("         default:\n");
+      out.append("            return false;\n");
+      out.append("      }\n");
+      out.append("   }\n\n");
+
+      out.append("   @Override\n");
+      out.append("   public void write(final int featureID, final EObject object, final JsonGenerator jg) ")
+         .append("throws IOException {\n");
+      out.append("      ").append(typeName).append(" value = (").append(typeName).append(") object;\n");
+      out.append("      switch (featureID) {\n");
+      for (Attribute attribute : attributes) {
+         appendWrite(out, attribute);
+      }
+      out.append("         default:\n");
+      out.append("            throw new IllegalArgumentException(\"Not handled: \" + featureID);\n");
+      out.append("      }\n");
+      out.append("   }\n\n");
+
+      out.append("   @Override\n");
+      out.append("   public boolean read(final int featureID, final JsonParser jp, final EObject object) ")
+         .append("throws IOException {\n");
+      out.append("      ").append(typeName).append(" value = (").append(typeName).append(") object;\n");
+      out.append("      JsonToken token = jp.currentToken();\n");
+      out.append("      switch (featureID) {\n");
+      for (Attribute attribute : attributes) {
+         if (attribute.setter != null) {
+            out.append("         case ").append(attribute.featureID).append(":\n");
+            out.append("            if (").append(attribute.type.unexpectedToken).append(") {\n");
+            out.append("               return false;\n");
+            out.append("            }\n");
+            out.append("            value.").append(attribute.setter).append("(").append(attribute.type.read)
+               .append(");\n");
+            out.append("            return true;\n");
+         }
+      }
+      out.append("         default:\n");
+      out.append("            return false;\n");
+      out.append("      }\n");
+      out.append("   }\n\n");
+      out.append("}\n");
+      return out.toString();
+   }
+
+   private static void appendWrite(final StringBuilder out, final Attribute attribute) {
+      out.append("         case ").append(attribute.featureID).append(":");
+      if (attribute.boxed && attribute.type.unbox != null) {
+         String boxedName = attribute.type.boxed.getSimpleName();
+         out.append(" {\n");
+         out.append("            ").append(boxedName).append(" v = value.").append(attribute.getter).append("();\n");
+         out.append("            if (v == null) {\n");
+         out.append("               jg.writeNull();\n");
+         out.append("            } else {\n");
+         out.append("               jg.").append(attribute.type.write).append("(v.").append(attribute.type.unbox)
+            .append("());\n");
+         out.append("            }\n");
+         out.append("            break;\n");
+         out.append("         }\n");
+      } else {
+         out.append("\n");
+         out.append("            jg.").append(attribute.type.write).append("(value.").append(attribute.getter)
+            .append("());\n");
+         out.append("            break;\n");
+      }
+   }
+
+   /*
+    * Returns the attribute handled by the codec for the given feature, or null if it is left to the interpreted
+    * property because of its kind, its type or its annotations, or because its getter is not found.
+    */
+   private static Attribute getAttribute(final EClass type, final Class<?> instanceClass,
+      final EStructuralFeature feature) {
+      if (!(feature instanceof EAttribute) || feature.isDerived() || feature.isTransient()
+         || feature.getName() == null || feature.getName().isEmpty()) {
+         return null;
+      }
+
+      FeatureMetadata metadata = FeatureMetadata.compute(feature);
+      Class<?> valueClass = feature.getEType().getInstanceClass();
+      ValueType valueType = valueClass == null ? null : ValueType.of(valueClass);
+      if (valueType == null || metadata.getKind() != FeatureKind.SINGLE_ATTRIBUTE || metadata.isRawValue()
+         || metadata.isIgnored() || metadata.isFeatureMap() || metadata.isFeatureMapEntry()) {
+         return null;
+      }
+
+      // generated accessors are suffixed with an underscore when they clash with reserved names
+      String name = Character.toUpperCase(feature.getName().charAt(0)) + feature.getName().substring(1);
+      String getter = findMethod(instanceClass, valueClass, null, "get" + name, "is" + name, "get" + name + "_",
+         "is" + name + "_");
+      if (getter == null) {
+         return null;
+      }
+      String setter = findMethod(instanceClass, void.class, valueClass, "set" + name, "set" + name + "_");
+
+      return new Attribute(type.getFeatureID(feature), valueType, !valueClass.isPrimitive(), getter, setter);
+   }
+
+   private static String findMethod(final Class<?> type, final Class<?> returnType, final Class<?> parameterType,
+      final String... names) {
+      for (String name : names) {
+         try {
+            Method method = parameterType == null ? type.getMethod(name) : type.getMethod(name, parameterType);
+            if (method.getReturnType() == returnType) {
+               return name;
+            }
+         } catch (NoSuchMethodException e) {
+            // try the next name
+         }
+      }
+      return null;
+   }
+
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tools;
+
+import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_USE_NAMES_FROM_EXTENDED_META_DATA;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureKind;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
+
+/**
+ * Writes the {@link FeatureMetadata.Provider} of generated packages, so that the metadata of their features
+ * are not computed from their annotations when their classes are first used. The provider holds the hash of
+ * the annotations of each class, see {@link FeatureMetadata#hashAnnotations}, so that its metadata are not
+ * used once the annotations of the class have changed. It is run with the codec generator by
+ * {@link PackageGenerator}.
+ */
+public final class FeatureMetadataGenerator {
+
+   private FeatureMetadataGenerator() {}
+
+   /**
+    * Returns the source of the provider of the metadata of the features of all classes of the given package.
+    *
+    * @param ePackage    package to describe
+    * @param javaPackage Java package of the provider
+    * @param className   simple name of the provider
+    * @return Java source
+    */
+   public static String generate(final EPackage ePackage, final String javaPackage, final String className) {
+      List<EClass> types = new ArrayList<>();
+      for (EClassifier classifier : ePackage.getEClassifiers()) {
+         if (classifier instanceof EClass) {
+            types.add((EClass) classifier);
+         }
+      }
+
+      StringBuilder out = new StringBuilder();
+      out.append("package ").append(javaPackage).append(";\n\n");
+      out.append("import ").append(FeatureKind.class.getName()).append(";\n");
+      out.append("import ").append(FeatureMetadata.class.getName()).append(";\n\n");
+      out.append("// Generated by ").append(FeatureMetadataGenerator.class.getName()).append(", do not edit.\n");
+      out.append("public final class ").append(className).append(" implements FeatureMetadata.Provider {\n\n");
+
+      out.append("   @Override\n");
+      out.append("   public String getNsURI() { return ").append(literal(ePackage.getNsURI())).append("; }\n\n");
+
+      out.append("   @Override\n");
+      out.append("   public FeatureMetadata[] getFeatures(final String className) {\n");
+      out.append("      switch (className) {\n");
+      for (int i = 0; i < types.size(); i++) {
+         out.append("         case ").append(literal(types.get(i).getName())).append(":\n");
+         out.append("            return class").append(i).append("();\n");
+      }
+      out.append("         default:\n");
+      out.append("            return null;\n");
+      out.append("      }\n");
+      out.append("   }\n\n");
+
+      out.append("   @Override\n");
+      out.append("   public int getAnnotationsHash(final String className) {\n");
+      out.append("      switch (className) {\n");
+      for (EClass type : types) {
+         out.append("         case ").append(literal(type.getName())).append(":\n");
+         out.append("            return ").append(FeatureMetadata.hashAnnotations(type)).append(";\n");
+      }
+      out.append("         default:\n");
+      out.append("            return 0;\n");
+      out.append("      }\n");
+      out.append("   }\n");
+
+      // one method per class keeps each method small for large packages
+      for (int i = 0; i < types.size(); i++) {
+         out.append("\n   private static FeatureMetadata[] class").append(i).append("() {\n");
+         out.append("      return new FeatureMetadata[] {\n");
+         for (EStructuralFeature feature : types.get(i).getEAllStructuralFeatures()) {
+            appendCreate(out, FeatureMetadata.compute(feature));
+         }
+         out.append("      };\n");
+         out.append("   }\n");
+      }
+
+      out.append("\n}\n");
+      return out.toString();
+   }
+
+   private static void appendCreate(final StringBuilder out, final FeatureMetadata metadata) {
+      out.append("         FeatureMetadata.create(")
+         .append(literal(metadata.getName())).append(", ")
+         .append("FeatureKind.").append(metadata.getKind().name()).append(", ")
+         .append(flags(metadata.getFlags())).append(", ")
+         .append(literal(metadata.getGroupName())).append(", ")
+         .append(literal(metadata.getElementName(0))).append(", ")
+         .append(literal(metadata.getElementName(OPTION_USE_NAMES_FROM_EXTENDED_META_DATA.getMask())));
+      for (String alias : metadata.getAliases()) {
+         out.append(", ").append(literal(alias));
+      }
+      out.append("),\n");
+   }
+
+   private static String flags(final int flags) {
+      List<String> names = new ArrayList<>();
+      if ((flags & FeatureMetadata.FEATURE_MAP) != 0) {
+         names.add("FeatureMetadata.FEATURE_MAP");
+      }
+      if ((flags & FeatureMetadata.FEATURE_MAP_ENTRY) != 0) {
+         names.add("FeatureMetadata.FEATURE_MAP_ENTRY");
+      }
+      if ((flags & FeatureMetadata.RAW_VALUE) != 0) {
+         names.add("FeatureMetadata.RAW_VALUE");
+      }
+      if ((flags & FeatureMetadata.IGNORED) != 0) {
+         names.add("FeatureMetadata.IGNORED");
+      }
+      return names.isEmpty() ? "0" : String.join(" | ", names);
+   }
+
+   static String literal(final String value) {
+      if (value == null) {
+         return "null";
+      }
+
+      StringBuilder literal = new StringBuilder("\"");
+      for (int i = 0; i < value.length(); i++) {
+         char c = value.charAt(i);
+         if (c == '"' || c == '\\') {
+            literal.append('\\').append(c);
+         } else if (c < ' ') {
+            // unicode escapes of line terminators would end the literal
+            literal.append(String.format("\\%03o", (int) c));
+         } else if (c > '~') {
+            literal.append(String.format("\\u%04x", (int) c));
+         } else {
+            literal.append(c);
+         }
+      }
+      return literal.append('"').toString();
+   }
+
+}
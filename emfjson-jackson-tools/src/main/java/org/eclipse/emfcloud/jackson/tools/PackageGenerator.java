@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emfcloud.jackson.databind.property.EObjectCodec;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
+
+/**
+ * Writes the classes that spare the first use of the classes of generated packages most of the work of the
+ * interpreted (de)serialization: the {@link FeatureMetadata.Provider} written by
+ * {@link FeatureMetadataGenerator}, and the {@link EObjectCodec} of each class with their
+ * {@link EObjectCodec.Provider}, written by {@link EObjectCodecGenerator}. Both providers are found by the
+ * EMF module with a {@link java.util.ServiceLoader}, the interpreted properties remain in use for everything
+ * the generated classes do not cover, and for classes that changed since they were generated.
+ * <p>
+ * It is part of the emfjson-jackson-tools artifact, which is only needed at build time. It is meant to run once
+ * the model code is generated and compiled, for example with the exec-maven-plugin, with the source and resource
+ * directories to write to followed by the names of the package interfaces:
+ * </p>
+ *
+ * <pre>
+ * PackageGenerator target/generated-sources/emfjson target/generated-resources/emfjson com.acme.ModelPackage
+ * </pre>
+ * <p>
+ * The classes of a package are written next to its package interface and the providers are registered in the
+ * {@code META-INF/services} directory of the resources. Sub packages must be given on their own.
+ * </p>
+ */
+public final class PackageGenerator {
+
+   private static final String METADATA_SERVICE = "META-INF/services/" + FeatureMetadata.Provider.class.getName();
+   private static final String CODEC_SERVICE = "META-INF/services/" + EObjectCodec.Provider.class.getName();
+
+   private PackageGenerator() {}
+
+   public static void main(final String[] args) throws IOException, ReflectiveOperationException {
+      if (args.length < 3) {
+         throw new IllegalArgumentException(
+            "Usage: PackageGenerator <source directory> <resource directory> <package interface>...");
+      }
+
+      Path sources = Paths.get(args[0]);
+      Path resources = Paths.get(args[1]);
+      List<String> metadataProviders = new ArrayList<>();
+      List<String> codecProviders = new ArrayList<>();
+
+      for (int i = 2; i < args.length; i++) {
+         Class<?> packageClass = Class.forName(args[i]);
+         EPackage ePackage = (EPackage) packageClass.getField("eINSTANCE").get(null);
+         String javaPackage = packageClass.getPackageName();
+         Path directory = sources.resolve(javaPackage.replace('.', '/'));
+         String name = getBaseName(packageClass);
+
+         write(directory.resolve(name + "FeatureMetadata.java"),
+            FeatureMetadataGenerator.generate(ePackage, javaPackage, name + "FeatureMetadata"));
+         metadataProviders.add(javaPackage + "." + name + "FeatureMetadata");
+
+         Map<String, String> codecs = EObjectCodecGenerator.generate(ePackage, javaPackage, name + "JsonCodecs");
+         for (Map.Entry<String, String> codec : codecs.entrySet()) {
+            write(directory.resolve(codec.getKey() + ".java"), codec.getValue());
+         }
+         codecProviders.add(javaPackage + "." + name + "JsonCodecs");
+      }
+
+      write(resources.resolve(METADATA_SERVICE), String.join("\n", metadataProviders) + "\n");
+      write(resources.resolve(CODEC_SERVICE), String.join("\n", codecProviders) + "\n");
+   }
+
+   private static String getBaseName(final Class<?> packageClass) {
+      String name = packageClass.getSimpleName();
+      if (name.endsWith("Package") && name.length() > "Package".length()) {
+         name = name.substring(0, name.length() - "Package".length());
+      }
+      return name;
+   }
+
+   private static void write(final Path path, final String content) throws IOException {
+      Files.createDirectories(path.getParent());
+      Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+   }
+
+}
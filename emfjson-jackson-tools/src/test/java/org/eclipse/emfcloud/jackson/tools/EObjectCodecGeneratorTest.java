@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.tools.ToolProvider;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.jackson.databind.property.EObjectCodec;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.eclipse.emfcloud.jackson.resource.JsonResource;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.LRUMap;
+
+public class EObjectCodecGeneratorTest {
+
+   private static final String JAVA_PACKAGE = "org.eclipse.emfcloud.jackson.tools.ecore";
+
+   @ClassRule
+   public static final TemporaryFolder FOLDER = new TemporaryFolder();
+
+   private static final AtomicInteger WRITES = new AtomicInteger();
+   private static final AtomicInteger READS = new AtomicInteger();
+
+   // written before the codecs are registered, by the interpreted properties only
+   private static String expected;
+   private static ObjectMapper interpreted;
+
+   @BeforeClass
+   public static void setUpClass() throws IOException, ReflectiveOperationException, URISyntaxException {
+      interpreted = mapper();
+      expected = save(interpreted, model());
+
+      URLClassLoader loader = new URLClassLoader(new URL[] { compile().toUri().toURL() },
+         EObjectCodecGeneratorTest.class.getClassLoader());
+      EObjectCodec.Provider generated = (EObjectCodec.Provider) loader.loadClass(JAVA_PACKAGE + ".EcoreJsonCodecs")
+         .getDeclaredConstructor().newInstance();
+      EObjectCodec.register(new EObjectCodec.Provider() {
+         @Override
+         public String getNsURI() { return generated.getNsURI(); }
+
+         @Override
+         public EObjectCodec getCodec(final String className) {
+            EObjectCodec codec = generated.getCodec(className);
+            return codec == null ? null : new CountingCodec(codec);
+         }
+      });
+   }
+
+   /*
+    * Mappers with their own type factory do not share the property maps of other mappers.
+    */
+   private static ObjectMapper mapper() {
+      ObjectMapper mapper = EMFModule.setupDefaultMapper();
+      mapper.setTypeFactory(TypeFactory.defaultInstance().withCache(new LRUMap<>(16, 200)));
+      return mapper;
+   }
+
+   private static Path compile() throws IOException, URISyntaxException {
+      Path sources = FOLDER.newFolder("sources").toPath();
+      Path classes = FOLDER.newFolder("classes").toPath();
+
+      List<String> arguments = new ArrayList<>();
+      arguments.add("-cp");
+      arguments.add(classPath(EObjectCodec.class, EObject.class, Notifier.class, JsonGenerator.class,
+         ObjectMapper.class));
+      arguments.add("-d");
+      arguments.add(classes.toString());
+      for (Map.Entry<String, String> source : EObjectCodecGenerator
+         .generate(EcorePackage.eINSTANCE, JAVA_PACKAGE, "EcoreJsonCodecs").entrySet()) {
+         Path file = sources.resolve(source.getKey() + ".java");
+         Files.write(file, source.getValue().getBytes(StandardCharsets.UTF_8));
+         arguments.add(file.toString());
+      }
+
+      int result = ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0]));
+      assertThat(result).isZero();
+      return classes;
+   }
+
+   private static String classPath(final Class<?>... types) throws URISyntaxException {
+      List<String> entries = new ArrayList<>();
+      for (Class<?> type : types) {
+         entries.add(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+      }
+      return String.join(File.pathSeparator, entries);
+   }
+
+   private static EPackage model() {
+      EcoreFactory factory = EcoreFactory.eINSTANCE;
+      EPackage ePackage = factory.createEPackage();
+      ePackage.setName("codecs");
+      ePackage.setNsPrefix("codecs");
+      ePackage.setNsURI("http://www.emfjson.org/jackson/codecs");
+
+      EDataType text = factory.createEDataType();
+      text.setName("Text");
+      text.setInstanceClassName("java.lang.String");
+      text.setSerializable(false);
+
+      EEnum kind = factory.createEEnum();
+      kind.setName("Kind");
+      EEnumLiteral literal = factory.createEEnumLiteral();
+      literal.setName("LARGE");
+      literal.setLiteral("large");
+      literal.setValue(3);
+      kind.getELiterals().add(literal);
+
+      EClass node = factory.createEClass();
+      node.setName("Node");
+      node.setAbstract(true);
+
+      EAttribute label = factory.createEAttribute();
+      label.setName("label");
+      label.setEType(text);
+      label.setID(true);
+      label.setLowerBound(1);
+      label.setUpperBound(-1);
+      label.setChangeable(false);
+      label.setUnsettable(true);
+      label.setDefaultValueLiteral("none");
+      node.getEStructuralFeatures().add(label);
+
+      EReference children = factory.createEReference();
+      children.setName("children");
+      children.setEType(node);
+      children.setContainment(true);
+      children.setResolveProxies(false);
+      children.setUpperBound(-1);
+      node.getEStructuralFeatures().add(children);
+
+      ePackage.getEClassifiers().add(text);
+      ePackage.getEClassifiers().add(kind);
+      ePackage.getEClassifiers().add(node);
+      return ePackage;
+   }
+
+   private static String save(final ObjectMapper mapper, final EObject root) throws IOException {
+      Resource resource = new JsonResource(URI.createURI("codecs.json"), mapper);
+      resource.getContents().add(root);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      resource.save(out, null);
+      return out.toString(StandardCharsets.UTF_8);
+   }
+
+   private static EObject load(final ObjectMapper mapper, final String json) throws IOException {
+      Resource resource = new JsonResource(URI.createURI("codecs.json"), mapper);
+      resource.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), null);
+      return resource.getContents().get(0);
+   }
+
+   @Test
+   public void testGenerateCodec() {
+      String source = EObjectCodecGenerator.generate(EcorePackage.Literals.EATTRIBUTE, "org.example",
+         "EAttributeJsonCodec");
+
+      assertThat(source)
+         .startsWith("package org.example;")
+         .contains("public final class EAttributeJsonCodec extends EObjectCodec")
+         .contains("super(" + EObjectCodec.hashFeatures(EcorePackage.Literals.EATTRIBUTE) + ");")
+         .contains("org.eclipse.emf.ecore.EAttribute value = (org.eclipse.emf.ecore.EAttribute) object;")
+         .contains("jg.writeString(value.getName());")
+         .contains("value.setName(jp.getText());")
+         .contains("jg.writeBoolean(value.isID());")
+         .contains("value.setID(jp.getBooleanValue());")
+         .contains("jg.writeNumber(value.getLowerBound());")
+         .contains("value.setLowerBound(jp.getIntValue());")
+         .doesNotContain("getEType()")
+         .doesNotContain("isMany()");
+   }
+
+   @Test
+   public void testNoCodecOfAbstractOrDynamicClass() {
+      EClass dynamic = EcoreFactory.eINSTANCE.createEClass();
+      dynamic.setName("Dynamic");
+
+      assertThat(EObjectCodecGenerator.generate(EcorePackage.Literals.ENAMED_ELEMENT, "org.example", "Codec"))
+         .isNull();
+      assertThat(EObjectCodecGenerator.generate(dynamic, "org.example", "Codec")).isNull();
+   }
+
+   @Test
+   public void testGenerateProvider() {
+      Map<String, String> sources = EObjectCodecGenerator.generate(EcorePackage.eINSTANCE, "org.example",
+         "EcoreJsonCodecs");
+
+      assertThat(sources.keySet().iterator().next()).isEqualTo("EcoreJsonCodecs");
+      assertThat(sources).containsKeys("EClassJsonCodec", "EAttributeJsonCodec", "EReferenceJsonCodec")
+         .doesNotContainKeys("ENamedElementJsonCodec", "EStructuralFeatureJsonCodec");
+      assertThat(sources.get("EcoreJsonCodecs"))
+         .contains("public final class EcoreJsonCodecs implements EObjectCodec.Provider")
+         .contains("return \"" + EcorePackage.eNS_URI + "\";")
+         .contains("case \"EClass\":\n            return new EClassJsonCodec();")
+         .doesNotContain("case \"ENamedElement\":");
+   }
+
+   @Test
+   public void testGeneratedCodecsWriteAndReadAsInterpretedProperties() throws IOException {
+      ObjectMapper mapper = mapper();
+      int writes = WRITES.get();
+
+      assertThat(save(mapper, model())).isEqualTo(expected);
+      assertThat(WRITES.get()).isGreaterThan(writes);
+
+      int reads = READS.get();
+      EObject loaded = load(mapper, expected);
+
+      assertThat(READS.get()).isGreaterThan(reads);
+      assertThat(save(interpreted, loaded)).isEqualTo(expected);
+   }
+
+   @Test
+   public void testGeneratedCodecsAreNotUsedByChangedClasses() {
+      EClass type = EcoreFactory.eINSTANCE.createEClass();
+      type.setName("EAttribute");
+      type.setInstanceClass(EAttribute.class);
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setNsURI(EcorePackage.eNS_URI);
+      ePackage.getEClassifiers().add(type);
+
+      assertThat(EObjectCodec.of(EcorePackage.Literals.EATTRIBUTE)).isNotNull();
+      assertThat(EObjectCodec.of(type)).isNull();
+   }
+
+   /**
+    * Counts the values written and read by a generated codec.
+    */
+   private static final class CountingCodec extends EObjectCodec {
+
+      private final EObjectCodec codec;
+
+      CountingCodec(final EObjectCodec codec) {
+         super(codec.getFeaturesHash());
+         this.codec = codec;
+      }
+
+      @Override
+      public boolean handles(final int featureID) {
+         return codec.handles(featureID);
+      }
+
+      @Override
+      public void write(final int featureID, final EObject object, final JsonGenerator jg) throws IOException {
+         WRITES.incrementAndGet();
+         codec.write(featureID, object, jg);
+      }
+
+      @Override
+      public boolean read(final int featureID, final JsonParser jp, final EObject object) throws IOException {
+         boolean read = codec.read(featureID, jp, object);
+         if (read) {
+            READS.incrementAndGet();
+         }
+         return read;
+      }
+   }
+
+}
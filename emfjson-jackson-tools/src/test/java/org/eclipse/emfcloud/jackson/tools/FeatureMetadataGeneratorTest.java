@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FeatureMetadataGeneratorTest {
+
+   private static int packages;
+
+   private EPackage ePackage;
+   private EClass type;
+   private EAttribute name;
+   private EReference children;
+
+   @Before
+   public void setUp() {
+      ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName("generated");
+      ePackage.setNsURI("http://www.emfjson.org/jackson/generated/" + packages++);
+
+      type = EcoreFactory.eINSTANCE.createEClass();
+      type.setName("Node");
+      ePackage.getEClassifiers().add(type);
+
+      name = EcoreFactory.eINSTANCE.createEAttribute();
+      name.setName("name");
+      name.setEType(EcorePackage.Literals.ESTRING);
+      EAnnotation annotation = EcoreFactory.eINSTANCE.createEAnnotation();
+      annotation.setSource("JsonAlias");
+      annotation.getDetails().put("value", "title, \"caption\"");
+      name.getEAnnotations().add(annotation);
+
+      children = EcoreFactory.eINSTANCE.createEReference();
+      children.setName("children");
+      children.setEType(type);
+      children.setContainment(true);
+      children.setUpperBound(-1);
+
+      type.getEStructuralFeatures().add(name);
+      type.getEStructuralFeatures().add(children);
+   }
+
+   @Test
+   public void testGenerateProvider() {
+      String source = FeatureMetadataGenerator.generate(ePackage, "org.example", "GeneratedFeatureMetadata");
+
+      assertThat(source)
+         .startsWith("package org.example;")
+         .contains("public final class GeneratedFeatureMetadata implements FeatureMetadata.Provider")
+         .contains("return \"" + ePackage.getNsURI() + "\";")
+         .contains("case \"Node\":")
+         .contains("FeatureMetadata.create(\"name\", FeatureKind.SINGLE_ATTRIBUTE, 0, null, \"name\", \"name\", "
+            + "\"title\", \"\\\"caption\\\"\")")
+         .contains("FeatureMetadata.create(\"children\", FeatureKind.MANY_CONTAINMENT, 0, null, \"children\", "
+            + "\"children\")")
+         .contains("public int getAnnotationsHash(final String className)")
+         .contains("case \"Node\":\n            return " + FeatureMetadata.hashAnnotations(type) + ";");
+   }
+
+   @Test
+   public void testGenerateProviderOfGeneratedPackage() {
+      String source = FeatureMetadataGenerator.generate(EcorePackage.eINSTANCE, "org.example.ecore",
+         "EcoreFeatureMetadata");
+
+      assertThat(source)
+         .contains("case \"EAttribute\":")
+         .contains("FeatureMetadata.create(\"iD\", FeatureKind.SINGLE_ATTRIBUTE");
+   }
+
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emfcloud.jackson.databind.property.EObjectCodec;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PackageGeneratorTest {
+
+   @Rule
+   public final TemporaryFolder folder = new TemporaryFolder();
+
+   @Test
+   public void testWriteClassesAndServices() throws IOException, ReflectiveOperationException {
+      Path sources = folder.newFolder("sources").toPath();
+      Path resources = folder.newFolder("resources").toPath();
+
+      PackageGenerator.main(new String[] { sources.toString(), resources.toString(),
+         EcorePackage.class.getName() });
+
+      Path directory = sources.resolve("org/eclipse/emf/ecore");
+      assertThat(directory.resolve("EcoreFeatureMetadata.java")).exists();
+      assertThat(directory.resolve("EcoreJsonCodecs.java")).exists();
+      assertThat(directory.resolve("EAttributeJsonCodec.java")).exists();
+      assertThat(directory.resolve("ENamedElementJsonCodec.java")).doesNotExist();
+
+      Path services = resources.resolve("META-INF/services");
+      assertThat(services.resolve(FeatureMetadata.Provider.class.getName()))
+         .hasContent("org.eclipse.emf.ecore.EcoreFeatureMetadata");
+      assertThat(services.resolve(EObjectCodec.Provider.class.getName()))
+         .hasContent("org.eclipse.emf.ecore.EcoreJsonCodecs");
+   }
+
+}
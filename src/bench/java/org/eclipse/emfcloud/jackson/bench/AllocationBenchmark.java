@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.jackson.junit.model.Address;
+import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
+import org.eclipse.emfcloud.jackson.junit.model.PrimaryObject;
+import org.eclipse.emfcloud.jackson.junit.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures allocations of the JSON load and save paths.
+ * <p>
+ * Every benchmark declares the number of model objects it handles as operations per invocation,
+ * so that the {@code gc.alloc.rate.norm} metric of the GC profiler reads as bytes allocated per
+ * loaded or saved object. Run with {@code -prof gc}, or through {@link #main(String[])}.
+ * </p>
+ * <ul>
+ * <li>flat: a {@code Container} with its {@code elements}, type first.</li>
+ * <li>flatTypeLast: same payload with the type written last, which goes through the
+ * {@code TokenBuffer} copy in {@code EObjectDeserializer}.</li>
+ * <li>deep: a {@code Node.child} tree, without type information since it is minimized,
+ * which goes through the {@code TokenBuffer} copy for the children of the root.</li>
+ * <li>metamodel: a dynamic {@code EPackage}.</li>
+ * <li>featureMap: attribute feature map entries, each entry resolving its type through
+ * {@code EcoreTypeFactory}.</li>
+ * <li>smallDocuments: many single object documents, dominated by the per call
+ * {@code EMFContext} state.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2G")
+@State(Scope.Benchmark)
+public class AllocationBenchmark {
+
+   static final int FLAT = 10000;
+   static final int FAN_OUT = 4;
+   static final int DEPTH = 6;
+   // nodes in a tree of FAN_OUT children per node and DEPTH levels below the root
+   static final int DEEP = 5461;
+   static final int CLASSES = 50;
+   static final int ATTRIBUTES = 30;
+   static final int METAMODEL = CLASSES * (ATTRIBUTES + 1);
+   static final int ENTRIES = 10000;
+   static final int DOCUMENTS = 1000;
+
+   private byte[] flat;
+   private byte[] flatTypeLast;
+   private byte[] deep;
+   private byte[] metamodel;
+   private byte[] featureMap;
+   private byte[] smallDocument;
+
+   private Resource flatResource;
+   private Resource deepResource;
+   private Resource metamodelResource;
+
+   @Setup(Level.Trial)
+   public void setUp() throws IOException {
+      Format format = Format.JSON;
+
+      flat = format.save(Benchmarks.container(FLAT));
+      flatTypeLast = Benchmarks.moveTypeLast(flat);
+      deep = format.save(Benchmarks.tree(FAN_OUT, DEPTH));
+      metamodel = format.save(Benchmarks.metamodel(CLASSES, ATTRIBUTES));
+      featureMap = format.save(featureMap());
+      smallDocument = format.save(user());
+
+      flatResource = format.wrap(Benchmarks.container(FLAT));
+      deepResource = format.wrap(Benchmarks.tree(FAN_OUT, DEPTH));
+      metamodelResource = format.wrap(Benchmarks.metamodel(CLASSES, ATTRIBUTES));
+   }
+
+   private static PrimaryObject featureMap() {
+      PrimaryObject object = ModelFactory.eINSTANCE.createPrimaryObject();
+      for (int i = 0; i < ENTRIES / 2; i++) {
+         object.getFeatureMapAttributeType1().add("first" + i);
+         object.getFeatureMapAttributeType2().add("second" + i);
+      }
+      return object;
+   }
+
+   private static User user() {
+      User user = ModelFactory.eINSTANCE.createUser();
+      user.setUserId("1");
+      user.setName("John");
+      Address address = ModelFactory.eINSTANCE.createAddress();
+      address.setCity("Paris");
+      user.setAddress(address);
+      return user;
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(FLAT)
+   public Resource loadFlat() throws IOException {
+      return Format.JSON.load(flat);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(FLAT)
+   public Resource loadFlatTypeLast() throws IOException {
+      return Format.JSON.load(flatTypeLast);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(DEEP)
+   public Resource loadDeep() throws IOException {
+      return Format.JSON.load(deep);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(METAMODEL)
+   public Resource loadMetamodel() throws IOException {
+      return Format.JSON.load(metamodel);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(ENTRIES)
+   public Resource loadFeatureMap() throws IOException {
+      return Format.JSON.load(featureMap);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(DOCUMENTS)
+   public void loadSmallDocuments(final Blackhole blackhole) throws IOException {
+      for (int i = 0; i < DOCUMENTS; i++) {
+         blackhole.consume(Format.JSON.load(smallDocument));
+      }
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(FLAT)
+   public byte[] saveFlat() throws IOException {
+      return Format.JSON.save(flatResource);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(DEEP)
+   public byte[] saveDeep() throws IOException {
+      return Format.JSON.save(deepResource);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(METAMODEL)
+   public byte[] saveMetamodel() throws IOException {
+      return Format.JSON.save(metamodelResource);
+   }
+
+   public static void main(final String[] args) throws RunnerException {
+      Options options = new OptionsBuilder()
+         .include(AllocationBenchmark.class.getSimpleName())
+         .addProfiler(GCProfiler.class)
+         .build();
+
+      new Runner(options).run();
+   }
+
+}
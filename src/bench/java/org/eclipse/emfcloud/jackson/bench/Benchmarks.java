@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.IOException;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emfcloud.jackson.junit.model.AbstractType;
+import org.eclipse.emfcloud.jackson.junit.model.ConcreteTypeOne;
+import org.eclipse.emfcloud.jackson.junit.model.ConcreteTypeTwo;
+import org.eclipse.emfcloud.jackson.junit.model.Container;
+import org.eclipse.emfcloud.jackson.junit.model.ETypes;
+import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
+import org.eclipse.emfcloud.jackson.junit.model.Node;
+import org.eclipse.emfcloud.jackson.junit.model.PrimaryObject;
+import org.eclipse.emfcloud.jackson.junit.model.TargetObject;
+import org.eclipse.emfcloud.jackson.junit.model.Type;
+import org.eclipse.emfcloud.jackson.junit.model.Value;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Payload shapes shared by all benchmarks.
+ */
+public class Benchmarks {
+
+   public static final String FIRST = "first";
+   public static final String SECOND = "second";
+   public static final String THIRD = "third";
+   public static final String CROSS_REFERENCES = "crossReferences";
+   public static final String FEATURE_MAPS = "featureMaps";
+   public static final String MAPS = "maps";
+   public static final String POLYMORPHIC = "polymorphic";
+
+   /**
+    * Creates the payload registered under the given shape name.
+    *
+    * @param shape one of the shape constants
+    * @return root of the payload
+    */
+   public static EObject create(final String shape) {
+      switch (shape) {
+         case FIRST:
+            return first();
+         case SECOND:
+            return second();
+         case THIRD:
+            return third();
+         case CROSS_REFERENCES:
+            return crossReferences();
+         case FEATURE_MAPS:
+            return featureMaps();
+         case MAPS:
+            return maps();
+         case POLYMORPHIC:
+            return polymorphic();
+         default:
+            throw new IllegalArgumentException("Unknown shape " + shape);
+      }
+   }
+
+   /**
+    * Flat container with many elements of the same type.
+    */
+   public static EObject first() {
+      return container(100000);
+   }
+
+   /**
+    * Container with the given number of elements.
+    *
+    * @param size number of elements
+    * @return container
+    */
+   public static Container container(final int size) {
+      Container root = ModelFactory.eINSTANCE.createContainer();
+      for (int i = 0; i < size; i++) {
+         ConcreteTypeOne child = ModelFactory.eINSTANCE.createConcreteTypeOne();
+         child.setName("Concrete" + i);
+         root.getElements().add(child);
+      }
+      return root;
+   }
+
+   /**
+    * Deep containment tree.
+    */
+   public static EObject second() {
+      Node root = ModelFactory.eINSTANCE.createNode();
+
+      for (int i = 0; i < 100; i++) {
+         Node n1 = ModelFactory.eINSTANCE.createNode();
+         n1.setLabel("first" + i);
+         root.getChild().add(n1);
+
+         for (int j = 0; j < 100; j++) {
+            Node n2 = ModelFactory.eINSTANCE.createNode();
+            n2.setLabel("second" + j);
+            n1.getChild().add(n2);
+
+            for (int k = 0; k < 100; k++) {
+               Node n3 = ModelFactory.eINSTANCE.createNode();
+               n3.setLabel("third" + k);
+               n2.getChild().add(n3);
+            }
+         }
+      }
+      return root;
+   }
+
+   /**
+    * Dynamic metamodel with wide classes.
+    */
+   public static EObject third() {
+      return metamodel(500, 30);
+   }
+
+   /**
+    * Dynamic metamodel with the given number of classes and attributes per class.
+    *
+    * @param classes    number of classes
+    * @param attributes number of attributes per class
+    * @return package
+    */
+   public static EPackage metamodel(final int classes, final int attributes) {
+      EPackage p = EcoreFactory.eINSTANCE.createEPackage();
+      p.setName("p");
+      for (int i = 0; i < classes; i++) {
+         EClass ec = EcoreFactory.eINSTANCE.createEClass();
+         ec.setName("ClassTest" + i);
+
+         for (int j = 0; j < attributes; j++) {
+            EAttribute a = EcoreFactory.eINSTANCE.createEAttribute();
+            a.setName("attr" + i + j);
+            a.setEType(EcorePackage.Literals.ESTRING);
+            ec.getEStructuralFeatures().add(a);
+         }
+         p.getEClassifiers().add(ec);
+      }
+      return p;
+   }
+
+   /**
+    * Balanced containment tree of nodes.
+    *
+    * @param fanOut number of children per node
+    * @param depth  number of levels below the root
+    * @return root node
+    */
+   public static Node tree(final int fanOut, final int depth) {
+      Node root = ModelFactory.eINSTANCE.createNode();
+      root.setLabel("root");
+      addChildren(root, fanOut, depth);
+      return root;
+   }
+
+   private static void addChildren(final Node parent, final int fanOut, final int depth) {
+      if (depth == 0) {
+         return;
+      }
+      for (int i = 0; i < fanOut; i++) {
+         Node child = ModelFactory.eINSTANCE.createNode();
+         child.setLabel("node" + depth + "_" + i);
+         parent.getChild().add(child);
+         addChildren(child, fanOut, depth - 1);
+      }
+   }
+
+   /**
+    * Containment tree of nodes with a constant number of nodes whatever its depth, made of chains of
+    * nodes below the root.
+    *
+    * @param size  number of nodes below the root
+    * @param depth length of each chain
+    * @return root node
+    */
+   public static Node chains(final int size, final int depth) {
+      Node root = ModelFactory.eINSTANCE.createNode();
+      root.setLabel("root");
+
+      for (int i = 0; i < size / depth; i++) {
+         Node parent = root;
+         for (int j = 0; j < depth; j++) {
+            Node child = ModelFactory.eINSTANCE.createNode();
+            child.setLabel("node" + i + "_" + j);
+            parent.getChild().add(child);
+            parent = child;
+         }
+      }
+      return root;
+   }
+
+   /**
+    * Moves the type property of every object in a JSON payload after all other fields,
+    * the way documents produced by other tools are often laid out.
+    *
+    * @param payload JSON payload
+    * @return rewritten payload
+    * @throws IOException if the payload is not valid JSON
+    */
+   public static byte[] moveTypeLast(final byte[] payload) throws IOException {
+      ObjectMapper mapper = new ObjectMapper();
+      JsonNode tree = mapper.readTree(payload);
+      moveTypeLast(tree);
+      return mapper.writeValueAsBytes(tree);
+   }
+
+   private static void moveTypeLast(final JsonNode node) {
+      if (node.isObject()) {
+         ObjectNode object = (ObjectNode) node;
+         JsonNode type = object.remove("eClass");
+         if (type != null) {
+            object.set("eClass", type);
+         }
+      }
+      for (JsonNode child : node) {
+         moveTypeLast(child);
+      }
+   }
+
+   /**
+    * Flat list of nodes, each one referencing its neighbours.
+    */
+   public static EObject crossReferences() {
+      Node root = ModelFactory.eINSTANCE.createNode();
+      int size = 10000;
+
+      for (int i = 0; i < size; i++) {
+         Node node = ModelFactory.eINSTANCE.createNode();
+         node.setLabel("node" + i);
+         root.getChild().add(node);
+      }
+
+      for (int i = 0; i < size; i++) {
+         Node node = root.getChild().get(i);
+         node.setTarget(root.getChild().get((i + 1) % size));
+         for (int j = 1; j <= 10; j++) {
+            node.getManyRef().add(root.getChild().get((i + j * 7) % size));
+         }
+      }
+      return root;
+   }
+
+   /**
+    * Object with large attribute and reference feature maps.
+    */
+   public static EObject featureMaps() {
+      PrimaryObject root = ModelFactory.eINSTANCE.createPrimaryObject();
+      root.setName("root");
+
+      for (int i = 0; i < 20000; i++) {
+         root.getFeatureMapAttributeType1().add("first" + i);
+         root.getFeatureMapAttributeType2().add("second" + i);
+      }
+
+      for (int i = 0; i < 10000; i++) {
+         TargetObject target = ModelFactory.eINSTANCE.createTargetObject();
+         target.setSingleAttribute("target" + i);
+         root.getFeatureMapReferenceType2().add(target);
+      }
+
+      for (int i = 0; i < 10000; i += 2) {
+         root.getFeatureMapReferenceType1().add(root.getFeatureMapReferenceType2().get(i));
+      }
+      return root;
+   }
+
+   /**
+    * Object with large EMaps keyed by strings, data types and objects.
+    */
+   public static EObject maps() {
+      ETypes root = ModelFactory.eINSTANCE.createETypes();
+
+      for (int i = 0; i < 20000; i++) {
+         Value value = ModelFactory.eINSTANCE.createValue();
+         value.setValue(i);
+         root.getStringMapValues().put("key" + i, value);
+
+         root.getDataTypeMapValues().put("type" + i, "value" + i);
+
+         Type type = ModelFactory.eINSTANCE.createType();
+         type.setName("type" + i);
+         Value other = ModelFactory.eINSTANCE.createValue();
+         other.setValue(i);
+         root.getValues().put(type, other);
+      }
+      return root;
+   }
+
+   /**
+    * Container mixing concrete subtypes of an abstract reference type.
+    */
+   public static EObject polymorphic() {
+      Container root = ModelFactory.eINSTANCE.createContainer();
+
+      for (int i = 0; i < 100000; i++) {
+         AbstractType child;
+         if (i % 2 == 0) {
+            ConcreteTypeOne one = ModelFactory.eINSTANCE.createConcreteTypeOne();
+            one.setPropTypeOne("one" + i);
+            child = one;
+         } else {
+            ConcreteTypeTwo two = ModelFactory.eINSTANCE.createConcreteTypeTwo();
+            two.setPropTypeTwo("two" + i);
+            child = two;
+         }
+         child.setName("Concrete" + i);
+         if (i > 0) {
+            child.getRefProperty().add(root.getElements().get(i - 1));
+         }
+         root.getElements().add(child);
+      }
+      return root;
+   }
+
+}
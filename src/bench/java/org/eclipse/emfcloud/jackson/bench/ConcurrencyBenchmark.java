@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.jackson.databind.property.EObjectPropertyMap;
+import org.eclipse.emfcloud.jackson.junit.model.Address;
+import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
+import org.eclipse.emfcloud.jackson.junit.model.ModelPackage;
+import org.eclipse.emfcloud.jackson.junit.model.User;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Measures the throughput of the shared property map cache under concurrent requests.
+ * <p>
+ * The benchmarks run with as many threads as available processors by default, compare with a
+ * single threaded run ({@code -t 1}) to see how they scale.
+ * </p>
+ * <ul>
+ * <li>lookup: property map lookups of all classes of the test model through the builder shared
+ * by all threads.</li>
+ * <li>load and save: small documents, each thread using its own resources with the same mapper.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2G")
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrencyBenchmark {
+
+   private EObjectPropertyMap.Builder builder;
+   private List<EClass> types;
+   private byte[] document;
+
+   @Setup(Level.Trial)
+   public void setUp() throws IOException {
+      // registering the module sets up its default type, identity and reference infos
+      EMFModule module = new EMFModule();
+      new ObjectMapper().registerModule(module);
+
+      builder = EObjectPropertyMap.Builder.from(module, module.getFeatures());
+      types = ModelPackage.eINSTANCE.getEClassifiers().stream()
+         .filter(EClass.class::isInstance)
+         .map(EClass.class::cast)
+         .collect(Collectors.toList());
+      document = Format.JSON.save(user());
+   }
+
+   /**
+    * State of a single thread, contexts are not shared between requests.
+    */
+   @State(Scope.Thread)
+   public static class Request {
+
+      SerializerProvider provider;
+      Resource resource;
+
+      @Setup(Level.Trial)
+      public void setUp() {
+         provider = Format.MAPPER.getSerializerProviderInstance();
+         resource = Format.JSON.wrap(user());
+      }
+   }
+
+   private static User user() {
+      User user = ModelFactory.eINSTANCE.createUser();
+      user.setUserId("1");
+      user.setName("John");
+      Address address = ModelFactory.eINSTANCE.createAddress();
+      address.setCity("Paris");
+      user.setAddress(address);
+      return user;
+   }
+
+   @Benchmark
+   public void lookup(final Request request, final Blackhole blackhole) {
+      for (EClass type : types) {
+         blackhole.consume(builder.construct(request.provider, type));
+      }
+   }
+
+   @Benchmark
+   public Resource load() throws IOException {
+      return Format.JSON.load(document);
+   }
+
+   @Benchmark
+   public byte[] save(final Request request) throws IOException {
+      return Format.JSON.save(request.resource);
+   }
+
+}
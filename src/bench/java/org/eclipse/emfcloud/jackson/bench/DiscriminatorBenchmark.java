@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading of JSON payloads whose objects have their type property first or last.
+ * <p>
+ * Fields read before the type of an object is known are buffered and set once the object is created,
+ * compare both layouts to see the cost of this buffering.
+ * </p>
+ * <ul>
+ * <li>first: a {@code Container} with elements of a single concrete type.</li>
+ * <li>polymorphic: a {@code Container} with elements of two concrete types of an abstract reference
+ * type, that are cross referenced.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2G")
+@State(Scope.Benchmark)
+public class DiscriminatorBenchmark {
+
+   @Param({ Benchmarks.FIRST, Benchmarks.POLYMORPHIC })
+   public String shape;
+
+   @Param({ "false", "true" })
+   public boolean typeLast;
+
+   private byte[] payload;
+
+   @Setup(Level.Trial)
+   public void setUp() throws IOException {
+      payload = Format.JSON.save(Benchmarks.create(shape));
+      if (typeLast) {
+         payload = Benchmarks.moveTypeLast(payload);
+      }
+   }
+
+   @Benchmark
+   public Resource load() throws IOException {
+      return Format.JSON.load(payload);
+   }
+
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emfcloud.jackson.resource.FileChannelURIHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading and saving of a JSON file of more than 100 MB through the file streams of the default URI
+ * handler, or through a {@link FileChannelURIHandler} reading the file from its channel or memory-mapped.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+@State(Scope.Benchmark)
+public class FileBenchmark {
+
+   // elements of about 90 bytes each
+   static final int SIZE = 1_200_000;
+
+   public enum IO {
+      STREAM,
+      CHANNEL,
+      MAPPED
+   }
+
+   @Param({ "STREAM", "CHANNEL", "MAPPED" })
+   public IO io;
+
+   private Path directory;
+   private URI input;
+   private Resource output;
+
+   @Setup(Level.Trial)
+   public void setUp() throws IOException {
+      directory = Files.createTempDirectory("file");
+      Path file = directory.resolve("input.json");
+      Files.write(file, Format.JSON.save(Benchmarks.container(SIZE)));
+      input = URI.createFileURI(file.toString());
+
+      output = createResource(createResourceSet(), URI.createFileURI(directory.resolve("output.json").toString()));
+      output.getContents().add(Benchmarks.container(SIZE));
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() throws IOException {
+      Files.deleteIfExists(directory.resolve("input.json"));
+      Files.deleteIfExists(directory.resolve("output.json"));
+      Files.deleteIfExists(directory);
+   }
+
+   private ResourceSet createResourceSet() {
+      ResourceSet resourceSet = Format.JSON.createResourceSet();
+      if (io == IO.CHANNEL) {
+         resourceSet.getURIConverter().getURIHandlers()
+            .add(0, new FileChannelURIHandler(Long.MAX_VALUE, FileChannelURIHandler.DEFAULT_BUFFER_SIZE));
+      } else if (io == IO.MAPPED) {
+         resourceSet.getURIConverter().getURIHandlers().add(0, new FileChannelURIHandler());
+      }
+      return resourceSet;
+   }
+
+   private static Resource createResource(final ResourceSet resourceSet, final URI uri) {
+      Resource resource = Format.JSON.newResource(uri);
+      resourceSet.getResources().add(resource);
+      return resource;
+   }
+
+   @Benchmark
+   public Resource load() throws IOException {
+      Resource resource = createResource(createResourceSet(), input);
+      resource.load(null);
+      return resource;
+   }
+
+   @Benchmark
+   public Resource save() throws IOException {
+      output.save(null);
+      return output;
+   }
+
+}
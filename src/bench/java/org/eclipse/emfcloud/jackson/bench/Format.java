@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emfcloud.jackson.junit.model.ModelPackage;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.eclipse.emfcloud.jackson.resource.JsonResource;
+import org.eclipse.emfcloud.jackson.resource.JsonUuidResource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Resource implementations compared by the benchmarks.
+ */
+public enum Format {
+
+   JSON {
+      @Override
+      protected Resource newResource(final URI uri) {
+         return new JsonResource(uri, MAPPER);
+      }
+   },
+   JSON_SETTERS {
+      @Override
+      protected Resource newResource(final URI uri) {
+         return new JsonResource(uri, SETTERS_MAPPER);
+      }
+   },
+   JSON_UUID {
+      @Override
+      protected Resource newResource(final URI uri) {
+         return new JsonUuidResource(uri, MAPPER);
+      }
+   },
+   XMI {
+      @Override
+      protected Resource newResource(final URI uri) {
+         return new XMIResourceImpl(uri);
+      }
+   },
+   XMI_UUID {
+      @Override
+      protected Resource newResource(final URI uri) {
+         return new XMIResourceImpl(uri) {
+            @Override
+            protected boolean useUUIDs() {
+               return true;
+            }
+         };
+      }
+   },
+   BINARY {
+      @Override
+      protected Resource newResource(final URI uri) {
+         return new BinaryResourceImpl(uri);
+      }
+   };
+
+   static final ObjectMapper MAPPER = EMFModule.setupDefaultMapper();
+   // modules of the same type are registered once, so the default mapper cannot be reconfigured
+   static final ObjectMapper SETTERS_MAPPER = new ObjectMapper()
+      .setDateFormat(MAPPER.getDateFormat())
+      .setTimeZone(MAPPER.getSerializationConfig().getTimeZone())
+      .registerModule(new EMFModule().configure(EMFModule.Feature.OPTION_USE_GENERATED_SETTERS, true));
+
+   protected abstract Resource newResource(URI uri);
+
+   /**
+    * Creates a resource set with the benchmark models registered.
+    *
+    * @return resource set
+    */
+   public ResourceSet createResourceSet() {
+      ResourceSet resourceSet = new ResourceSetImpl();
+      resourceSet.getPackageRegistry().put(ModelPackage.eNS_URI, ModelPackage.eINSTANCE);
+      return resourceSet;
+   }
+
+   /**
+    * Creates an empty resource of this format inside the given resource set.
+    *
+    * @param resourceSet owning resource set
+    * @return resource
+    */
+   public Resource createResource(final ResourceSet resourceSet) {
+      Resource resource = newResource(URI.createURI("bench." + name().toLowerCase()));
+      resourceSet.getResources().add(resource);
+      return resource;
+   }
+
+   /**
+    * Creates a resource of this format that contains the given root.
+    *
+    * @param content root of the payload
+    * @return resource
+    */
+   public Resource wrap(final EObject content) {
+      Resource resource = createResource(createResourceSet());
+      resource.getContents().add(content);
+      return resource;
+   }
+
+   /**
+    * Serializes the given root in this format.
+    *
+    * @param content root of the payload
+    * @return serialized bytes
+    * @throws IOException if the resource cannot be saved
+    */
+   public byte[] save(final EObject content) throws IOException {
+      return save(wrap(content));
+   }
+
+   /**
+    * Saves the resource into memory.
+    *
+    * @param resource to save
+    * @return serialized bytes
+    * @throws IOException if the resource cannot be saved
+    */
+   public byte[] save(final Resource resource) throws IOException {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      resource.save(outputStream, null);
+      return outputStream.toByteArray();
+   }
+
+   /**
+    * Loads bytes produced by {@link #save(EObject)} into a fresh resource set.
+    *
+    * @param payload serialized bytes
+    * @return loaded resource
+    * @throws IOException if the payload cannot be read
+    */
+   public Resource load(final byte[] payload) throws IOException {
+      Resource resource = createResource(createResourceSet());
+      resource.load(new ByteArrayInputStream(payload), null);
+      return resource;
+   }
+
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading of {@code Node.child} trees of a constant number of nodes and increasing depth, with
+ * the type of the root first or last.
+ * <p>
+ * Nodes below the root have no type property since their type is minimized, so that with the type of the
+ * root last the whole tree is buffered before any node is created. Load times should not grow with the
+ * depth of the tree, which they do if nested objects buffer their content again when they are replayed.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2G")
+@State(Scope.Benchmark)
+public class NestedBufferingBenchmark {
+
+   static final int SIZE = 100000;
+
+   @Param({ "1", "4", "16", "64" })
+   public int depth;
+
+   @Param({ "false", "true" })
+   public boolean typeLast;
+
+   private byte[] payload;
+
+   @Setup(Level.Trial)
+   public void setUp() throws IOException {
+      payload = Format.JSON.save(Benchmarks.chains(SIZE, depth));
+      if (typeLast) {
+         payload = Benchmarks.moveTypeLast(payload);
+      }
+   }
+
+   @Benchmark
+   public Resource load() throws IOException {
+      return Format.JSON.load(payload);
+   }
+
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emfcloud.jackson.databind.EMFContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading of the cross references payload into a resource set without adapters, with a content
+ * adapter or with a cross reference adapter, with notifications delivered during the load or suppressed with
+ * {@link EMFContext.Attributes#SUPPRESS_NOTIFICATIONS}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2G")
+@State(Scope.Benchmark)
+public class NotificationBenchmark {
+
+   public enum Adapters {
+      NONE,
+      CONTENT,
+      CROSS_REFERENCES
+   }
+
+   @Param({ "NONE", "CONTENT", "CROSS_REFERENCES" })
+   public Adapters adapters;
+
+   @Param({ "false", "true" })
+   public boolean suppress;
+
+   private byte[] payload;
+   private Map<Object, Object> options;
+
+   @Setup(Level.Trial)
+   public void setUp() throws IOException {
+      payload = Format.JSON.save(Benchmarks.crossReferences());
+      options = suppress
+         ? Collections.singletonMap(EMFContext.Attributes.SUPPRESS_NOTIFICATIONS, Boolean.TRUE)
+         : null;
+   }
+
+   @Benchmark
+   public Resource load() throws IOException {
+      ResourceSet resourceSet = Format.JSON.createResourceSet();
+      if (adapters == Adapters.CONTENT) {
+         resourceSet.eAdapters().add(new EContentAdapter());
+      } else if (adapters == Adapters.CROSS_REFERENCES) {
+         resourceSet.eAdapters().add(new ECrossReferenceAdapter());
+      }
+
+      Resource resource = Format.JSON.createResource(resourceSet);
+      resource.load(new ByteArrayInputStream(payload), options);
+      return resource;
+   }
+
+}
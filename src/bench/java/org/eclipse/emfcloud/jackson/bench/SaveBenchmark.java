@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures saving of each payload shape in each resource format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2G")
+@State(Scope.Benchmark)
+public class SaveBenchmark {
+
+   @Param({ Benchmarks.FIRST, Benchmarks.SECOND, Benchmarks.THIRD, Benchmarks.CROSS_REFERENCES,
+      Benchmarks.FEATURE_MAPS, Benchmarks.MAPS, Benchmarks.POLYMORPHIC })
+   public String shape;
+
+   @Param({ "JSON", "JSON_UUID", "XMI", "XMI_UUID", "BINARY" })
+   public Format format;
+
+   private Resource resource;
+
+   @Setup(Level.Trial)
+   public void setUp() {
+      resource = format.wrap(Benchmarks.create(shape));
+   }
+
+   @Benchmark
+   public byte[] save() throws IOException {
+      return format.save(resource);
+   }
+
+}
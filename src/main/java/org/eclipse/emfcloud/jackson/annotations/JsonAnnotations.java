@@ -109,7 +109,7 @@ public final class JsonAnnotations {
                }
                return type;
             };
-            valueWriter = (value, context) -> value.getName();
+            valueWriter = EcoreTypeInfo.WRITE_BY_NAME;
          } else if (useType == CLASS) {
             valueReader = (value, context) -> {
                EClass type = value != null && value.equalsIgnoreCase(classifier.getInstanceClassName())
@@ -120,7 +120,7 @@ public final class JsonAnnotations {
                }
                return type;
             };
-            valueWriter = (value, context) -> value.getInstanceClassName();
+            valueWriter = EcoreTypeInfo.WRITE_BY_CLASS_NAME;
          }
       }
 
@@ -14,13 +14,12 @@ import static java.util.Spliterator.ORDERED;
 import static java.util.Spliterators.spliteratorUnknownSize;
 import static java.util.stream.StreamSupport.stream;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -36,18 +35,28 @@ import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emfcloud.jackson.databind.deser.ReferenceEntries;
 import org.eclipse.emfcloud.jackson.databind.type.EcoreTypeFactory;
+import org.eclipse.emfcloud.jackson.databind.type.EcoreTypeIndex;
+import org.eclipse.emfcloud.jackson.errors.JSONException;
 import org.eclipse.emfcloud.jackson.handlers.URIHandler;
+import org.eclipse.emfcloud.jackson.utils.WeakIdentityCache;
 
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DatabindContext;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 
 public final class EMFContext {
 
+   private static final WeakIdentityCache<TypeFactory, EcoreTypeFactory> TYPE_FACTORIES =
+      new WeakIdentityCache<>("typeFactories");
+
    private EMFContext() {
 
    }
@@ -57,7 +66,17 @@ public final class EMFContext {
       RESOURCE_SET,
       RESOURCE_URI,
       RESOURCE,
-      ROOT_ELEMENT
+      ROOT_ELEMENT,
+      /**
+       * Set to {@code Boolean.TRUE}, many valued features read from a document are populated with all their
+       * values at once rather than one value at a time, see {@link EMFContext#isBulkLoad(DatabindContext)}.
+       */
+      BULK_LOAD,
+      /**
+       * Set to {@code Boolean.TRUE}, adapters of the resource being read are not notified until the document is
+       * read and its references resolved, see {@link EMFContext#isSuppressNotifications(DatabindContext)}.
+       */
+      SUPPRESS_NOTIFICATIONS
    }
 
    enum Internals {
@@ -71,8 +90,8 @@ public final class EMFContext {
       MAP_OF_OBJECTS,
       MAP_OF_URIS,
       MAP_OF_RESOURCES,
-      MAP_OF_SUB_TYPES,
-      ALL_TYPES
+      TYPE_INDEX,
+      REPORTED_COLLISIONS
    }
 
    public static void init(final Resource resource, final DatabindContext context) {
@@ -81,13 +100,11 @@ public final class EMFContext {
       }
 
       ReferenceEntries entries = new ReferenceEntries();
-      EcoreTypeFactory ecoreType = new EcoreTypeFactory();
       ResourceSet resourceSet = resource.getResourceSet();
 
       context.setAttribute(Attributes.RESOURCE, resource);
       context.setAttribute(Attributes.RESOURCE_SET, resourceSet);
       context.setAttribute(Internals.REFERENCE_ENTRIES, entries);
-      context.setAttribute(Internals.TYPE_FACTORY, ecoreType);
 
       context.setAttribute(Internals.INIT, true);
    }
@@ -105,6 +122,33 @@ public final class EMFContext {
       }
    }
 
+   /**
+    * Returns true if many valued features are populated in bulk. Their values are then collected while they are
+    * read, and added at once to their list. This skips the uniqueness check of each value against the list, that
+    * makes reading large unique lists quadratic, and adapters of the owner receive a single notification of all
+    * values instead of one per value.
+    *
+    * @param ctxt current context
+    * @return true if {@link Attributes#BULK_LOAD} is set
+    */
+   public static boolean isBulkLoad(final DatabindContext ctxt) {
+      return Boolean.TRUE.equals(ctxt.getAttribute(Attributes.BULK_LOAD));
+   }
+
+   /**
+    * Returns true if notifications are suppressed while a resource is read. New objects have no adapters until
+    * they are added to the resource, that propagates its own adapters to them, such as those of its resource
+    * set. Delivery of the resource is therefore turned off until all references are resolved, and its adapters
+    * then receive a single notification of all objects added to its contents. Adapters that index the content,
+    * such as cross reference adapters, see complete objects once instead of each value set on them.
+    *
+    * @param ctxt current context
+    * @return true if {@link Attributes#SUPPRESS_NOTIFICATIONS} is set
+    */
+   public static boolean isSuppressNotifications(final DatabindContext ctxt) {
+      return Boolean.TRUE.equals(ctxt.getAttribute(Attributes.SUPPRESS_NOTIFICATIONS));
+   }
+
    public static ContextAttributes from(final Map<?, ?> options) {
       return ContextAttributes
          .getEmpty()
@@ -118,6 +162,23 @@ public final class EMFContext {
       }
    }
 
+   /**
+    * Resolves the references read since the last resolution, then forgets them along with the resources cached
+    * for their owners, so that a context reading the roots of a document one at a time does not retain the
+    * previous ones.
+    *
+    * @param ctxt    current context
+    * @param handler use for resolution of URIs
+    */
+   public static void resolveAndRelease(final DeserializationContext ctxt, final URIHandler handler) {
+      ReferenceEntries entries = getEntries(ctxt);
+      if (entries != null) {
+         entries.resolve(ctxt, handler);
+         entries.entries().clear();
+      }
+      ctxt.setAttribute(Internals.MAP_OF_RESOURCES, null);
+   }
+
    public static URI getURI(final DatabindContext ctxt, final EObject object) {
       if (object == null) {
          return null;
@@ -163,7 +224,13 @@ public final class EMFContext {
          return null;
       }
 
-      object = resourceSet.getEObject(URI.createURI(uri), true);
+      // classes of registered packages are resolved once for all users of the registry
+      if (!hasResource(resourceSet, uri)) {
+         object = EcoreTypeIndex.findByURI(resourceSet, uri);
+      }
+      if (object == null) {
+         object = resourceSet.getEObject(URI.createURI(uri), true);
+      }
       if (object instanceof EClass) {
          uris.put(uri, object);
          return (EClass) object;
@@ -171,55 +238,88 @@ public final class EMFContext {
       return null;
    }
 
-   public static EClass findEClassByName(final DatabindContext ctxt, final String name) {
-      @SuppressWarnings("unchecked")
-      Set<EClass> types = (Set<EClass>) ctxt.getAttribute(Internals.ALL_TYPES);
-      if (types == null) {
-         types = initAllTypes(ctxt);
+   /*
+    * Resources of the resource set take precedence over the registry when resolving URIs. URIs are compared as
+    * the resource set does, once normalized by its URI converter, so that URI mappings are taken into account.
+    */
+   private static boolean hasResource(final ResourceSet resourceSet, final String uri) {
+      int separator = uri.indexOf('#');
+      URI location = URI.createURI(separator < 0 ? uri : uri.substring(0, separator));
+      URIConverter converter = resourceSet.getURIConverter();
+      URI normalized = converter.normalize(location);
+
+      for (Resource resource : resourceSet.getResources()) {
+         URI resourceURI = resource.getURI();
+         if (resourceURI != null
+            && (location.equals(resourceURI) || normalized.equals(converter.normalize(resourceURI)))) {
+            return true;
+         }
       }
+      return false;
+   }
 
-      return types.stream().filter(findByName(name)).findFirst().orElse(null);
+   public static EClass findEClassByName(final DatabindContext ctxt, final String name) {
+      EcoreTypeIndex index = getTypeIndex(ctxt);
+      EClass type = index.findByName(name);
+      if (type != null) {
+         reportCollision(ctxt, name, index.getNameCollisions().get(name));
+      }
+      return type;
    }
 
    public static EClass findEClassByQualifiedName(final DatabindContext ctxt, final String name) {
-      @SuppressWarnings("unchecked")
-      Set<EClass> types = (Set<EClass>) ctxt.getAttribute(Internals.ALL_TYPES);
-      if (types == null) {
-         types = initAllTypes(ctxt);
+      EcoreTypeIndex index = getTypeIndex(ctxt);
+      EClass type = index.findByQualifiedName(name);
+      if (type != null) {
+         reportCollision(ctxt, name, index.getQualifiedNameCollisions().get(name));
       }
-
-      return types.stream().filter(findByQualifiedName(name)).findFirst().orElse(null);
+      return type;
    }
 
-   private static Set<EClass> initAllTypes(final DatabindContext ctxt) {
-      EPackage.Registry global = EPackage.Registry.INSTANCE;
+   /*
+    * Adds a warning to the current resource the first time an ambiguous type name is read.
+    */
+   private static void reportCollision(final DatabindContext ctxt, final String name, final List<EClass> types) {
+      Resource resource = getResource(ctxt);
+      if (types == null || resource == null) {
+         return;
+      }
 
-      ResourceSet resourceSet = getResourceSet(ctxt);
-      EPackage.Registry local = resourceSet.getPackageRegistry();
-
-      Map<String, Object> registry = new HashMap<>();
-      registry.putAll(global);
-      registry.putAll(local);
-
-      Set<EClass> types = registry.values().stream()
-         .map(e -> {
-            if (e instanceof EPackage.Descriptor) {
-               return ((EPackage.Descriptor) e).getEPackage();
-            } else if (e instanceof EPackage) {
-               return (EPackage) e;
-            } else {
-               return null;
-            }
-         })
-         .filter(Objects::nonNull)
-         .flatMap(e -> stream(spliteratorUnknownSize(e.eAllContents(), ORDERED), false))
-         .filter(e -> e instanceof EClass)
-         .map(e -> (EClass) e)
-         .collect(Collectors.toSet());
+      @SuppressWarnings("unchecked")
+      Set<String> reported = (Set<String>) ctxt.getAttribute(Internals.REPORTED_COLLISIONS);
+      if (reported == null) {
+         reported = new HashSet<>();
+         ctxt.setAttribute(Internals.REPORTED_COLLISIONS, reported);
+      }
 
-      ctxt.setAttribute(Internals.ALL_TYPES, types);
+      if (reported.add(name)) {
+         JsonParser parser = ctxt instanceof DeserializationContext
+            ? ((DeserializationContext) ctxt).getParser()
+            : null;
+         JsonLocation location = parser == null ? JsonLocation.NA : parser.getCurrentLocation();
+         List<URI> uris = types.stream().map(EcoreUtil::getURI).collect(Collectors.toList());
 
-      return types;
+         resource.getWarnings()
+            .add(new JSONException(String.format("Type '%s' is ambiguous, using %s out of %s", name, uris.get(0), uris),
+               location));
+      }
+   }
+
+   /**
+    * Returns the index of the classes available from the package registry of the current resource set.
+    * The index is shared by all contexts using the same registry, and only brought up to date with it
+    * once per context.
+    *
+    * @param ctxt current context
+    * @return index of classes
+    */
+   public static EcoreTypeIndex getTypeIndex(final DatabindContext ctxt) {
+      EcoreTypeIndex index = (EcoreTypeIndex) ctxt.getAttribute(Internals.TYPE_INDEX);
+      if (index == null) {
+         index = EcoreTypeIndex.get(getResourceSet(ctxt));
+         ctxt.setAttribute(Internals.TYPE_INDEX, index);
+      }
+      return index;
    }
 
    public static EClass findEClassByName(final String value, final EPackage ePackage) {
@@ -366,48 +466,35 @@ public final class EMFContext {
       ctxt.setAttribute(Internals.CURRENT_DATATYPE, type);
    }
 
+   /**
+    * Returns the factory of Java types for features. Factories are shared by all contexts using the
+    * same Jackson type factory, which is usually the case of all contexts of a mapper.
+    *
+    * @param ctxt current context
+    * @return factory
+    */
    public static EcoreTypeFactory getTypeFactory(final DatabindContext ctxt) {
       EcoreTypeFactory factory = (EcoreTypeFactory) ctxt.getAttribute(Internals.TYPE_FACTORY);
       if (factory == null) {
-         factory = new EcoreTypeFactory();
+         factory = TYPE_FACTORIES.computeIfAbsent(ctxt.getTypeFactory(), key -> new EcoreTypeFactory());
          ctxt.setAttribute(Internals.TYPE_FACTORY, factory);
       }
       return factory;
    }
 
-   @SuppressWarnings("checkstyle:cyclomaticComplexity")
+   /**
+    * Returns the concrete classes available in the context that are the given class or one of its
+    * sub classes, see {@link EcoreTypeIndex#getSubTypes(EClass)}.
+    *
+    * @param ctxt   current context
+    * @param eClass any class
+    * @return concrete sub classes
+    */
    public static List<EClass> allSubTypes(final DatabindContext ctxt, final EClass eClass) {
       if (eClass == null) {
          return Collections.emptyList();
       }
-
-      @SuppressWarnings("unchecked")
-      Map<EClass, List<EClass>> subTypeMap = (Map<EClass, List<EClass>>) ctxt.getAttribute(Internals.MAP_OF_SUB_TYPES);
-      if (subTypeMap == null) {
-         subTypeMap = new HashMap<>();
-         ctxt.setAttribute(Internals.MAP_OF_SUB_TYPES, subTypeMap);
-      }
-
-      List<EClass> subTypes = subTypeMap.get(eClass);
-      if (subTypes == null) {
-         subTypes = new ArrayList<>();
-
-         @SuppressWarnings("unchecked")
-         Set<EClass> allTypes = (Set<EClass>) ctxt.getAttribute(Internals.ALL_TYPES);
-         if (allTypes == null) {
-            allTypes = initAllTypes(ctxt);
-         }
-
-         for (EClass type : allTypes) {
-            if (!type.isAbstract() && eClass.isSuperTypeOf(type)) {
-               subTypes.add(type);
-            }
-         }
-
-         subTypeMap.put(eClass, subTypes);
-      }
-
-      return subTypes;
+      return getTypeIndex(ctxt).getSubTypes(eClass);
    }
 
 }
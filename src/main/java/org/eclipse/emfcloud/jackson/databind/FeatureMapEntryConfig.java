@@ -10,10 +10,10 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.jackson.databind;
 
-import static org.eclipse.emfcloud.jackson.annotations.JsonAnnotations.getElementName;
 import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_USE_FEATURE_MAP_KEY_AND_VALUE_PROPERTIES;
 
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
 
 /**
  * Helps with feature map entries (de)serialization by taking care of configurable options.
@@ -49,7 +49,7 @@ public class FeatureMapEntryConfig {
     * @return the name to use
     */
    public String getPropertyName(final EStructuralFeature feature) {
-      return getElementName(feature, features);
+      return FeatureMetadata.of(feature).getElementName(features);
    }
 
 }
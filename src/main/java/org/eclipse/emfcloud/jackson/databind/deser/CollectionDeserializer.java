@@ -14,11 +14,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
+import org.eclipse.emfcloud.jackson.utils.EObjects;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -71,20 +74,28 @@ public class CollectionDeserializer extends JsonDeserializer<Collection<Object>>
    }
 
    @Override
+   @SuppressWarnings("unchecked")
    public Collection<Object> deserialize(final JsonParser p, final DeserializationContext ctxt,
       final Collection<Object> intoValue)
       throws IOException {
       final EObject parent = EMFContext.getParent(ctxt);
       final EReference feature = EMFContext.getReference(ctxt);
+      final boolean containment = feature != null && feature.isContainment();
+
+      // contained objects are added once all are read in bulk mode
+      final List<Object> staged = containment && intoValue instanceof InternalEList && EMFContext.isBulkLoad(ctxt)
+         ? new ArrayList<>()
+         : null;
+      final Collection<Object> values = staged != null ? staged : intoValue;
 
       while (p.nextToken() != JsonToken.END_ARRAY) {
          EMFContext.setParent(ctxt, parent);
          EMFContext.setFeature(ctxt, feature);
 
-         if (feature != null && feature.isContainment()) {
+         if (containment) {
             EObject result = deserializer.deserialize(p, ctxt);
             if (result != null) {
-               intoValue.add(result);
+               values.add(result);
             }
          } else {
             ReferenceEntry entry = referenceDeserializer.deserialize(p, ctxt);
@@ -93,6 +104,10 @@ public class CollectionDeserializer extends JsonDeserializer<Collection<Object>>
             }
          }
       }
+
+      if (staged != null) {
+         EObjects.addAll((InternalEList<Object>) intoValue, feature, staged);
+      }
       return intoValue;
    }
 }
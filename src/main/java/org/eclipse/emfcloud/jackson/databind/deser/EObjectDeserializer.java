@@ -33,8 +33,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 public class EObjectDeserializer extends JsonDeserializer<EObject> {
 
@@ -46,6 +44,21 @@ public class EObjectDeserializer extends JsonDeserializer<EObject> {
       this.currentType = currentType;
    }
 
+   /**
+    * Builds the property map of the given type and resolves the deserializers of its properties, unless
+    * the type is abstract, and computes the type property names of its sub types, so that the first
+    * deserialization of an object of this type does not have to.
+    *
+    * @param ctxt deserialization context of the mapper
+    * @param type type to prepare
+    */
+   public void warmUp(final DeserializationContext ctxt, final EClass type) {
+      if (!type.isAbstract() && !type.isInterface()) {
+         builder.construct(ctxt, type);
+      }
+      builder.warmUpTypeNames(ctxt, type);
+   }
+
    @Override
    @SuppressWarnings({ "checkstyle:cyclomaticComplexity", "checkstyle:npathComplexity" })
    public EObject deserialize(final JsonParser jp, final DeserializationContext ctxt) throws IOException {
@@ -74,13 +87,25 @@ public class EObjectDeserializer extends JsonDeserializer<EObject> {
          propertyMap = builder.constructDefault(ctxt);
       }
 
-      TokenBuffer buffer = null;
+      // objects replayed from the buffer of their parent are created before reading their fields
+      if (TypeBuffer.isRecorded(jp, propertyMap.getTypeProperty().getFieldName())) {
+         current = createRecorded(jp, ctxt, propertyMap.getTypeProperty(), defaultType);
+         if (current != null) {
+            propertyMap = builder.construct(ctxt, current.eClass());
+         }
+      }
+      final boolean typeRead = current != null;
+
+      TypeBuffer buffer = null;
       JsonToken nextToken = jp.nextToken();
       while (nextToken != JsonToken.END_OBJECT && nextToken != null) {
          final String field = jp.getCurrentName();
          final EObjectProperty property = propertyMap.findProperty(field);
 
-         if (property instanceof EObjectTypeProperty) {
+         if (property instanceof EObjectTypeProperty && typeRead) {
+            jp.nextToken();
+            jp.skipChildren();
+         } else if (property instanceof EObjectTypeProperty) {
             current = property.deserialize(jp, ctxt);
             if (current != null) {
                propertyMap = builder.construct(ctxt, current.eClass());
@@ -90,10 +115,23 @@ public class EObjectDeserializer extends JsonDeserializer<EObject> {
          } else if (property == null && current != null) {
             handleUnknownProperty(jp, resource, ctxt, current.eClass());
          } else {
-            if (buffer == null) {
-               buffer = new TokenBuffer(jp);
+            // sub types may use another type property than the one of the default type
+            final EObjectTypeProperty subTypeProperty = builder.findTypeProperty(ctxt, defaultType, field);
+
+            if (subTypeProperty != null && isTypeValue(jp.nextToken())) {
+               current = subTypeProperty.deserialize(jp, ctxt);
+               if (current != null) {
+                  propertyMap = builder.construct(ctxt, current.eClass());
+               }
+            } else {
+               if (buffer == null) {
+                  buffer = new TypeBuffer(jp, builder.constructDefault(ctxt).getTypeProperty().getFieldName());
+               }
+               if (subTypeProperty != null) {
+                  buffer.writeFieldName(field);
+               }
+               buffer.copy(jp);
             }
-            buffer.copyCurrentStructure(jp);
          }
 
          nextToken = jp.nextToken();
@@ -132,38 +170,26 @@ public class EObjectDeserializer extends JsonDeserializer<EObject> {
       return intoValue;
    }
 
-   @SuppressWarnings("checkstyle:cyclomaticComplexity")
-   private EObject postDeserialize(final TokenBuffer buffer, EObject object, final EClass defaultType,
+   /*
+    * Sets the fields read before the type of the object was known, the buffer only holds these
+    * fields since the type is resolved while the object is read. Nested objects are replayed with
+    * the type recorded by the buffer, so that they do not buffer their fields again.
+    */
+   private EObject postDeserialize(final TypeBuffer buffer, EObject object, final EClass defaultType,
       final DeserializationContext ctxt)
       throws IOException {
-      if (object == null && defaultType == null) {
-         return null;
-      }
-
-      Resource resource = getResource(ctxt);
-      JsonParser jp = buffer.asParser();
-      JsonNode tree = jp.readValueAsTree();
-      jp.close();
-
-      EObjectPropertyMap propertyMap = builder.find(ctxt, defaultType, tree.fieldNames());
-      EObjectTypeProperty typeProperty = propertyMap.getTypeProperty();
-
-      if (typeProperty != null) {
-         JsonNode value = tree.get(typeProperty.getFieldName());
-
-         if (value != null) {
-            object = typeProperty.create(value.asText(), ctxt);
-         }
-      }
-
       if (object == null) {
+         if (defaultType == null) {
+            buffer.close();
+            return null;
+         }
          object = EcoreUtil.create(defaultType);
       }
 
-      // TODO explain that
-      propertyMap = builder.construct(ctxt, object.eClass());
+      Resource resource = getResource(ctxt);
+      EObjectPropertyMap propertyMap = builder.construct(ctxt, object.eClass());
 
-      jp = buffer.asParser();
+      JsonParser jp = buffer.asParser();
       JsonToken nextToken = jp.nextToken();
       while (nextToken != JsonToken.END_OBJECT && nextToken != null) {
          final String field = jp.getCurrentName();
@@ -183,6 +209,26 @@ public class EObjectDeserializer extends JsonDeserializer<EObject> {
       return object;
    }
 
+   /*
+    * Creates an object from the type recorded by the buffer, or from the default type if the object has
+    * no type property and no sub type of the default type uses another one.
+    */
+   private EObject createRecorded(final JsonParser jp, final DeserializationContext ctxt,
+      final EObjectTypeProperty typeProperty, final EClass defaultType) {
+      String type = TypeBuffer.typeOf(jp);
+      if (type != null) {
+         return typeProperty.create(type, ctxt);
+      }
+      if (defaultType != null && builder.hasSingleTypeProperty(ctxt, defaultType, typeProperty.getFieldName())) {
+         return EcoreUtil.create(defaultType);
+      }
+      return null;
+   }
+
+   private static boolean isTypeValue(final JsonToken token) {
+      return token != null && token.isScalarValue() && token != JsonToken.VALUE_NULL;
+   }
+
    private void handleUnknownProperty(final JsonParser jp, final Resource resource, final DeserializationContext ctxt, EClass currentEClass)
       throws IOException {
       if (resource != null && ctxt.getConfig().hasDeserializationFeatures(FAIL_ON_UNKNOWN_PROPERTIES.getMask())) {
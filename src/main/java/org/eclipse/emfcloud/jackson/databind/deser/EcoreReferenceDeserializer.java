@@ -17,7 +17,7 @@ import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emfcloud.jackson.annotations.EcoreReferenceInfo;
 import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
-import org.eclipse.emfcloud.jackson.utils.EObjects;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -52,7 +52,7 @@ public class EcoreReferenceDeserializer extends JsonDeserializer<ReferenceEntry>
          }
       }
       if (id != null) {
-         return EObjects.isFeatureMapEntry(reference) ? new ReferenceEntry.ForMapEntry(parent, reference, id, type)
+         return reference != null && FeatureMetadata.of(reference).isFeatureMapEntry() ? new ReferenceEntry.ForMapEntry(parent, reference, id, type)
             : new ReferenceEntry.Base(parent, reference, id, type);
       }
       return null;
@@ -13,10 +13,16 @@ package org.eclipse.emfcloud.jackson.databind.deser;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.handlers.URIHandler;
+import org.eclipse.emfcloud.jackson.utils.EObjects;
 
 import com.fasterxml.jackson.databind.DatabindContext;
 
@@ -24,6 +30,8 @@ public class ReferenceEntries {
 
    private final Collection<ReferenceEntry> entries = new ArrayList<>();
    private final Map<String, EObject> mapOfObjects = new HashMap<>();
+   // targets of many valued references by owner, added once all entries are resolved in bulk mode
+   private Map<EObject, Map<EReference, List<EObject>>> staged;
 
    /**
     * Resolves all reference entries that have been collected during deserialization.
@@ -32,12 +40,48 @@ public class ReferenceEntries {
     * @param handler use for resolution of URIs
     */
    public void resolve(final DatabindContext context, final URIHandler handler) {
+      staged = EMFContext.isBulkLoad(context) ? new LinkedHashMap<>() : null;
       for (ReferenceEntry entry : entries()) {
          entry.resolve(context, handler);
       }
+
+      if (staged != null) {
+         staged.forEach((owner, references) -> references.forEach((reference, targets) -> addAll(owner,
+            reference, targets)));
+         staged = null;
+      }
       mapOfObjects.clear();
    }
 
+   /**
+    * Sets the target of a resolved entry, or adds it to the targets of a many valued reference. In bulk mode
+    * these are added to the reference at once when all entries are resolved, see
+    * {@link EMFContext#isBulkLoad(DatabindContext)}.
+    *
+    * @param owner     object owning the reference
+    * @param reference reference to set
+    * @param target    resolved target
+    */
+   public void setOrAdd(final EObject owner, final EReference reference, final EObject target) {
+      if (staged != null && reference.isMany()) {
+         staged.computeIfAbsent(owner, key -> new LinkedHashMap<>())
+            .computeIfAbsent(reference, key -> new ArrayList<>())
+            .add(target);
+      } else {
+         EObjects.setOrAdd(owner, reference, target);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private static void addAll(final EObject owner, final EReference reference, final List<EObject> targets) {
+      Object values = owner.eGet(reference, false);
+      if (values instanceof InternalEList) {
+         EObjects.addAll((InternalEList<EObject>) values, reference, targets);
+      } else {
+         targets.forEach(target -> EObjects.setOrAdd(owner, reference, target));
+      }
+   }
+
    public Collection<ReferenceEntry> entries() {
       return entries;
    }
@@ -24,7 +24,6 @@ import org.eclipse.emf.ecore.util.FeatureMap.Entry;
 import org.eclipse.emf.ecore.util.FeatureMapUtil;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.handlers.URIHandler;
-import org.eclipse.emfcloud.jackson.utils.EObjects;
 
 import com.fasterxml.jackson.databind.DatabindContext;
 
@@ -83,7 +82,7 @@ public interface ReferenceEntry {
          }
 
          if (target != null) {
-            EObjects.setOrAdd(owner, reference, target);
+            entries.setOrAdd(owner, reference, target);
          }
       }
 
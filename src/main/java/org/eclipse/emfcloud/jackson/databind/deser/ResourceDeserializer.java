@@ -13,7 +13,14 @@ package org.eclipse.emfcloud.jackson.databind.deser;
 import static org.eclipse.emfcloud.jackson.databind.EMFContext.Attributes.RESOURCE_SET;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.NotificationImpl;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -21,6 +28,7 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.handlers.URIHandler;
+import org.eclipse.emfcloud.jackson.resource.JsonResource;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -44,7 +52,6 @@ public class ResourceDeserializer extends JsonDeserializer<Resource> {
    }
 
    @Override
-   @SuppressWarnings("checkstyle:cyclomaticComplexity")
    public Resource deserialize(final JsonParser jp, final DeserializationContext ctxt, final Resource intoValue)
       throws IOException {
       final Resource resource = getResource(ctxt, intoValue);
@@ -54,33 +61,157 @@ public class ResourceDeserializer extends JsonDeserializer<Resource> {
 
       EMFContext.init(resource, ctxt);
 
+      final int start = suppressNotifications(ctxt, resource);
+      try {
+         readContents(jp, ctxt, resource);
+      } finally {
+         restoreNotifications(resource, start);
+      }
+
+      return resource;
+   }
+
+   /**
+    * Turns off the delivery of notifications by the resource while roots are read into it, if the context
+    * asks for notifications to be suppressed. The roots read until
+    * {@link #restoreNotifications(Resource, int)} are then notified at once.
+    *
+    * @param ctxt     context to read the roots with
+    * @param resource resource to read the roots into
+    * @return index of the first root to notify, to give back to restoreNotifications, or -1 if notifications
+    *         are delivered as usual
+    */
+   public int suppressNotifications(final DeserializationContext ctxt, final Resource resource) {
+      if (!EMFContext.isSuppressNotifications(ctxt) || !resource.eDeliver()) {
+         return -1;
+      }
+      final int start = resource.getContents().size();
+      resource.eSetDeliver(false);
+      return start;
+   }
+
+   /**
+    * Turns the delivery of notifications by the resource back on, and notifies the roots read into it since
+    * {@link #suppressNotifications(DeserializationContext, Resource)}.
+    *
+    * @param resource resource the roots were read into
+    * @param start    index returned by suppressNotifications
+    */
+   public void restoreNotifications(final Resource resource, final int start) {
+      if (start >= 0) {
+         resource.eSetDeliver(true);
+         notifyContents(resource, start);
+      }
+   }
+
+   private void readContents(final JsonParser jp, final DeserializationContext ctxt, final Resource resource)
+      throws IOException {
       if (!jp.hasCurrentToken()) {
          jp.nextToken();
       }
 
-      JsonDeserializer<Object> deserializer = ctxt.findRootValueDeserializer(ctxt.constructType(EObject.class));
-
       if (jp.getCurrentToken() == JsonToken.START_ARRAY) {
+         JsonDeserializer<Object> deserializer = findRootDeserializer(ctxt);
 
          while (jp.nextToken() != JsonToken.END_ARRAY) {
-
-            EObject value = (EObject) deserializer.deserialize(jp, ctxt);
-            if (value != null) {
-               resource.getContents().add(value);
-            }
-            EMFContext.setParent(ctxt, null);
+            readRoot(jp, ctxt, resource, deserializer);
          }
 
       } else if (jp.getCurrentToken() == JsonToken.START_OBJECT) {
-         EObject value = (EObject) deserializer.deserialize(jp, ctxt);
-         if (value != null) {
-            resource.getContents().add(value);
-         }
+         readRoot(jp, ctxt, resource, findRootDeserializer(ctxt));
       }
 
+      resolve(ctxt);
+   }
+
+   /**
+    * Returns the deserializer of the roots of a document, to be found once per document and given to
+    * {@link #readRoot(JsonParser, DeserializationContext, Resource, JsonDeserializer)}.
+    *
+    * @param ctxt context to read all roots with
+    * @return deserializer of roots
+    * @throws IOException if the deserializer cannot be created
+    */
+   public JsonDeserializer<Object> findRootDeserializer(final DeserializationContext ctxt) throws IOException {
+      return ctxt.findRootValueDeserializer(ctxt.constructType(EObject.class));
+   }
+
+   /**
+    * Reads the root at the current token of the parser into the contents of the resource, without resolving its
+    * references. This lets documents be read root by root from several parsers, the references of all roots
+    * being resolved once with {@link #resolve(DeserializationContext)}.
+    *
+    * @param jp           parser on the root
+    * @param ctxt         context to read all roots with, initialized for the resource
+    * @param resource     resource to add the root to
+    * @param deserializer deserializer of roots, see {@link #findRootDeserializer(DeserializationContext)}
+    * @return the root, or null if there is none
+    * @throws IOException if the root cannot be read
+    */
+   public EObject readRoot(final JsonParser jp, final DeserializationContext ctxt, final Resource resource,
+      final JsonDeserializer<Object> deserializer) throws IOException {
+      EObject value = (EObject) deserializer.deserialize(jp, ctxt);
+      if (value != null) {
+         resource.getContents().add(value);
+      }
+      EMFContext.setParent(ctxt, null);
+      return value;
+   }
+
+   /**
+    * Resolves the references of all roots read with the given context.
+    *
+    * @param ctxt current context
+    */
+   public void resolve(final DeserializationContext ctxt) {
       EMFContext.resolve(ctxt, uriHandler);
+   }
 
-      return resource;
+   /**
+    * Returns the roots of the document read by the parser one at a time, rather than all at once into the
+    * contents of the resource.
+    * <p>
+    * Each root is added to the resource and its references resolved when it is read, and it is removed from the
+    * resource when the next one is read, so that only one root is held at a time. References to other roots are
+    * therefore not resolved, unless they can be created as proxies. The iterator must be used sequentially, and
+    * the parser closed by the caller.
+    * </p>
+    *
+    * @param jp       parser on the document
+    * @param ctxt     context to read all roots with
+    * @param resource resource to hold the current root, expected to be empty
+    * @return iterator over the roots of the document
+    * @throws IOException if the start of the document cannot be read
+    */
+   public Iterator<EObject> iterator(final JsonParser jp, final DeserializationContext ctxt, final Resource resource)
+      throws IOException {
+      EMFContext.init(resource, ctxt);
+
+      if (!jp.hasCurrentToken()) {
+         jp.nextToken();
+      }
+
+      return new RootIterator(jp, ctxt, resource, findRootDeserializer(ctxt));
+   }
+
+   /*
+    * Notifies the adapters of the resource of the objects added to its contents while its delivery was off,
+    * as a single ADD or ADD_MANY from the given index, like the contents list itself would.
+    */
+   private static void notifyContents(final Resource resource, final int start) {
+      List<EObject> contents = resource.getContents();
+      if (contents.size() <= start || !resource.eNotificationRequired()) {
+         return;
+      }
+
+      Notification notification;
+      if (contents.size() - start == 1) {
+         notification = new ContentsNotification(resource, Notification.ADD, contents.get(start), start);
+      } else {
+         notification = new ContentsNotification(resource, Notification.ADD_MANY,
+            new ArrayList<>(contents.subList(start, contents.size())), start);
+      }
+      resource.eNotify(notification);
    }
 
    private Resource getResource(final DeserializationContext context, Resource resource) {
@@ -133,4 +264,111 @@ public class ResourceDeserializer extends JsonDeserializer<Resource> {
       return Resource.class;
    }
 
+   private final class RootIterator implements Iterator<EObject> {
+
+      private final JsonParser jp;
+      private final DeserializationContext ctxt;
+      private final Resource resource;
+      private final JsonDeserializer<Object> deserializer;
+      private final boolean array;
+
+      // a document that is not an array has its single root at the current token
+      private boolean pending;
+      private int roots;
+      private EObject current;
+      private EObject next;
+      private boolean done;
+
+      RootIterator(final JsonParser jp, final DeserializationContext ctxt, final Resource resource,
+         final JsonDeserializer<Object> deserializer) {
+         this.jp = jp;
+         this.ctxt = ctxt;
+         this.resource = resource;
+         this.deserializer = deserializer;
+         this.array = jp.currentToken() == JsonToken.START_ARRAY;
+         this.pending = jp.currentToken() == JsonToken.START_OBJECT;
+      }
+
+      @Override
+      public boolean hasNext() {
+         if (next == null && !done) {
+            try {
+               next = read();
+            } catch (IOException e) {
+               throw new UncheckedIOException(e);
+            }
+         }
+         return next != null;
+      }
+
+      @Override
+      public EObject next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         EObject root = next;
+         next = null;
+         return root;
+      }
+
+      private EObject read() throws IOException {
+         if (current != null) {
+            resource.getContents().remove(current);
+            current = null;
+         }
+
+         while (true) {
+            JsonToken token;
+            if (array) {
+               token = jp.nextToken();
+            } else {
+               token = pending ? jp.currentToken() : null;
+               pending = false;
+            }
+
+            if (token == null || token == JsonToken.END_ARRAY) {
+               done = true;
+               setRootOffset(0);
+               return null;
+            }
+
+            EObject value = (EObject) deserializer.deserialize(jp, ctxt);
+            EMFContext.setParent(ctxt, null);
+
+            if (value != null) {
+               // fragments of the document address roots by their index in it
+               setRootOffset(roots++);
+               resource.getContents().add(value);
+               EMFContext.resolveAndRelease(ctxt, uriHandler);
+               current = value;
+               return value;
+            }
+         }
+      }
+
+      private void setRootOffset(final int offset) {
+         if (resource instanceof JsonResource) {
+            ((JsonResource) resource).setRootOffset(offset);
+         }
+      }
+   }
+
+   private static final class ContentsNotification extends NotificationImpl {
+
+      private final Resource resource;
+
+      ContentsNotification(final Resource resource, final int eventType, final Object newValue, final int position) {
+         super(eventType, null, newValue, position);
+         this.resource = resource;
+      }
+
+      @Override
+      public Object getNotifier() { return resource; }
+
+      @Override
+      public int getFeatureID(final Class<?> expectedClass) {
+         return Resource.RESOURCE__CONTENTS;
+      }
+   }
+
 }
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.deser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Buffer of the fields of an object read before its type is known.
+ * <p>
+ * The buffer records the type property of each nested object while copying it, so that nested objects
+ * replayed from the buffer are created as soon as they start instead of buffering their own fields again.
+ * Each token is then buffered at most once, no matter how deep the objects whose type comes last are.
+ * </p>
+ */
+final class TypeBuffer {
+
+   private final TokenBuffer buffer;
+   private final String typeProperty;
+
+   // type of each buffered object in order of appearance, or null if it has none
+   private final List<String> types = new ArrayList<>();
+   // indexes in types of the objects being copied
+   private int[] open = new int[8];
+   private int depth;
+
+   /**
+    * Creates a buffer recording the given type property of nested objects.
+    *
+    * @param jp           parser of the buffered fields
+    * @param typeProperty name of the type property
+    */
+   TypeBuffer(final JsonParser jp, final String typeProperty) {
+      this.buffer = new TokenBuffer(jp);
+      this.typeProperty = typeProperty;
+   }
+
+   /**
+    * Returns true if the object starting at the current token of the given parser is replayed from a
+    * buffer that recorded the given type property, that is if {@link #typeOf(JsonParser)} tells whether
+    * the object has a type.
+    *
+    * @param jp           current parser
+    * @param typeProperty name of the type property of the object
+    * @return true if the type of the object is recorded
+    */
+   static boolean isRecorded(final JsonParser jp, final String typeProperty) {
+      return jp instanceof Parser && ((Parser) jp).isRecorded(typeProperty);
+   }
+
+   /**
+    * Returns the type recorded for the object starting at the current token of the given parser, see
+    * {@link #isRecorded(JsonParser, String)}.
+    *
+    * @param jp current parser
+    * @return type, or null if the object has no type property
+    */
+   static String typeOf(final JsonParser jp) {
+      Parser parser = (Parser) jp;
+      return parser.types.get(parser.objects - 1);
+   }
+
+   void writeFieldName(final String field) throws IOException {
+      buffer.writeFieldName(field);
+   }
+
+   /**
+    * Copies the field or value at the current token of the given parser, with all its content.
+    *
+    * @param jp current parser
+    * @throws IOException if the content cannot be read
+    */
+   void copy(final JsonParser jp) throws IOException {
+      JsonToken token = jp.currentToken();
+      int level = 0;
+
+      while (token != null) {
+         buffer.copyCurrentEvent(jp);
+
+         switch (token) {
+            case START_OBJECT:
+               push();
+               level++;
+               break;
+            case START_ARRAY:
+               level++;
+               break;
+            case END_OBJECT:
+               depth--;
+               level--;
+               break;
+            case END_ARRAY:
+               level--;
+               break;
+            case FIELD_NAME:
+               // copy the value of the field
+               token = nextValue(jp, level);
+               continue;
+            default:
+               break;
+         }
+
+         if (level == 0) {
+            return;
+         }
+         token = jp.nextToken();
+      }
+   }
+
+   // moves to the value of the current field, recording it if it is the type of the enclosing object
+   private JsonToken nextValue(final JsonParser jp, final int level) throws IOException {
+      boolean type = level > 0 && typeProperty.equals(jp.getCurrentName());
+      JsonToken token = jp.nextToken();
+      if (type && token == JsonToken.VALUE_STRING) {
+         int index = open[depth - 1];
+         if (types.get(index) == null) {
+            types.set(index, jp.getText());
+         }
+      }
+      return token;
+   }
+
+   private void push() {
+      if (depth == open.length) {
+         open = Arrays.copyOf(open, depth * 2);
+      }
+      open[depth++] = types.size();
+      types.add(null);
+   }
+
+   /**
+    * Returns a parser replaying the buffered fields.
+    *
+    * @return parser
+    */
+   JsonParser asParser() {
+      return new Parser(buffer.asParser(), typeProperty, types);
+   }
+
+   void close() throws IOException {
+      buffer.close();
+   }
+
+   /**
+    * Parser counting the objects it replays to find their recorded type.
+    */
+   private static final class Parser extends JsonParserDelegate {
+
+      private final String typeProperty;
+      private final List<String> types;
+      private int objects;
+
+      Parser(final JsonParser delegate, final String typeProperty, final List<String> types) {
+         super(delegate);
+         this.typeProperty = typeProperty;
+         this.types = types;
+      }
+
+      boolean isRecorded(final String property) {
+         return objects > 0 && currentToken() == JsonToken.START_OBJECT && typeProperty.equals(property);
+      }
+
+      @Override
+      public JsonToken nextToken() throws IOException {
+         JsonToken token = delegate.nextToken();
+         if (token == JsonToken.START_OBJECT) {
+            objects++;
+         }
+         return token;
+      }
+
+      @Override
+      public JsonToken nextValue() throws IOException {
+         JsonToken token = nextToken();
+         return token == JsonToken.FIELD_NAME ? nextToken() : token;
+      }
+
+      @Override
+      public JsonParser skipChildren() throws IOException {
+         JsonToken token = currentToken();
+         if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return this;
+         }
+
+         // objects are counted while skipped
+         int level = 1;
+         while (level > 0) {
+            token = nextToken();
+            if (token == null) {
+               break;
+            }
+            if (token.isStructStart()) {
+               level++;
+            } else if (token.isStructEnd()) {
+               level--;
+            }
+         }
+         return this;
+      }
+   }
+
+}
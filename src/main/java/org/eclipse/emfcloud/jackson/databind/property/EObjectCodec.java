@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.property;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.impl.EPackageImpl;
+import org.eclipse.emfcloud.jackson.utils.NotifierCache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Reads and writes the values of features of the objects of a generated class through its generated accessors,
+ * instead of through the Jackson serializers and deserializers of the feature types.
+ * <p>
+ * Codecs are written at build time by the {@code EObjectCodecGenerator} tool of the emfjson-jackson-tools
+ * artifact, one per concrete class of a generated package, and found with a {@link ServiceLoader} through the
+ * {@link Provider} of their package. Property maps use them for the single valued attributes they handle, and
+ * fall back to the interpreted properties for all other features, for objects of other classes, for values of
+ * another token and for mappers that use other serializers or deserializers for the values of a feature. A
+ * codec is only used if the features of its class are still the ones it was generated from, see
+ * {@link #hashFeatures}.
+ * </p>
+ */
+public abstract class EObjectCodec {
+
+   private static final NotifierCache<EPackage, Provider> PROVIDERS = new NotifierCache<>("codecProviders");
+   private static final List<Provider> REGISTERED = new CopyOnWriteArrayList<>();
+
+   private static final Provider NONE = new Provider() {
+      @Override
+      public String getNsURI() { return null; }
+
+      @Override
+      public EObjectCodec getCodec(final String className) { return null; }
+   };
+
+   /**
+    * Codecs of the classes of a package, written by the {@code EObjectCodecGenerator} tool.
+    */
+   public interface Provider {
+
+      /**
+       * Returns the namespace URI of the package whose codecs are provided.
+       *
+       * @return namespace URI
+       */
+      String getNsURI();
+
+      /**
+       * Returns a codec of the given class.
+       *
+       * @param className name of a class of the package
+       * @return codec, or null if the class has none
+       */
+      EObjectCodec getCodec(String className);
+   }
+
+   private final int featuresHash;
+
+   /**
+    * Creates a codec of a class.
+    *
+    * @param featuresHash hash of the features of the class the codec is generated from, see {@link #hashFeatures}
+    */
+   protected EObjectCodec(final int featuresHash) {
+      this.featuresHash = featuresHash;
+   }
+
+   /**
+    * Returns the hash of the features of the class this codec is generated from.
+    *
+    * @return hash, see {@link #hashFeatures}
+    */
+   public final int getFeaturesHash() { return featuresHash; }
+
+   /**
+    * Returns true if this codec reads and writes the values of the feature with the given ID.
+    *
+    * @param featureID ID of a feature of the class
+    * @return true if handled by the codec
+    */
+   public abstract boolean handles(int featureID);
+
+   /**
+    * Writes the value of a feature handled by this codec, the field name is already written.
+    *
+    * @param featureID ID of a feature handled by the codec
+    * @param object    object of the class of the codec
+    * @param jg        generator
+    * @throws IOException if the value cannot be written
+    */
+   public abstract void write(int featureID, EObject object, JsonGenerator jg) throws IOException;
+
+   /**
+    * Sets a feature handled by this codec with the value at the current token of the parser, which is not a
+    * null value.
+    *
+    * @param featureID ID of a feature handled by the codec
+    * @param jp        parser on the value of the feature
+    * @param object    object of the class of the codec
+    * @return false if the value has not been read, because it is not of the expected token
+    * @throws IOException if the value cannot be read
+    */
+   public abstract boolean read(int featureID, JsonParser jp, EObject object) throws IOException;
+
+   /**
+    * Returns a hash of the names, multiplicities and value types of all the features of the given class, in the
+    * order of their feature IDs.
+    *
+    * @param type any class
+    * @return hash
+    */
+   public static int hashFeatures(final EClass type) {
+      int hash = 1;
+      for (EStructuralFeature feature : type.getEAllStructuralFeatures()) {
+         EClassifier valueType = feature.getEType();
+         hash = 31 * hash + Objects.hashCode(feature.getName());
+         hash = 31 * hash + (feature.isMany() ? 1 : 0);
+         hash = 31 * hash + Objects.hashCode(valueType == null ? null : valueType.getInstanceClassName());
+      }
+      return hash;
+   }
+
+   /**
+    * Registers a provider of codecs, for environments where providers cannot be found with a
+    * {@link ServiceLoader}. It only applies to classes first used after this call.
+    *
+    * @param provider provider of codecs
+    */
+   public static void register(final Provider provider) {
+      REGISTERED.add(0, provider);
+   }
+
+   /**
+    * Returns the codec of the given class.
+    *
+    * @param type any class
+    * @return codec, or null if the class has none or has changed since it was generated
+    */
+   public static EObjectCodec of(final EClass type) {
+      EPackage ePackage = type.getEPackage();
+      if (type.getInstanceClass() == null || ePackage == null || ePackage.getNsURI() == null) {
+         return null;
+      }
+
+      EObjectCodec codec = null;
+      for (Provider provider : REGISTERED) {
+         if (ePackage.getNsURI().equals(provider.getNsURI())) {
+            codec = provider.getCodec(type.getName());
+            break;
+         }
+      }
+      if (codec == null) {
+         codec = getProvider(ePackage).getCodec(type.getName());
+      }
+
+      return codec != null && codec.getFeaturesHash() == hashFeatures(type) ? codec : null;
+   }
+
+   private static Provider getProvider(final EPackage ePackage) {
+      Provider provider = PROVIDERS.get(ePackage);
+      if (provider == null) {
+         provider = PROVIDERS.putIfAbsent(ePackage, findProvider(ePackage));
+      }
+      return provider;
+   }
+
+   /*
+    * Providers are packaged with the generated package they describe, dynamic packages have none.
+    */
+   private static Provider findProvider(final EPackage ePackage) {
+      if (ePackage.getClass() == EPackageImpl.class) {
+         return NONE;
+      }
+
+      try {
+         for (Provider provider : ServiceLoader.load(Provider.class, ePackage.getClass().getClassLoader())) {
+            if (ePackage.getNsURI().equals(provider.getNsURI())) {
+               return provider;
+            }
+         }
+      } catch (ServiceConfigurationError e) {
+         // all features are read and written by the interpreted properties
+      }
+      return NONE;
+   }
+
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.property;
+
+import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_SERIALIZE_DEFAULT_VALUE;
+
+import java.io.IOException;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.jackson.databind.EMFContext;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+/**
+ * Property of a feature whose values are read and written by the {@link EObjectCodec} of its class. Values the
+ * codec does not handle are left to the interpreted property of the feature, which is only created, with the
+ * Java type of the feature, when first needed.
+ */
+final class EObjectCodecProperty extends EObjectProperty {
+
+   private final EClass owner;
+   private final EStructuralFeature feature;
+   private final int featureID;
+   private final EObjectCodec codec;
+   private final int features;
+   private final boolean defaultValues;
+   // false unless bound to a mapper that uses the default Jackson serializer or deserializer of the values
+   private final boolean direct;
+
+   private volatile EObjectProperty fallback;
+
+   EObjectCodecProperty(final String fieldName, final EClass owner, final EStructuralFeature feature,
+      final EObjectCodec codec, final int features) {
+      this(fieldName, owner, feature, owner.getFeatureID(feature), codec, features, false);
+   }
+
+   private EObjectCodecProperty(final String fieldName, final EClass owner, final EStructuralFeature feature,
+      final int featureID, final EObjectCodec codec, final int features, final boolean direct) {
+      super(fieldName);
+
+      this.owner = owner;
+      this.feature = feature;
+      this.featureID = featureID;
+      this.codec = codec;
+      this.features = features;
+      this.defaultValues = OPTION_SERIALIZE_DEFAULT_VALUE.enabledIn(features);
+      this.direct = direct;
+   }
+
+   @Override
+   EObjectProperty bind(final DatabindContext ctxt) {
+      return new EObjectCodecProperty(getFieldName(), owner, feature, featureID, codec, features,
+         usesDefaultImpl(ctxt));
+   }
+
+   /*
+    * Values written or read by a custom serializer or deserializer are left to the interpreted property.
+    */
+   private boolean usesDefaultImpl(final DatabindContext ctxt) {
+      JavaType type = ctxt.constructType(feature.getEType().getInstanceClass());
+      try {
+         if (ctxt instanceof SerializerProvider) {
+            return ClassUtil.isJacksonStdImpl(((SerializerProvider) ctxt).findValueSerializer(type));
+         }
+         if (ctxt instanceof DeserializationContext) {
+            return ClassUtil.isJacksonStdImpl(
+               ((DeserializationContext) ctxt).findContextualValueDeserializer(type, null));
+         }
+      } catch (JsonMappingException e) {
+         // the interpreted property reports the error where it matters
+      }
+      return false;
+   }
+
+   private EObjectProperty getFallback(final DatabindContext ctxt) {
+      EObjectProperty property = fallback;
+      if (property == null) {
+         JavaType type = EMFContext.getTypeFactory(ctxt).typeOf(ctxt, owner, feature);
+         property = new EObjectFeatureProperty(owner, feature, type, features).bind(ctxt);
+         fallback = property;
+      }
+      return property;
+   }
+
+   @Override
+   public void serialize(final EObject bean, final JsonGenerator jg, final SerializerProvider provider)
+      throws IOException {
+      if (!direct || bean.eClass() != owner || !(bean instanceof InternalEObject)) {
+         getFallback(provider).serialize(bean, jg, provider);
+      } else if (((InternalEObject) bean).eIsSet(featureID)) {
+         jg.writeFieldName(getSerializedFieldName());
+         codec.write(featureID, bean, jg);
+      } else if (defaultValues) {
+         getFallback(provider).serialize(bean, jg, provider);
+      }
+   }
+
+   @Override
+   public void deserializeAndSet(final JsonParser jp, final EObject current, final DeserializationContext ctxt,
+      final Resource resource) throws IOException {
+      if (direct && current.eClass() == owner) {
+         if (jp.currentToken() == JsonToken.FIELD_NAME) {
+            jp.nextToken();
+         }
+         if (jp.currentToken() == JsonToken.VALUE_NULL || codec.read(featureID, jp, current)) {
+            return;
+         }
+      }
+      getFallback(ctxt).deserializeAndSet(jp, current, ctxt, resource);
+   }
+
+   @Override
+   public EObject deserialize(final JsonParser jp, final DeserializationContext ctxt) throws IOException {
+      return null;
+   }
+}
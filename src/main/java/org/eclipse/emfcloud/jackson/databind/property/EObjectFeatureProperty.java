@@ -11,56 +11,138 @@
 
 package org.eclipse.emfcloud.jackson.databind.property;
 
-import static org.eclipse.emfcloud.jackson.annotations.JsonAnnotations.getElementName;
-import static org.eclipse.emfcloud.jackson.annotations.JsonAnnotations.isRawValue;
 import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_SERIALIZE_DEFAULT_VALUE;
+import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_USE_GENERATED_SETTERS;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.FeatureMap;
+import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.databind.deser.RawDeserializer;
 import org.eclipse.emfcloud.jackson.databind.deser.ReferenceEntries;
 import org.eclipse.emfcloud.jackson.databind.deser.ReferenceEntry;
 import org.eclipse.emfcloud.jackson.databind.type.FeatureKind;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
+import org.eclipse.emfcloud.jackson.utils.EObjects;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindContext;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.impl.UnknownSerializer;
 import com.fasterxml.jackson.databind.ser.std.RawSerializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
 
 public class EObjectFeatureProperty extends EObjectProperty {
 
    private final EStructuralFeature feature;
+   // objects of the owner are accessed by feature ID, resolved once instead of on each access
+   private final EClass owner;
+   private final int featureID;
+   private final FeatureKind kind;
    private final JavaType javaType;
    private final boolean defaultValues;
 
-   private JsonSerializer<Object> serializer;
-   private JsonDeserializer<Object> deserializer;
+   // resolved when the property is bound to a builder, null if resolved on each use
+   private final JsonSerializer<Object> serializer;
+   private final JsonDeserializer<Object> deserializer;
+   // only used once bound to the default deserializer of the attribute type
+   private final FeatureSetter setter;
 
    public EObjectFeatureProperty(final EStructuralFeature feature, final JavaType type, final int features) {
-      super(getElementName(feature, features));
+      this(null, feature, type, features);
+   }
+
+   /**
+    * Creates the property of a feature of the given class, whose objects are accessed by feature ID. The feature
+    * may be set with its generated setter, see
+    * {@link org.eclipse.emfcloud.jackson.module.EMFModule.Feature#OPTION_USE_GENERATED_SETTERS}.
+    *
+    * @param owner    class of the objects holding the feature
+    * @param feature  feature of the class
+    * @param type     Java type of the feature
+    * @param features the EMF module's feature flags
+    */
+   public EObjectFeatureProperty(final EClass owner, final EStructuralFeature feature, final JavaType type,
+      final int features) {
+      this(FeatureMetadata.of(feature), owner, feature, type, features,
+         OPTION_USE_GENERATED_SETTERS.enabledIn(features) ? FeatureSetter.of(owner, feature) : null);
+   }
+
+   private EObjectFeatureProperty(final FeatureMetadata metadata, final EClass owner,
+      final EStructuralFeature feature, final JavaType type, final int features, final FeatureSetter setter) {
+      this(metadata.getElementName(features), owner, owner == null ? -1 : owner.getFeatureID(feature), feature,
+         metadata.getKind(), type, OPTION_SERIALIZE_DEFAULT_VALUE.enabledIn(features),
+         metadata.isRawValue() ? new RawSerializer<>(String.class) : null,
+         metadata.isRawValue() ? new RawDeserializer() : null, setter);
+   }
+
+   @SuppressWarnings("checkstyle:parameterNumber")
+   private EObjectFeatureProperty(final String fieldName, final EClass owner, final int featureID,
+      final EStructuralFeature feature, final FeatureKind kind, final JavaType type, final boolean defaultValues,
+      final JsonSerializer<Object> serializer, final JsonDeserializer<Object> deserializer,
+      final FeatureSetter setter) {
+      super(fieldName);
 
       this.feature = feature;
+      this.owner = owner;
+      this.featureID = featureID;
+      this.kind = kind;
       this.javaType = type;
-      this.defaultValues = OPTION_SERIALIZE_DEFAULT_VALUE.enabledIn(features);
+      this.defaultValues = defaultValues;
+      this.serializer = serializer;
+      this.deserializer = deserializer;
+      this.setter = setter;
+   }
+
+   @Override
+   EObjectProperty bind(final DatabindContext ctxt) {
+      JsonSerializer<Object> boundSerializer = serializer;
+      JsonDeserializer<Object> boundDeserializer = deserializer;
 
-      if (isRawValue(feature)) {
-         this.serializer = new RawSerializer<>(String.class);
-         this.deserializer = new RawDeserializer();
+      try {
+         if (boundSerializer == null && ctxt instanceof SerializerProvider) {
+            boundSerializer = ((SerializerProvider) ctxt).findValueSerializer(javaType);
+         }
+         if (boundDeserializer == null && ctxt instanceof DeserializationContext) {
+            boundDeserializer = ((DeserializationContext) ctxt).findContextualValueDeserializer(javaType, null);
+         }
+      } catch (JsonMappingException e) {
+         // looked up again on each use, which reports the error where it matters
       }
+
+      // values read by a custom deserializer are not set directly
+      FeatureSetter boundSetter = boundDeserializer != null && ClassUtil.isJacksonStdImpl(boundDeserializer)
+         ? setter
+         : null;
+
+      return new EObjectFeatureProperty(getFieldName(), owner, featureID, feature, kind, javaType, defaultValues,
+         boundSerializer, boundDeserializer, boundSetter);
+   }
+
+   private JsonSerializer<Object> getSerializer(final SerializerProvider provider) throws JsonMappingException {
+      return serializer != null ? serializer : provider.findValueSerializer(javaType);
+   }
+
+   private JsonDeserializer<Object> getDeserializer(final DeserializationContext ctxt) throws JsonMappingException {
+      return deserializer != null ? deserializer : ctxt.findContextualValueDeserializer(javaType, null);
    }
 
    @Override
@@ -68,9 +150,6 @@ public class EObjectFeatureProperty extends EObjectProperty {
    public void deserializeAndSet(final JsonParser jp, final EObject current, final DeserializationContext ctxt,
       final Resource resource)
       throws IOException {
-      if (deserializer == null) {
-         deserializer = ctxt.findContextualValueDeserializer(javaType, null);
-      }
       JsonToken token = null;
 
       if (jp.getCurrentToken() == JsonToken.FIELD_NAME) {
@@ -81,8 +160,12 @@ public class EObjectFeatureProperty extends EObjectProperty {
          return;
       }
 
+      if (setter != null && deserializer != null && setter.set(jp, current)) {
+         return;
+      }
+
       boolean isMap = false;
-      switch (FeatureKind.get(feature)) {
+      switch (kind) {
          case MAP:
             isMap = true;
             //$FALL-THROUGH$
@@ -121,6 +204,7 @@ public class EObjectFeatureProperty extends EObjectProperty {
 
    protected void deserializeAsReference(final JsonParser jp, final DeserializationContext ctxt)
       throws IOException, JsonProcessingException {
+      JsonDeserializer<Object> deserializer = getDeserializer(ctxt);
       ReferenceEntries entries = EMFContext.getEntries(ctxt);
       if (feature.isMany()) {
          deserializer.deserialize(jp, ctxt, entries.entries());
@@ -132,19 +216,29 @@ public class EObjectFeatureProperty extends EObjectProperty {
       }
    }
 
+   @SuppressWarnings("unchecked")
    protected void deserializeValue(final JsonParser jp, final EObject current, final DeserializationContext ctxt,
       final JsonToken token, final boolean isMap) throws JsonParseException, IOException, JsonProcessingException {
+      JsonDeserializer<Object> deserializer = getDeserializer(ctxt);
       if (feature.isMany()) {
          if (token != JsonToken.START_ARRAY && !isMap) {
             throw new JsonParseException(jp, "Expected START_ARRAY token, got " + token);
          }
 
-         deserializer.deserialize(jp, ctxt, current.eGet(feature));
+         Object values = get(current, true);
+         if (kind == FeatureKind.MANY_ATTRIBUTE && values instanceof InternalEList && !(values instanceof FeatureMap)
+            && EMFContext.isBulkLoad(ctxt)) {
+            List<Object> staged = new ArrayList<>();
+            deserializer.deserialize(jp, ctxt, staged);
+            EObjects.addAll((InternalEList<Object>) values, feature, staged);
+         } else {
+            deserializer.deserialize(jp, ctxt, values);
+         }
       } else {
          Object value = deserializer.deserialize(jp, ctxt);
 
          if (value != null) {
-            current.eSet(feature, value);
+            set(current, value);
          }
       }
    }
@@ -152,17 +246,15 @@ public class EObjectFeatureProperty extends EObjectProperty {
    @Override
    public void serialize(final EObject bean, final JsonGenerator jg, final SerializerProvider provider)
       throws IOException {
-      if (serializer == null) {
-         serializer = provider.findValueSerializer(javaType);
-      }
+      JsonSerializer<Object> serializer = getSerializer(provider);
 
       EMFContext.setParent(provider, bean);
       EMFContext.setFeature(provider, feature);
 
-      if (bean.eIsSet(feature)) {
-         Object value = bean.eGet(feature, false);
+      if (isSet(bean)) {
+         Object value = get(bean, false);
 
-         jg.writeFieldName(getFieldName());
+         jg.writeFieldName(getSerializedFieldName());
 
          if (serializer instanceof UnknownSerializer) {
             JsonSerializer<Object> other = provider.findValueSerializer(value.getClass());
@@ -176,12 +268,35 @@ public class EObjectFeatureProperty extends EObjectProperty {
          Object value = feature.getDefaultValue();
 
          if (value != null) {
-            jg.writeFieldName(getFieldName());
+            jg.writeFieldName(getSerializedFieldName());
             serializer.serialize(value, jg, provider);
          }
       }
    }
 
+   // objects of another class, such as a sub class, have other feature IDs
+   private boolean hasFeatureID(final EObject object) {
+      return featureID >= 0 && object.eClass() == owner && object instanceof InternalEObject;
+   }
+
+   private boolean isSet(final EObject object) {
+      return hasFeatureID(object) ? ((InternalEObject) object).eIsSet(featureID) : object.eIsSet(feature);
+   }
+
+   private Object get(final EObject object, final boolean resolve) {
+      return hasFeatureID(object)
+         ? ((InternalEObject) object).eGet(featureID, resolve, true)
+         : object.eGet(feature, resolve);
+   }
+
+   private void set(final EObject object, final Object value) {
+      if (hasFeatureID(object)) {
+         ((InternalEObject) object).eSet(featureID, value);
+      } else {
+         object.eSet(feature, value);
+      }
+   }
+
    @Override
    public EObject deserialize(final JsonParser jp, final DeserializationContext ctxt) throws IOException {
       return null;
@@ -41,7 +41,8 @@ public class EObjectIdentityProperty extends EObjectProperty {
    @Override
    public void serialize(final EObject bean, final JsonGenerator jg, final SerializerProvider provider)
       throws IOException {
-      jg.writeObjectField(getFieldName(), valueWriter.writeValue(bean, provider));
+      jg.writeFieldName(getSerializedFieldName());
+      jg.writeObject(valueWriter.writeValue(bean, provider));
    }
 
    @Override
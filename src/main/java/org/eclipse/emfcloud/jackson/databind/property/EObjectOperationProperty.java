@@ -46,7 +46,7 @@ public class EObjectOperationProperty extends EObjectProperty {
       }
 
       if (value != null) {
-         jg.writeFieldName(getFieldName());
+         jg.writeFieldName(getSerializedFieldName());
          JsonSerializer<Object> serializer = provider.findValueSerializer(value.getClass());
          serializer.serialize(value, jg, provider);
       }
@@ -18,19 +18,43 @@ import org.eclipse.emf.ecore.resource.Resource;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DatabindContext;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 public abstract class EObjectProperty {
 
    private final String fieldName;
+   private final SerializableString serializedFieldName;
 
    protected EObjectProperty(final String fieldName) {
       this.fieldName = fieldName;
+      this.serializedFieldName = fieldName == null ? null : new SerializedString(fieldName);
    }
 
    public String getFieldName() { return fieldName; }
 
+   /**
+    * Returns the field name of this property, encoded once so that generators write it as is.
+    *
+    * @return encoded field name
+    */
+   public SerializableString getSerializedFieldName() { return serializedFieldName; }
+
+   /**
+    * Returns the instance of this property used by a single builder. Properties that depend on the
+    * mapper they are used with, such as the serializers or deserializers it resolves, must return a
+    * copy, others can be shared.
+    *
+    * @param ctxt context of the builder mapper
+    * @return property for a single builder
+    */
+   EObjectProperty bind(final DatabindContext ctxt) {
+      return this;
+   }
+
    public abstract void serialize(EObject bean, JsonGenerator jg, SerializerProvider provider) throws IOException;
 
    public abstract EObject deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException;
@@ -11,15 +11,12 @@
 
 package org.eclipse.emfcloud.jackson.databind.property;
 
-import static java.util.Spliterator.ORDERED;
-import static java.util.Spliterators.spliteratorUnknownSize;
-import static java.util.stream.StreamSupport.stream;
-import static org.eclipse.emfcloud.jackson.annotations.JsonAnnotations.getAliases;
 import static org.eclipse.emfcloud.jackson.annotations.JsonAnnotations.getElementName;
 import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_USE_ID;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -27,42 +24,47 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import org.eclipse.emf.ecore.EAnnotation;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EOperation;
-import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
-import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.util.FeatureMapUtil;
 import org.eclipse.emfcloud.jackson.annotations.EcoreIdentityInfo;
 import org.eclipse.emfcloud.jackson.annotations.EcoreReferenceInfo;
 import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
 import org.eclipse.emfcloud.jackson.annotations.JsonAnnotations;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.databind.type.EcoreTypeFactory;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureKind;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
 import org.eclipse.emfcloud.jackson.module.EMFModule;
-import org.eclipse.emfcloud.jackson.utils.EObjects;
+import org.eclipse.emfcloud.jackson.utils.NotifierCache;
 
 import com.fasterxml.jackson.databind.DatabindContext;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 
 public final class EObjectPropertyMap {
 
    public static class Builder {
 
-      private final Map<EClass, EObjectPropertyMap> cache = Collections.synchronizedMap(new WeakHashMap<>());
+      // owned by this builder only, bound property maps hold serializers that reference it
+      private final NotifierCache<EClass, EObjectPropertyMap> cache = new NotifierCache<>("boundPropertyMaps");
 
       private final EcoreIdentityInfo identityInfo;
       private final EcoreTypeInfo typeInfo;
       private final EcoreReferenceInfo referenceInfo;
       private final int features;
+      // registry of the type factory this builder was last used with
+      private volatile PropertyMapRegistry registry;
+
+      private final NotifierCache<EClass, TypeNames> typeNames = new NotifierCache<>("typeNames");
+
+      private volatile EObjectPropertyMap defaultPropertyMap;
 
       public Builder(final EcoreIdentityInfo identityInfo, final EcoreTypeInfo typeInfo,
          final EcoreReferenceInfo referenceInfo,
@@ -79,30 +81,41 @@ public final class EObjectPropertyMap {
 
       public EObjectPropertyMap construct(final DatabindContext ctxt, final EClass type) {
          if (type == null) {
-            buildCache(ctxt);
+            return constructDefault(ctxt);
          }
 
-         EObjectPropertyMap propertyMap = type == null ? null : cache.get(type);
-
+         EObjectPropertyMap propertyMap = cache.get(type);
          if (propertyMap == null) {
-            propertyMap = createPropertyMap(ctxt, type);
-            if (type != null) {
-               cache.put(type, propertyMap);
-            }
+            propertyMap = cache.putIfAbsent(type, getSharedPropertyMap(ctxt, type).bind(ctxt));
          }
          return propertyMap;
       }
 
-      private void buildCache(final DatabindContext ctxt) {
-         ResourceSet resourceSet = EMFContext.getResourceSet(ctxt);
-
-         Set<EClass> types = resourceSet.getPackageRegistry().values().stream()
-            .flatMap(model -> stream(spliteratorUnknownSize(((EPackage) model).eAllContents(), ORDERED), false))
-            .filter(e -> e instanceof EClass)
-            .map(e -> (EClass) e)
-            .collect(Collectors.toSet());
+      /*
+       * Property maps are shared between all builders with the same configuration, each builder
+       * only binds its own copy of the properties that hold serializers and deserializers.
+       */
+      private EObjectPropertyMap getSharedPropertyMap(final DatabindContext ctxt, final EClass type) {
+         PropertyMapRegistry current = getRegistry(ctxt);
+         EObjectPropertyMap propertyMap = current.get(type);
+         if (propertyMap == null) {
+            propertyMap = current.putIfAbsent(type, createPropertyMap(ctxt, type));
+         }
+         return propertyMap;
+      }
 
-         types.forEach(type -> cache.put(type, construct(ctxt, type)));
+      /*
+       * Java types of shared property maps are built by the type factory of the context, builders used with
+       * another factory share the maps of that factory.
+       */
+      private PropertyMapRegistry getRegistry(final DatabindContext ctxt) {
+         PropertyMapRegistry current = registry;
+         TypeFactory typeFactory = ctxt.getTypeFactory();
+         if (current == null || !current.isFor(typeFactory)) {
+            current = PropertyMapRegistry.get(identityInfo, typeInfo, referenceInfo, features, typeFactory);
+            registry = current;
+         }
+         return current;
       }
 
       @SuppressWarnings("checkstyle:cyclomaticComplexity")
@@ -124,11 +137,12 @@ public final class EObjectPropertyMap {
          }
 
          if (type != null) {
+            EObjectCodec codec = EObjectCodec.of(type);
             for (EStructuralFeature feature : type.getEAllStructuralFeatures()) {
-               createFeatureProperty(ctxt, factory, type, feature).ifPresent(property -> {
+               createFeatureProperty(ctxt, factory, type, codec, feature).ifPresent(property -> {
                   add.accept(property);
 
-                  for (String alias : getAliases(feature)) {
+                  for (String alias : FeatureMetadata.of(feature).getAliases()) {
                      propertiesMap.put(alias, property);
                   }
                });
@@ -146,13 +160,24 @@ public final class EObjectPropertyMap {
          return new EObjectPropertyMap(type, propertiesMap, properties);
       }
 
-      private Optional<EObjectFeatureProperty> createFeatureProperty(final DatabindContext ctxt,
-         final EcoreTypeFactory factory,
-         final EClass type, final EStructuralFeature feature) {
+      /*
+       * Features handled by the generated codec of the class do not need their Java type, nor the
+       * serializers and deserializers of the interpreted property, unless the codec falls back to it.
+       */
+      private Optional<EObjectProperty> createFeatureProperty(final DatabindContext ctxt,
+         final EcoreTypeFactory factory, final EClass type, final EObjectCodec codec,
+         final EStructuralFeature feature) {
          if (isCandidate(feature)) {
+            FeatureMetadata metadata = FeatureMetadata.of(feature);
+            if (codec != null && metadata.getKind() == FeatureKind.SINGLE_ATTRIBUTE && !metadata.isRawValue()
+               && codec.handles(type.getFeatureID(feature))) {
+               return Optional.of(
+                  new EObjectCodecProperty(metadata.getElementName(features), type, feature, codec, features));
+            }
+
             JavaType javaType = factory.typeOf(ctxt, type, feature);
             if (javaType != null) {
-               return Optional.of(new EObjectFeatureProperty(feature, javaType, features));
+               return Optional.of(new EObjectFeatureProperty(type, feature, javaType, features));
             }
          }
 
@@ -167,7 +192,8 @@ public final class EObjectPropertyMap {
       }
 
       boolean isCandidate(final EAttribute attribute) {
-         if (EObjects.isFeatureMapEntry(attribute)) {
+         FeatureMetadata metadata = FeatureMetadata.of(attribute);
+         if (metadata.isFeatureMapEntry()) {
             /*
              * Feature map entries are not stored on their own,
              * but as a collection member of the grouping feature
@@ -175,18 +201,18 @@ public final class EObjectPropertyMap {
              */
             return false;
          }
-         if (FeatureMapUtil.isFeatureMap(attribute)) {
+         if (metadata.isFeatureMap()) {
             /*
              * Displayed as a collections of feature map entries
              */
             return true;
          }
-         return !(attribute.isDerived() || attribute.isTransient()) &&
-            !JsonAnnotations.shouldIgnore(attribute);
+         return !(attribute.isDerived() || attribute.isTransient()) && !metadata.isIgnored();
       }
 
       boolean isCandidate(final EReference eReference) {
-         if (EObjects.isFeatureMapEntry(eReference)) {
+         FeatureMetadata metadata = FeatureMetadata.of(eReference);
+         if (metadata.isFeatureMapEntry()) {
             /*
              * Feature map entries are not stored on their own,
              * but as a collection member of the grouping feature
@@ -194,13 +220,13 @@ public final class EObjectPropertyMap {
              */
             return false;
          }
-         if (FeatureMapUtil.isFeatureMap(eReference)) {
+         if (metadata.isFeatureMap()) {
             /*
              * Displayed as a collections of feature map entries
              */
             return true;
          }
-         if (eReference.isTransient() || JsonAnnotations.shouldIgnore(eReference)) {
+         if (eReference.isTransient() || metadata.isIgnored()) {
             return false;
          }
 
@@ -223,36 +249,135 @@ public final class EObjectPropertyMap {
          return new EObjectTypeProperty(currentTypeInfo, features);
       }
 
+      /**
+       * Returns the property map used for objects whose type is not known yet. It only contains
+       * the reference, type and identity properties, and does not depend on the available types.
+       *
+       * @param ctxt current context
+       * @return default property map
+       */
       public EObjectPropertyMap constructDefault(final DatabindContext ctxt) {
-         return construct(ctxt, null);
+         EObjectPropertyMap propertyMap = defaultPropertyMap;
+         if (propertyMap == null) {
+            propertyMap = createPropertyMap(ctxt, null);
+            defaultPropertyMap = propertyMap;
+         }
+         return propertyMap;
+      }
+
+      /**
+       * Returns the type property of the sub type of the given class, or of the class itself, whose type
+       * property has the given name, so that the type of an object can be read as soon as its field is.
+       *
+       * @param ctxt        current context
+       * @param defaultType type of the object if it has no type property
+       * @param field       name of a field of the object
+       * @return type property, or null if the field is not a type property
+       */
+      public EObjectTypeProperty findTypeProperty(final DatabindContext ctxt, final EClass defaultType,
+         final String field) {
+         EClass type = getTypeNames(ctxt, defaultType).get(field);
+         return type == null ? null : construct(ctxt, type).getTypeProperty();
+      }
+
+      /**
+       * Returns true if the given class and all its sub types use the type property with the given name, so
+       * that an object without this property is of the given class.
+       *
+       * @param ctxt        current context
+       * @param defaultType type of the object if it has no type property
+       * @param field       name of the type property
+       * @return true if no sub type uses another type property
+       */
+      public boolean hasSingleTypeProperty(final DatabindContext ctxt, final EClass defaultType,
+         final String field) {
+         Map<String, EClass> names = getTypeNames(ctxt, defaultType);
+         if (names.isEmpty()) {
+            // sub types are unknown when the class is not in the package registry
+            return defaultType != null && field.equals(construct(ctxt, defaultType).getTypeProperty().getFieldName());
+         }
+         return names.size() == 1 && names.containsKey(field);
       }
 
       public EObjectPropertyMap find(final DeserializationContext ctxt, final EClass defaultType,
          final Iterator<String> fields) {
-         List<EClass> types = EMFContext.allSubTypes(ctxt, defaultType);
-         Map<String, EClass> properties = new HashMap<>();
-         for (EClass type : types) {
-            EObjectProperty p = getTypeProperty(type, features);
-            properties.put(p.getFieldName(), type);
-         }
+         Map<String, EClass> properties = getTypeNames(ctxt, defaultType);
 
          while (fields.hasNext()) {
-            String field = fields.next();
+            EClass type = properties.get(fields.next());
 
-            if (properties.containsKey(field)) {
-               return construct(ctxt, properties.get(field));
+            if (type != null) {
+               return construct(ctxt, type);
             }
          }
 
          return construct(ctxt, defaultType);
       }
 
+      /**
+       * Computes the type property names of the sub types of the given class, abstract or not, and brings the
+       * index of the registry of the context up to date, so that the first read of an object of this class or
+       * of a reference to it does not have to.
+       *
+       * @param ctxt current context
+       * @param type type to prepare
+       */
+      public void warmUpTypeNames(final DatabindContext ctxt, final EClass type) {
+         getTypeNames(ctxt, type);
+      }
+
+      /*
+       * Type property names of the sub types of a class, computed again only when the sub types
+       * index of the registry changes.
+       */
+      private Map<String, EClass> getTypeNames(final DatabindContext ctxt, final EClass defaultType) {
+         if (defaultType == null) {
+            return Collections.emptyMap();
+         }
+
+         List<EClass> types = EMFContext.allSubTypes(ctxt, defaultType);
+         TypeNames names = typeNames.get(defaultType);
+         if (names == null || names.types != types) {
+            Map<String, EClass> properties = new HashMap<>();
+            for (EClass type : types) {
+               EObjectProperty p = getTypeProperty(type, features);
+               properties.put(p.getFieldName(), type);
+            }
+
+            names = new TypeNames(types, properties);
+            typeNames.put(defaultType, names);
+         }
+         return names.names;
+      }
+
+   }
+
+   /**
+    * Type property names of the sub types of a class, valid as long as the list of sub types is.
+    */
+   private static final class TypeNames {
+
+      private final List<EClass> types;
+      private final Map<String, EClass> names;
+
+      TypeNames(final List<EClass> types, final Map<String, EClass> names) {
+         this.types = types;
+         this.names = names;
+      }
    }
 
    private final Map<String, EObjectProperty> propertiesMap;
    private final Set<EObjectProperty> properties;
    private final EClass type;
 
+   /*
+    * Open addressing table of the interned field names and aliases, Jackson parsers intern
+    * field names by default, so that these are matched by reference using their cached hash.
+    */
+   private final String[] fieldNames;
+   private final EObjectProperty[] fieldProperties;
+   private final int mask;
+
    private EObjectTypeProperty typeProperty;
 
    private EObjectPropertyMap(final EClass type, final Map<String, EObjectProperty> propertiesMap,
@@ -260,9 +385,65 @@ public final class EObjectPropertyMap {
       this.type = type;
       this.propertiesMap = propertiesMap;
       this.properties = properties;
+
+      int capacity = 8;
+      while (capacity < propertiesMap.size() * 2) {
+         capacity <<= 1;
+      }
+      this.fieldNames = new String[capacity];
+      this.fieldProperties = new EObjectProperty[capacity];
+      this.mask = capacity - 1;
+
+      for (Map.Entry<String, EObjectProperty> entry : propertiesMap.entrySet()) {
+         if (entry.getKey() != null) {
+            String name = entry.getKey().intern();
+            int index = name.hashCode() & mask;
+            while (fieldNames[index] != null) {
+               index = (index + 1) & mask;
+            }
+            fieldNames[index] = name;
+            fieldProperties[index] = entry.getValue();
+         }
+      }
+   }
+
+   /**
+    * Returns a copy of this property map for the exclusive use of one builder. Properties that hold
+    * serializers and deserializers, which depend on the mapper that resolves them, are copied with
+    * the ones resolved by the given context, all other properties and metadata are shared.
+    *
+    * @param ctxt context of the builder mapper
+    * @return property map bound to a builder
+    */
+   EObjectPropertyMap bind(final DatabindContext ctxt) {
+      Map<EObjectProperty, EObjectProperty> bound = new IdentityHashMap<>();
+      Set<EObjectProperty> boundProperties = new LinkedHashSet<>();
+      for (EObjectProperty property : properties) {
+         EObjectProperty copy = property.bind(ctxt);
+         bound.put(property, copy);
+         boundProperties.add(copy);
+      }
+
+      Map<String, EObjectProperty> boundPropertiesMap = new HashMap<>();
+      propertiesMap.forEach((field, property) -> boundPropertiesMap.put(field, bound.getOrDefault(property, property)));
+
+      return new EObjectPropertyMap(type, boundPropertiesMap, boundProperties);
    }
 
    public EObjectProperty findProperty(final String field) {
+      if (field == null) {
+         return null;
+      }
+
+      int index = field.hashCode() & mask;
+      String name;
+      while ((name = fieldNames[index]) != null) {
+         if (name == field) {
+            return fieldProperties[index];
+         }
+         index = (index + 1) & mask;
+      }
+      // names that are not interned, or unknown
       return propertiesMap.get(field);
    }
 
@@ -25,33 +25,31 @@ import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
+import org.eclipse.emfcloud.jackson.databind.ser.TypeValueCache;
 import org.eclipse.emfcloud.jackson.utils.ValueReader;
-import org.eclipse.emfcloud.jackson.utils.ValueWriter;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
-import com.fasterxml.jackson.databind.ser.std.StringSerializer;
 
 public class EObjectTypeProperty extends EObjectProperty {
 
-   private final JsonSerializer<Object> serializer = new StringSerializer();
    private final JsonDeserializer<String> deserializer = StringDeserializer.instance;
 
    private final ValueReader<String, EClass> valueReader;
-   private final ValueWriter<EClass, String> valueWriter;
+   private final TypeValueCache typeValues;
    private final int features;
 
    public EObjectTypeProperty(final EcoreTypeInfo info, final int features) {
       super(info.getProperty());
 
       this.valueReader = info.getValueReader();
-      this.valueWriter = info.getValueWriter();
+      this.typeValues = TypeValueCache.of(info.getValueWriter());
       this.features = features;
    }
 
@@ -59,9 +57,13 @@ public class EObjectTypeProperty extends EObjectProperty {
    public void serialize(final EObject bean, final JsonGenerator jg, final SerializerProvider provider)
       throws IOException {
       if (shouldWriteType(bean)) {
-         String value = valueWriter.writeValue(bean.eClass(), provider);
-         jg.writeFieldName(getFieldName());
-         serializer.serialize(value, jg, provider);
+         SerializableString value = typeValues.get(bean.eClass(), provider);
+         jg.writeFieldName(getSerializedFieldName());
+         if (value == null) {
+            jg.writeNull();
+         } else {
+            jg.writeString(value);
+         }
       }
    }
 
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.property;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Sets a single valued attribute of a generated class with a value read directly from the parser, see
+ * {@link EMFModule.Feature#OPTION_USE_GENERATED_SETTERS}.
+ * <p>
+ * Primitive values are passed unboxed to the generated setter of the attribute, called through a method
+ * handle. When the class has no setter of the expected name, values are set by feature ID. Only values of
+ * the token the default Jackson deserializer of the attribute type expects are read, others are left to
+ * that deserializer.
+ * </p>
+ */
+abstract class FeatureSetter {
+
+   private static final MethodHandle SET_BY_ID;
+
+   static {
+      try {
+         SET_BY_ID = MethodHandles.publicLookup().findVirtual(InternalEObject.class, "eSet",
+            MethodType.methodType(void.class, int.class, Object.class));
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+         throw new ExceptionInInitializerError(e);
+      }
+   }
+
+   /**
+    * Returns the setter of the given attribute of a generated class.
+    *
+    * @param type    class of the objects to set
+    * @param feature feature of the class
+    * @return setter, or null if the feature is not a single valued attribute of a supported type
+    */
+   @SuppressWarnings("checkstyle:cyclomaticComplexity")
+   static FeatureSetter of(final EClass type, final EStructuralFeature feature) {
+      if (!(feature instanceof EAttribute) || feature.isMany() || feature.getEType() instanceof EEnum
+         || type == null || type.getInstanceClass() == null || FeatureMetadata.of(feature).isRawValue()) {
+         return null;
+      }
+
+      int featureID = type.getFeatureID(feature);
+      Class<?> valueType = feature.getEType().getInstanceClass();
+      if (featureID < 0 || valueType == null) {
+         return null;
+      }
+
+      if (valueType == String.class) {
+         return new StringSetter(setter(type, feature, featureID, valueType, String.class));
+      }
+      if (valueType == int.class || valueType == Integer.class) {
+         return new IntSetter(setter(type, feature, featureID, valueType, int.class));
+      }
+      if (valueType == long.class || valueType == Long.class) {
+         return new LongSetter(setter(type, feature, featureID, valueType, long.class));
+      }
+      if (valueType == double.class || valueType == Double.class) {
+         return new DoubleSetter(setter(type, feature, featureID, valueType, double.class));
+      }
+      if (valueType == float.class || valueType == Float.class) {
+         return new FloatSetter(setter(type, feature, featureID, valueType, float.class));
+      }
+      if (valueType == boolean.class || valueType == Boolean.class) {
+         return new BooleanSetter(setter(type, feature, featureID, valueType, boolean.class));
+      }
+      return null;
+   }
+
+   /*
+    * Returns a handle of type (EObject, readType) to the generated setter of the feature, or to eSet by feature
+    * ID if there is none.
+    */
+   private static MethodHandle setter(final EClass type, final EStructuralFeature feature, final int featureID,
+      final Class<?> valueType, final Class<?> readType) {
+      MethodType methodType = MethodType.methodType(void.class, EObject.class, readType);
+      String name = feature.getName();
+
+      if (name != null && !name.isEmpty()) {
+         String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+         try {
+            return MethodHandles.publicLookup()
+               .findVirtual(type.getInstanceClass(), setterName, MethodType.methodType(void.class, valueType))
+               .asType(methodType);
+         } catch (NoSuchMethodException | IllegalAccessException e) {
+            // accessor names may be customized in the generator model
+         }
+      }
+      return MethodHandles.insertArguments(SET_BY_ID, 1, featureID).asType(methodType);
+   }
+
+   /**
+    * Sets the attribute with the value at the current token of the parser.
+    *
+    * @param jp     parser on the value of the attribute
+    * @param object object to set
+    * @return false if the value has not been read, because it is not of the expected token
+    * @throws IOException if the value cannot be read
+    */
+   abstract boolean set(JsonParser jp, EObject object) throws IOException;
+
+   private static RuntimeException propagate(final Throwable e) throws IOException {
+      if (e instanceof IOException) {
+         throw (IOException) e;
+      }
+      if (e instanceof RuntimeException) {
+         throw (RuntimeException) e;
+      }
+      if (e instanceof Error) {
+         throw (Error) e;
+      }
+      throw new IllegalStateException(e);
+   }
+
+   private static final class StringSetter extends FeatureSetter {
+
+      private final MethodHandle setter;
+
+      StringSetter(final MethodHandle setter) {
+         this.setter = setter;
+      }
+
+      @Override
+      boolean set(final JsonParser jp, final EObject object) throws IOException {
+         if (jp.currentToken() != JsonToken.VALUE_STRING) {
+            return false;
+         }
+         String value = jp.getText();
+         try {
+            setter.invokeExact(object, value);
+         } catch (Throwable e) {
+            throw propagate(e);
+         }
+         return true;
+      }
+   }
+
+   private static final class IntSetter extends FeatureSetter {
+
+      private final MethodHandle setter;
+
+      IntSetter(final MethodHandle setter) {
+         this.setter = setter;
+      }
+
+      @Override
+      boolean set(final JsonParser jp, final EObject object) throws IOException {
+         if (jp.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            return false;
+         }
+         int value = jp.getIntValue();
+         try {
+            setter.invokeExact(object, value);
+         } catch (Throwable e) {
+            throw propagate(e);
+         }
+         return true;
+      }
+   }
+
+   private static final class LongSetter extends FeatureSetter {
+
+      private final MethodHandle setter;
+
+      LongSetter(final MethodHandle setter) {
+         this.setter = setter;
+      }
+
+      @Override
+      boolean set(final JsonParser jp, final EObject object) throws IOException {
+         if (jp.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            return false;
+         }
+         long value = jp.getLongValue();
+         try {
+            setter.invokeExact(object, value);
+         } catch (Throwable e) {
+            throw propagate(e);
+         }
+         return true;
+      }
+   }
+
+   private static final class DoubleSetter extends FeatureSetter {
+
+      private final MethodHandle setter;
+
+      DoubleSetter(final MethodHandle setter) {
+         this.setter = setter;
+      }
+
+      @Override
+      boolean set(final JsonParser jp, final EObject object) throws IOException {
+         if (!jp.currentToken().isNumeric()) {
+            return false;
+         }
+         double value = jp.getDoubleValue();
+         try {
+            setter.invokeExact(object, value);
+         } catch (Throwable e) {
+            throw propagate(e);
+         }
+         return true;
+      }
+   }
+
+   private static final class FloatSetter extends FeatureSetter {
+
+      private final MethodHandle setter;
+
+      FloatSetter(final MethodHandle setter) {
+         this.setter = setter;
+      }
+
+      @Override
+      boolean set(final JsonParser jp, final EObject object) throws IOException {
+         if (!jp.currentToken().isNumeric()) {
+            return false;
+         }
+         float value = jp.getFloatValue();
+         try {
+            setter.invokeExact(object, value);
+         } catch (Throwable e) {
+            throw propagate(e);
+         }
+         return true;
+      }
+   }
+
+   private static final class BooleanSetter extends FeatureSetter {
+
+      private final MethodHandle setter;
+
+      BooleanSetter(final MethodHandle setter) {
+         this.setter = setter;
+      }
+
+      @Override
+      boolean set(final JsonParser jp, final EObject object) throws IOException {
+         if (!jp.currentToken().isBoolean()) {
+            return false;
+         }
+         boolean value = jp.getBooleanValue();
+         try {
+            setter.invokeExact(object, value);
+         } catch (Throwable e) {
+            throw propagate(e);
+         }
+         return true;
+      }
+   }
+
+}
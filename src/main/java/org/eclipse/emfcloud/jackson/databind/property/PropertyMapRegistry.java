@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.property;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emfcloud.jackson.annotations.EcoreIdentityInfo;
+import org.eclipse.emfcloud.jackson.annotations.EcoreReferenceInfo;
+import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
+import org.eclipse.emfcloud.jackson.utils.NotifierCache;
+
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * Process wide store of property maps, shared by all builders created with the same configuration and
+ * used with the same Jackson type factory, so that the metadata of an EClass is computed once no matter
+ * how many mappers use it. Mappers share the default type factory unless they are given their own, the
+ * Java types of the properties are then those of their own factory.
+ * <p>
+ * Property maps held by the registry are never used directly for (de)serialization, builders use
+ * their own bound copy, see {@link EObjectPropertyMap#bind(com.fasterxml.jackson.databind.DatabindContext)}.
+ * </p>
+ */
+final class PropertyMapRegistry {
+
+   private static final Map<Key, WeakReference<PropertyMapRegistry>> REGISTRIES = new HashMap<>();
+
+   private final NotifierCache<EClass, EObjectPropertyMap> propertyMaps = new NotifierCache<>("propertyMaps");
+   private final TypeFactory typeFactory;
+
+   private PropertyMapRegistry(final TypeFactory typeFactory) {
+      this.typeFactory = typeFactory;
+   }
+
+   /**
+    * Returns the registry shared by all builders using the given configuration. The registry stays
+    * alive as long as one of these builders does.
+    *
+    * @param identityInfo  identity info of the builder
+    * @param typeInfo      type info of the builder
+    * @param referenceInfo reference info of the builder
+    * @param features      module features of the builder
+    * @param typeFactory   type factory of the context the builder is used with
+    * @return shared registry
+    */
+   static PropertyMapRegistry get(final EcoreIdentityInfo identityInfo, final EcoreTypeInfo typeInfo,
+      final EcoreReferenceInfo referenceInfo, final int features, final TypeFactory typeFactory) {
+      Key key = new Key(identityInfo, typeInfo, referenceInfo, features, typeFactory);
+
+      synchronized (REGISTRIES) {
+         WeakReference<PropertyMapRegistry> reference = REGISTRIES.get(key);
+         PropertyMapRegistry registry = reference == null ? null : reference.get();
+
+         if (registry == null) {
+            REGISTRIES.values().removeIf(value -> value.get() == null);
+
+            registry = new PropertyMapRegistry(typeFactory);
+            REGISTRIES.put(key, new WeakReference<>(registry));
+         }
+         return registry;
+      }
+   }
+
+   boolean isFor(final TypeFactory other) {
+      return typeFactory == other;
+   }
+
+   EObjectPropertyMap get(final EClass type) {
+      return propertyMaps.get(type);
+   }
+
+   EObjectPropertyMap putIfAbsent(final EClass type, final EObjectPropertyMap propertyMap) {
+      return propertyMaps.putIfAbsent(type, propertyMap);
+   }
+
+   /**
+    * Configuration that determines the content of a property map.
+    */
+   private static final class Key {
+
+      private final int features;
+      private final String typeProperty;
+      private final Object typeReader;
+      private final Object typeWriter;
+      private final String identityProperty;
+      private final Object identityReader;
+      private final Object identityWriter;
+      private final String referenceProperty;
+      // keys outlive their registry until they are purged, they must not keep the factory alive
+      private final WeakReference<TypeFactory> typeFactory;
+      private final int typeFactoryHash;
+
+      Key(final EcoreIdentityInfo identityInfo, final EcoreTypeInfo typeInfo,
+         final EcoreReferenceInfo referenceInfo, final int features, final TypeFactory typeFactory) {
+         this.features = features;
+         this.typeProperty = typeInfo.getProperty();
+         this.typeReader = typeInfo.getValueReader();
+         this.typeWriter = typeInfo.getValueWriter();
+         this.identityProperty = identityInfo.getProperty();
+         this.identityReader = identityInfo.getValueReader();
+         this.identityWriter = identityInfo.getValueWriter();
+         this.referenceProperty = referenceInfo.getProperty();
+         this.typeFactory = new WeakReference<>(typeFactory);
+         this.typeFactoryHash = System.identityHashCode(typeFactory);
+      }
+
+      @Override
+      @SuppressWarnings("checkstyle:cyclomaticComplexity")
+      public boolean equals(final Object o) {
+         if (this == o) {
+            return true;
+         }
+         if (o == null || getClass() != o.getClass()) {
+            return false;
+         }
+         Key key = (Key) o;
+         return features == key.features &&
+            typeReader == key.typeReader &&
+            typeWriter == key.typeWriter &&
+            identityReader == key.identityReader &&
+            identityWriter == key.identityWriter &&
+            typeFactoryHash == key.typeFactoryHash &&
+            typeFactory.get() == key.typeFactory.get() &&
+            Objects.equals(typeProperty, key.typeProperty) &&
+            Objects.equals(identityProperty, key.identityProperty) &&
+            Objects.equals(referenceProperty, key.referenceProperty);
+      }
+
+      @Override
+      public int hashCode() {
+         int result = features;
+         result = 31 * result + Objects.hashCode(typeProperty);
+         result = 31 * result + System.identityHashCode(typeReader);
+         result = 31 * result + System.identityHashCode(typeWriter);
+         result = 31 * result + Objects.hashCode(identityProperty);
+         result = 31 * result + System.identityHashCode(identityReader);
+         result = 31 * result + System.identityHashCode(identityWriter);
+         result = 31 * result + Objects.hashCode(referenceProperty);
+         result = 31 * result + typeFactoryHash;
+         return result;
+      }
+   }
+
+}
@@ -14,6 +14,7 @@ import static org.eclipse.emfcloud.jackson.databind.EMFContext.getParent;
 
 import java.io.IOException;
 
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emfcloud.jackson.databind.property.EObjectProperty;
 import org.eclipse.emfcloud.jackson.databind.property.EObjectPropertyMap;
@@ -38,6 +39,17 @@ public class EObjectSerializer extends JsonSerializer<EObject> {
       return EObject.class;
    }
 
+   /**
+    * Builds the property map of the given type and resolves the serializers of its properties,
+    * so that the first serialization of an object of this type does not have to.
+    *
+    * @param provider serializer provider of the mapper
+    * @param type     type to prepare
+    */
+   public void warmUp(final SerializerProvider provider, final EClass type) {
+      builder.construct(provider, type);
+   }
+
    @Override
    public void serialize(final EObject object, final JsonGenerator jg, final SerializerProvider provider)
       throws IOException {
@@ -22,20 +22,24 @@ import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.handlers.URIHandler;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.DatabindContext;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 public class EcoreReferenceSerializer extends JsonSerializer<EObject> {
 
-   private final EcoreReferenceInfo info;
-   private final EcoreTypeInfo typeInfo;
    private final URIHandler handler;
+   private final SerializableString typeProperty;
+   private final SerializableString referenceProperty;
+   private final TypeValueCache typeValues;
 
    public EcoreReferenceSerializer(final EcoreReferenceInfo info, final EcoreTypeInfo typeInfo) {
-      this.info = info;
-      this.typeInfo = typeInfo;
       this.handler = info.getHandler();
+      this.typeProperty = new SerializedString(typeInfo.getProperty());
+      this.referenceProperty = info.getProperty() == null ? null : new SerializedString(info.getProperty());
+      this.typeValues = TypeValueCache.of(typeInfo.getValueWriter());
    }
 
    @Override
@@ -44,13 +48,17 @@ public class EcoreReferenceSerializer extends JsonSerializer<EObject> {
       final EObject parent = EMFContext.getParent(serializers);
       final String href = getHRef(serializers, parent, value);
 
+      SerializableString type = typeValues.get(value.eClass(), serializers);
+
       jg.writeStartObject();
-      jg.writeStringField(typeInfo.getProperty(), typeInfo.getValueWriter().writeValue(value.eClass(), serializers));
-      if (href == null) {
-         jg.writeNullField(info.getProperty());
+      jg.writeFieldName(typeProperty);
+      if (type == null) {
+         jg.writeNull();
       } else {
-         jg.writeStringField(info.getProperty(), href);
+         jg.writeString(type);
       }
+      jg.writeFieldName(referenceProperty);
+      jg.writeString(href);
       jg.writeEndObject();
    }
 
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.ser;
+
+import java.util.Objects;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
+import org.eclipse.emfcloud.jackson.utils.ValueWriter;
+import org.eclipse.emfcloud.jackson.utils.WeakIdentityCache;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Type identifiers written by a type info writer, encoded once per class.
+ * <p>
+ * Only the values of the writers provided by {@link EcoreTypeInfo} are cached, since they only depend on
+ * the class, its name, the path of its packages and the URI of its resource. Values of other writers are
+ * computed on each call.
+ * </p>
+ */
+public final class TypeValueCache {
+
+   private static final TypeValueCache URIS = new TypeValueCache(EcoreTypeInfo.DEFAULT_VALUE_WRITER, true);
+   private static final TypeValueCache NAMES = new TypeValueCache(EcoreTypeInfo.WRITE_BY_NAME, true);
+   private static final TypeValueCache CLASS_NAMES = new TypeValueCache(EcoreTypeInfo.WRITE_BY_CLASS_NAME, true);
+
+   private final ValueWriter<EClass, String> writer;
+   private final WeakIdentityCache<EClass, TypeValue> values;
+
+   private TypeValueCache(final ValueWriter<EClass, String> writer, final boolean cached) {
+      this.writer = writer;
+      this.values = cached ? new WeakIdentityCache<>("typeValues") : null;
+   }
+
+   /**
+    * Returns the cache of the given writer, shared by all users of one of the writers provided by
+    * {@link EcoreTypeInfo}.
+    *
+    * @param writer type info writer
+    * @return cache
+    */
+   public static TypeValueCache of(final ValueWriter<EClass, String> writer) {
+      if (writer == URIS.writer) {
+         return URIS;
+      }
+      if (writer == NAMES.writer) {
+         return NAMES;
+      }
+      if (writer == CLASS_NAMES.writer) {
+         return CLASS_NAMES;
+      }
+      return new TypeValueCache(writer, false);
+   }
+
+   /**
+    * Returns the encoded type identifier of the given class.
+    *
+    * @param type     class
+    * @param provider current provider
+    * @return type identifier, or null if the writer returns none
+    */
+   public SerializableString get(final EClass type, final SerializerProvider provider) {
+      if (values != null) {
+         TypeValue cached = values.get(type);
+         if (cached != null && cached.isValid(type)) {
+            return cached.value;
+         }
+      }
+
+      String value = writer.writeValue(type, provider);
+      if (value == null) {
+         return null;
+      }
+
+      SerializedString serialized = new SerializedString(value);
+      if (values != null) {
+         values.put(type, new TypeValue(type, serialized));
+      }
+      return serialized;
+   }
+
+   /**
+    * Type identifier of a class, valid as long as the class and its packages are not renamed or moved, and the URI
+    * of its resource does not change.
+    */
+   private static final class TypeValue {
+
+      // values must not reference the class, that would prevent it from being collected
+      private final String name;
+      private final String instanceClassName;
+      // names of the packages of the class, from its own package to the root one
+      private final String[] packages;
+      private final URI uri;
+      private final SerializedString value;
+
+      TypeValue(final EClass type, final SerializedString value) {
+         this.name = type.getName();
+         this.instanceClassName = type.getInstanceClassName();
+         this.packages = packagesOf(type);
+         this.uri = uriOf(type);
+         this.value = value;
+      }
+
+      boolean isValid(final EClass type) {
+         return Objects.equals(name, type.getName()) &&
+            Objects.equals(instanceClassName, type.getInstanceClassName()) &&
+            hasPackages(type) &&
+            Objects.equals(uri, uriOf(type));
+      }
+
+      private boolean hasPackages(final EClass type) {
+         EPackage ePackage = type.getEPackage();
+         for (String packageName : packages) {
+            if (ePackage == null || !Objects.equals(packageName, ePackage.getName())) {
+               return false;
+            }
+            ePackage = ePackage.getESuperPackage();
+         }
+         return ePackage == null;
+      }
+
+      private static String[] packagesOf(final EClass type) {
+         int depth = 0;
+         for (EPackage ePackage = type.getEPackage(); ePackage != null; ePackage = ePackage.getESuperPackage()) {
+            depth++;
+         }
+
+         String[] names = new String[depth];
+         EPackage ePackage = type.getEPackage();
+         for (int i = 0; i < depth; i++) {
+            names[i] = ePackage.getName();
+            ePackage = ePackage.getESuperPackage();
+         }
+         return names;
+      }
+
+      private static URI uriOf(final EClass type) {
+         Resource resource = type.eResource();
+         return resource == null ? null : resource.getURI();
+      }
+   }
+
+}
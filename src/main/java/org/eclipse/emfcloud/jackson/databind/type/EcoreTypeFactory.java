@@ -16,10 +16,6 @@ import static org.eclipse.emf.ecore.EcorePackage.Literals.EJAVA_CLASS;
 import static org.eclipse.emf.ecore.EcorePackage.Literals.EJAVA_OBJECT;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
-import java.util.Objects;
-import java.util.WeakHashMap;
 
 import org.eclipse.emf.common.util.EMap;
 import org.eclipse.emf.ecore.EClass;
@@ -28,6 +24,7 @@ import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EGenericType;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emfcloud.jackson.utils.NotifierCache;
 
 import com.fasterxml.jackson.databind.DatabindContext;
 import com.fasterxml.jackson.databind.JavaType;
@@ -35,62 +32,55 @@ import com.fasterxml.jackson.databind.type.TypeFactory;
 
 public class EcoreTypeFactory {
 
-   private final Map<Pair<EClass, EStructuralFeature>, JavaType> cache = Collections.synchronizedMap(new WeakHashMap<>());
+   private final NotifierCache<EClass, Table> cache = new NotifierCache<>("featureTypes");
 
-   private static class Pair<A, B> {
-      private final A a;
-      private final B b;
+   /**
+    * Java types of the features of a class, indexed by feature ID.
+    */
+   private static final class Table {
 
-      Pair(final A a, final B b) {
-         this.a = a;
-         this.b = b;
+      private final EStructuralFeature[] features;
+      private final JavaType[] types;
+
+      Table(final EStructuralFeature[] features, final JavaType[] types) {
+         this.features = features;
+         this.types = types;
       }
+   }
 
-      @Override
-      public boolean equals(final Object o) {
-         if (this == o) {
-            return true;
-         }
-         if (o == null || getClass() != o.getClass()) {
-            return false;
-         }
-         Pair<?, ?> pair = (Pair<?, ?>) o;
-         return Objects.equals(a, pair.a) &&
-            Objects.equals(b, pair.b);
+   public JavaType typeOf(final DatabindContext ctxt, final EClass type, final EStructuralFeature feature) {
+      int featureID = type.getFeatureID(feature);
+      if (featureID < 0) {
+         return typeOf(ctxt.getTypeFactory(), type, feature);
       }
 
-      @Override
-      public int hashCode() {
-         return Objects.hash(a, b);
+      Table table = cache.get(type);
+      if (table == null) {
+         table = cache.putIfAbsent(type, createTable(ctxt.getTypeFactory(), type));
       }
 
-      public static <A, B> Pair<A, B> of(final A a, final B b) {
-         return new Pair<>(a, b);
+      // features of dynamic classes may have changed since the table was built
+      if (featureID < table.features.length && table.features[featureID] == feature) {
+         return table.types[featureID];
       }
+      return typeOf(ctxt.getTypeFactory(), type, feature);
    }
 
-   public JavaType typeOf(final DatabindContext ctxt, final EClass type, final EStructuralFeature feature) {
-      Pair<EClass, EStructuralFeature> pair = Pair.of(type, feature);
+   private Table createTable(final TypeFactory factory, final EClass type) {
+      EStructuralFeature[] features = type.getEAllStructuralFeatures().toArray(new EStructuralFeature[0]);
+      JavaType[] types = new JavaType[features.length];
 
-      if (cache.containsKey(pair)) {
-         return cache.get(pair);
+      for (int i = 0; i < features.length; i++) {
+         types[i] = typeOf(factory, type, features[i]);
       }
+      return new Table(features, types);
+   }
 
+   private JavaType typeOf(final TypeFactory factory, final EClass type, final EStructuralFeature feature) {
       EGenericType genericType = type.getFeatureType(feature);
       EClassifier realType = genericType.getERawType();
 
-      JavaType javaType;
-      if (realType != null) {
-         javaType = typeOf(ctxt.getTypeFactory(), FeatureKind.get(feature), realType);
-      } else {
-         javaType = null;
-      }
-
-      if (javaType != null) {
-         cache.put(pair, javaType);
-      }
-
-      return javaType;
+      return realType == null ? null : typeOf(factory, FeatureKind.get(feature), realType);
    }
 
    private JavaType typeOf(final TypeFactory factory, final FeatureKind kind, final EClassifier type) {
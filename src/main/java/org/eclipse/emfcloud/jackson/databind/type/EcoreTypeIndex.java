@@ -0,0 +1,623 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emfcloud.jackson.utils.EObjects;
+import org.eclipse.emfcloud.jackson.utils.WeakIdentityCache;
+
+/**
+ * Index of all classes available from a package registry, including the packages of the global
+ * registry, shared by all (de)serializations using that registry.
+ * <p>
+ * The index is brought up to date with its registry every time it is requested, but only scans the
+ * registry when it has changed: when the number of packages of the global or local registry changes,
+ * an entry of the local registry is replaced, or a dynamic package has new classifiers or sub packages.
+ * The classes of the index are collected again, in index order, when packages are added, resolved, removed,
+ * replaced or modified. Packages replaced in the global registry by others under the same
+ * namespace URI are seen once the number of global packages changes.
+ * </p>
+ * <p>
+ * An index holds the packages of its registry. The index of the registry of a resource set is held by the
+ * resource set, see {@link #get(ResourceSet)}, so that a registry reachable from its own packages, through
+ * the resources that contain them, is collected with the resource set. Resource sets whose registry has no
+ * packages of its own share the index of the global registry.
+ * </p>
+ * <p>
+ * Packages are indexed in the order of their namespace URIs, so that the first class with a name does not
+ * depend on the order in which packages were registered or resolved. Package descriptors are only resolved
+ * when needed: finding a class by URI only resolves the descriptor of its namespace URI, while finding a
+ * class by name, or listing all classes, resolves all of them. A name may be that of a class of any package,
+ * all of them must be known for the result and its collisions to be complete.
+ * </p>
+ * <p>
+ * Sub classes of a class are only searched in the package of that class and in the packages already resolved,
+ * the only ones that may depend on it, without resolving other descriptors: a package that is described but
+ * was never resolved has no instances, and a document naming one of its classes resolves it first.
+ * </p>
+ */
+public final class EcoreTypeIndex {
+
+   private static final WeakIdentityCache<EPackage.Registry, EcoreTypeIndex> INDEXES =
+      new WeakIdentityCache<>("typeIndexes");
+
+   private final Map<String, ResolvedURI> uris = new ConcurrentHashMap<>();
+
+   private volatile Content content = new Content(-1, -1, Collections.emptyMap(), Collections.emptyMap(),
+      Collections.emptyMap(), Collections.emptySet(), Collections.emptySet());
+
+   private EcoreTypeIndex() {}
+
+   /**
+    * Returns the index of the given registry, up to date with its packages and those of the global
+    * registry. The index is kept as long as the registry, use {@link #get(ResourceSet)} for the registry
+    * of a resource set.
+    *
+    * @param registry package registry, such as the global registry
+    * @return index
+    */
+   public static EcoreTypeIndex get(final EPackage.Registry registry) {
+      EcoreTypeIndex index = INDEXES.computeIfAbsent(registry, key -> new EcoreTypeIndex());
+      index.refresh(registry);
+      return index;
+   }
+
+   /**
+    * Returns the index of the package registry of the given resource set, up to date with its packages and
+    * those of the global registry. The index is held by an adapter of the resource set, and is replaced if
+    * the resource set gets another registry. Like loading resources, it must not be called concurrently for
+    * the same resource set.
+    *
+    * @param resourceSet resource set
+    * @return index
+    */
+   public static EcoreTypeIndex get(final ResourceSet resourceSet) {
+      EPackage.Registry registry = registryOf(resourceSet);
+      EcoreTypeIndex index = of(resourceSet, registry);
+      index.refresh(registry);
+      return index;
+   }
+
+   /*
+    * Returns the registry of the resource set, or the global registry if it has no packages of its own, so
+    * that resource sets created for each load share the index of the global registry.
+    */
+   private static EPackage.Registry registryOf(final ResourceSet resourceSet) {
+      EPackage.Registry registry = resourceSet.getPackageRegistry();
+      return registry.isEmpty() ? EPackage.Registry.INSTANCE : registry;
+   }
+
+   private static EcoreTypeIndex of(final ResourceSet resourceSet, final EPackage.Registry registry) {
+      if (registry == EPackage.Registry.INSTANCE) {
+         return INDEXES.computeIfAbsent(registry, key -> new EcoreTypeIndex());
+      }
+
+      Holder holder = (Holder) EcoreUtil.getExistingAdapter(resourceSet, Holder.class);
+      if (holder == null || holder.registry != registry) {
+         if (holder != null) {
+            resourceSet.eAdapters().remove(holder);
+         }
+         holder = new Holder(registry);
+         resourceSet.eAdapters().add(holder);
+      }
+      return holder.index;
+   }
+
+   /**
+    * Returns the class identified by the given URI from the package registry of the given resource set, see
+    * {@link #findByURI(EPackage.Registry, String)}.
+    *
+    * @param resourceSet resource set
+    * @param uri         URI of a class
+    * @return class, or null if the URI does not point to a class of a registered package
+    */
+   public static EClass findByURI(final ResourceSet resourceSet, final String uri) {
+      EPackage.Registry registry = registryOf(resourceSet);
+      return of(resourceSet, registry).resolveURI(registry, uri);
+   }
+
+   /**
+    * Returns the class identified by the given URI, made of the namespace URI of a registered
+    * package and of the fragment of the class in that package. Resolved URIs are shared by all users
+    * of the registry, unlike those of the index they do not require the other packages to be
+    * indexed.
+    *
+    * @param registry package registry, such as the global registry
+    * @param uri      URI of a class
+    * @return class, or null if the URI does not point to a class of a registered package
+    */
+   public static EClass findByURI(final EPackage.Registry registry, final String uri) {
+      return INDEXES.computeIfAbsent(registry, key -> new EcoreTypeIndex()).resolveURI(registry, uri);
+   }
+
+   private EClass resolveURI(final EPackage.Registry registry, final String uri) {
+      int separator = uri.indexOf('#');
+      if (separator <= 0) {
+         return null;
+      }
+
+      String nsURI = uri.substring(0, separator);
+      Object value = entry(registry, nsURI);
+      if (value == null) {
+         return null;
+      }
+
+      ResolvedURI resolved = uris.get(uri);
+      if (resolved != null && resolved.isValid(value)) {
+         return resolved.type;
+      }
+
+      EPackage ePackage = resolve(value);
+      Resource resource = ePackage == null ? null : ePackage.eResource();
+      EObject object = resource == null ? null : resource.getEObject(uri.substring(separator + 1));
+      if (!(object instanceof EClass)) {
+         return null;
+      }
+
+      // descriptors are replaced by their package once resolved
+      uris.put(uri, new ResolvedURI(entry(registry, nsURI), ePackage, (EClass) object));
+      return (EClass) object;
+   }
+
+   /**
+    * Returns all classes of the indexed packages and of their sub packages, resolving all package
+    * descriptors of the registry.
+    *
+    * @return classes
+    */
+   public Set<EClass> getTypes() { return resolveAll().types; }
+
+   /**
+    * Returns the concrete classes of the index that are the given class or one of its sub classes.
+    * Only the descriptor of the package of the given class is resolved, sub classes are those of the
+    * resolved packages. The inheritance index is computed once for each state of the registry.
+    *
+    * @param type any class
+    * @return concrete sub classes, in index order
+    */
+   public List<EClass> getSubTypes(final EClass type) {
+      return resolvePackageOf(type).getSubTypes().getOrDefault(type, Collections.emptyList());
+   }
+
+   /**
+    * Returns the first class of the index with the given name, resolving all package descriptors of
+    * the registry. See {@link #getNameCollisions()} for names shared by several classes.
+    *
+    * @param name name of a class
+    * @return class, or null if none
+    */
+   public EClass findByName(final String name) {
+      return name == null ? null : resolveAll().getNames().first.get(name);
+   }
+
+   /**
+    * Returns the first class of the index with the given instance class name, resolving all package
+    * descriptors of the registry.
+    *
+    * @param name qualified name of the instance class of a class
+    * @return class, or null if none
+    */
+   public EClass findByQualifiedName(final String name) {
+      return name == null ? null : resolveAll().getQualifiedNames().first.get(name);
+   }
+
+   /**
+    * Returns the names shared by several classes of the index, with these classes in index order.
+    * Finding a class by one of these names returns the first of them. All package descriptors of the
+    * registry are resolved.
+    *
+    * @return classes by ambiguous name
+    */
+   public Map<String, List<EClass>> getNameCollisions() { return resolveAll().getNames().collisions; }
+
+   /**
+    * Returns the instance class names shared by several classes of the index, with these classes in
+    * index order. All package descriptors of the registry are resolved.
+    *
+    * @return classes by ambiguous instance class name
+    */
+   public Map<String, List<EClass>> getQualifiedNameCollisions() {
+      return resolveAll().getQualifiedNames().collisions;
+   }
+
+   private void refresh(final EPackage.Registry registry) {
+      if (content.isUpToDate(registry)) {
+         return;
+      }
+
+      synchronized (this) {
+         Content current = content;
+         if (!current.isUpToDate(registry)) {
+            // sizes are read first, so that packages registered meanwhile are seen by the next refresh
+            int globalSize = EPackage.Registry.INSTANCE.size();
+            int localSize = registry.size();
+            content = current.update(globalSize, localSize, entries(registry));
+         }
+      }
+   }
+
+   private Content resolveAll() {
+      Content current = content;
+      if (!current.pending.isEmpty()) {
+         synchronized (this) {
+            current = content;
+            if (!current.pending.isEmpty()) {
+               Map<EPackage.Descriptor, EPackage> resolved = new LinkedHashMap<>();
+               current.pending.forEach(descriptor -> resolved.put(descriptor, descriptor.getEPackage()));
+
+               current = current.resolve(resolved);
+               content = current;
+            }
+         }
+      }
+      return current;
+   }
+
+   /*
+    * Resolves the descriptor registered for the root package of the given class, if any, so that the
+    * classes of its own package are known.
+    */
+   private Content resolvePackageOf(final EClass type) {
+      Content current = content;
+      EPackage ePackage = type.getEPackage();
+      while (ePackage != null && ePackage.getESuperPackage() != null) {
+         ePackage = ePackage.getESuperPackage();
+      }
+
+      String nsURI = ePackage == null ? null : ePackage.getNsURI();
+      Object value = nsURI == null ? null : current.values.get(nsURI);
+      if (value instanceof EPackage.Descriptor && current.pending.contains(value)) {
+         synchronized (this) {
+            current = content;
+            if (current.pending.contains(value)) {
+               EPackage.Descriptor descriptor = (EPackage.Descriptor) value;
+               current = current.resolve(Collections.singletonMap(descriptor, descriptor.getEPackage()));
+               content = current;
+            }
+         }
+      }
+      return current;
+   }
+
+   /*
+    * Entries of the global registry overridden by those of the given one, in namespace URI order.
+    */
+   private static Map<String, Object> entries(final EPackage.Registry registry) {
+      EPackage.Registry global = EPackage.Registry.INSTANCE;
+
+      Map<String, Object> entries = new TreeMap<>();
+      global.forEach((nsURI, value) -> putEntry(entries, nsURI, value));
+      if (registry != global) {
+         registry.forEach((nsURI, value) -> putEntry(entries, nsURI, value));
+      }
+      return entries;
+   }
+
+   private static void putEntry(final Map<String, Object> entries, final String nsURI, final Object value) {
+      // packages without namespace URI cannot be ordered, nor found by URI
+      if (nsURI != null) {
+         entries.put(nsURI, value);
+      }
+   }
+
+   private static Object entry(final EPackage.Registry registry, final String nsURI) {
+      Object value = registry.get(nsURI);
+      if (value == null && registry != EPackage.Registry.INSTANCE) {
+         value = EPackage.Registry.INSTANCE.get(nsURI);
+      }
+      return value;
+   }
+
+   private static EPackage resolve(final Object value) {
+      if (value instanceof EPackage.Descriptor) {
+         return ((EPackage.Descriptor) value).getEPackage();
+      } else if (value instanceof EPackage) {
+         return (EPackage) value;
+      } else {
+         return null;
+      }
+   }
+
+   /*
+    * Number of classifiers and sub packages of a package, used to detect changes in dynamic packages.
+    */
+   private static int sizeOf(final EPackage ePackage) {
+      int size = ePackage.getEClassifiers().size();
+      for (EPackage subPackage : ePackage.getESubpackages()) {
+         size += 1 + sizeOf(subPackage);
+      }
+      return size;
+   }
+
+   private static void collect(final EPackage ePackage, final Set<EClass> types) {
+      for (EClassifier classifier : ePackage.getEClassifiers()) {
+         if (classifier instanceof EClass) {
+            types.add((EClass) classifier);
+         }
+      }
+      for (EPackage subPackage : ePackage.getESubpackages()) {
+         collect(subPackage, types);
+      }
+   }
+
+   /**
+    * Immutable state of the index.
+    */
+   private static final class Content {
+
+      // number of entries of the global and local registries during the last update
+      private final int globalSize;
+      private final int localSize;
+      // registry entries as seen during the last update
+      private final Map<String, Object> values;
+      // packages resolved from the registry entries, with their size
+      private final Map<EPackage, Integer> packages;
+      // descriptors of the registry entries resolved by the index, and those not resolved yet
+      private final Map<EPackage.Descriptor, EPackage> resolved;
+      private final Set<EPackage.Descriptor> pending;
+      // classes of the resolved packages
+      private final Set<EClass> types;
+      // resolved packages that may be modified, unlike generated ones
+      private final List<EPackage> dynamic = new ArrayList<>();
+
+      private volatile Map<EClass, List<EClass>> subTypes;
+      private volatile Names names;
+      private volatile Names qualifiedNames;
+
+      @SuppressWarnings("checkstyle:parameterNumber")
+      Content(final int globalSize, final int localSize, final Map<String, Object> values,
+         final Map<EPackage, Integer> packages, final Map<EPackage.Descriptor, EPackage> resolved,
+         final Set<EPackage.Descriptor> pending, final Set<EClass> types) {
+         this.globalSize = globalSize;
+         this.localSize = localSize;
+         this.values = values;
+         this.packages = packages;
+         this.resolved = resolved;
+         this.pending = pending;
+         this.types = types;
+
+         for (EPackage ePackage : packages.keySet()) {
+            if (!EObjects.isGenerated(ePackage)) {
+               dynamic.add(ePackage);
+            }
+         }
+      }
+
+      Map<EClass, List<EClass>> getSubTypes() {
+         Map<EClass, List<EClass>> result = subTypes;
+         if (result == null) {
+            Map<EClass, List<EClass>> index = new HashMap<>();
+            for (EClass type : types) {
+               if (!type.isAbstract()) {
+                  index.computeIfAbsent(type, key -> new ArrayList<>()).add(type);
+                  for (EClass superType : type.getEAllSuperTypes()) {
+                     index.computeIfAbsent(superType, key -> new ArrayList<>()).add(type);
+                  }
+               }
+            }
+            index.replaceAll((key, value) -> Collections.unmodifiableList(value));
+
+            result = index;
+            subTypes = result;
+         }
+         return result;
+      }
+
+      Names getNames() {
+         Names result = names;
+         if (result == null) {
+            result = new Names(types, EClass::getName);
+            names = result;
+         }
+         return result;
+      }
+
+      Names getQualifiedNames() {
+         Names result = qualifiedNames;
+         if (result == null) {
+            result = new Names(types, EClass::getInstanceClassName);
+            qualifiedNames = result;
+         }
+         return result;
+      }
+
+      /*
+       * Checks the sizes of the registries, the entries of the local registry, usually a few, and the
+       * dynamic packages, without scanning the global registry.
+       */
+      boolean isUpToDate(final EPackage.Registry registry) {
+         EPackage.Registry global = EPackage.Registry.INSTANCE;
+         if (global.size() != globalSize || registry.size() != localSize) {
+            return false;
+         }
+         if (registry != global) {
+            for (Map.Entry<String, Object> entry : registry.entrySet()) {
+               Object value = entry.getValue();
+
+               // descriptors are replaced by their package once resolved
+               if (value != values.get(entry.getKey()) && !(value instanceof EPackage && packages.containsKey(value))) {
+                  return false;
+               }
+            }
+         }
+         for (EPackage ePackage : dynamic) {
+            if (packages.get(ePackage) != sizeOf(ePackage)) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      Content update(final int nextGlobalSize, final int nextLocalSize, final Map<String, Object> entries) {
+         boolean rebuild = !entries.keySet().containsAll(values.keySet());
+
+         Map<EPackage, Integer> nextPackages = new LinkedHashMap<>();
+         Map<EPackage.Descriptor, EPackage> nextResolved = new HashMap<>();
+         Set<EPackage.Descriptor> nextPending = new LinkedHashSet<>();
+         Set<EPackage> added = new LinkedHashSet<>();
+
+         for (Object value : entries.values()) {
+            EPackage ePackage = null;
+            if (value instanceof EPackage.Descriptor) {
+               EPackage.Descriptor descriptor = (EPackage.Descriptor) value;
+               ePackage = resolved.get(descriptor);
+               if (ePackage == null) {
+                  nextPending.add(descriptor);
+               } else {
+                  nextResolved.put(descriptor, ePackage);
+               }
+            } else if (value instanceof EPackage) {
+               ePackage = (EPackage) value;
+            }
+
+            if (ePackage != null) {
+               Integer size = packages.get(ePackage);
+               int current = sizeOf(ePackage);
+
+               if (size == null) {
+                  added.add(ePackage);
+               } else if (size.intValue() != current) {
+                  rebuild = true;
+               }
+               nextPackages.put(ePackage, current);
+            }
+         }
+
+         // packages no longer registered, or replaced by others under the same key
+         if (!rebuild && !nextPackages.keySet().containsAll(packages.keySet())) {
+            rebuild = true;
+         }
+
+         // classes are kept in the order of the entries, whatever the order packages were added in
+         Set<EClass> nextTypes = rebuild || !added.isEmpty() ? collectAll(nextPackages.keySet()) : types;
+
+         return new Content(nextGlobalSize, nextLocalSize, entries, nextPackages, nextResolved, nextPending,
+            nextTypes);
+      }
+
+      Content resolve(final Map<EPackage.Descriptor, EPackage> descriptors) {
+         Map<EPackage.Descriptor, EPackage> nextResolved = new HashMap<>(resolved);
+         Set<EPackage.Descriptor> nextPending = new LinkedHashSet<>(pending);
+
+         descriptors.forEach((descriptor, ePackage) -> {
+            nextPending.remove(descriptor);
+            if (ePackage != null) {
+               nextResolved.put(descriptor, ePackage);
+            }
+         });
+
+         // resolved packages take the place of their entry
+         Map<EPackage, Integer> nextPackages = new LinkedHashMap<>();
+         for (Object value : values.values()) {
+            EPackage ePackage = value instanceof EPackage.Descriptor ? nextResolved.get(value)
+               : value instanceof EPackage ? (EPackage) value : null;
+            if (ePackage != null && !nextPackages.containsKey(ePackage)) {
+               Integer size = packages.get(ePackage);
+               nextPackages.put(ePackage, size != null ? size : sizeOf(ePackage));
+            }
+         }
+
+         return new Content(globalSize, localSize, values, nextPackages, nextResolved, nextPending,
+            collectAll(nextPackages.keySet()));
+      }
+
+      private static Set<EClass> collectAll(final Set<EPackage> ePackages) {
+         Set<EClass> result = new LinkedHashSet<>();
+         ePackages.forEach(ePackage -> collect(ePackage, result));
+         return Collections.unmodifiableSet(result);
+      }
+   }
+
+   /**
+    * Classes of the index by name, the first class with a name in index order wins.
+    */
+   private static final class Names {
+
+      private final Map<String, EClass> first = new HashMap<>();
+      private final Map<String, List<EClass>> collisions;
+
+      Names(final Set<EClass> types, final Function<EClass, String> naming) {
+         Map<String, List<EClass>> shared = new LinkedHashMap<>();
+         for (EClass type : types) {
+            String name = naming.apply(type);
+            if (name != null) {
+               EClass previous = first.putIfAbsent(name, type);
+               if (previous != null) {
+                  shared.computeIfAbsent(name, key -> new ArrayList<>(Collections.singletonList(previous))).add(type);
+               }
+            }
+         }
+         shared.replaceAll((key, value) -> Collections.unmodifiableList(value));
+         this.collisions = Collections.unmodifiableMap(shared);
+      }
+   }
+
+   /**
+    * Class resolved from a URI, valid as long as the registry entry of its package and the content
+    * of that package do not change.
+    */
+   private static final class ResolvedURI {
+
+      private final Object value;
+      private final EPackage ePackage;
+      private final int size;
+      private final EClass type;
+
+      ResolvedURI(final Object value, final EPackage ePackage, final EClass type) {
+         this.value = value;
+         this.ePackage = ePackage;
+         this.size = sizeOf(ePackage);
+         this.type = type;
+      }
+
+      boolean isValid(final Object current) {
+         return current == value && size == sizeOf(ePackage) && type.eResource() == ePackage.eResource();
+      }
+   }
+
+   /**
+    * Adapter of a resource set holding the index of its package registry.
+    */
+   private static final class Holder extends AdapterImpl {
+
+      private final EPackage.Registry registry;
+      private final EcoreTypeIndex index = new EcoreTypeIndex();
+
+      Holder(final EPackage.Registry registry) {
+         this.registry = registry;
+      }
+
+      @Override
+      public boolean isAdapterForType(final Object type) {
+         return type == Holder.class;
+      }
+   }
+
+}
@@ -50,6 +50,9 @@ public enum FeatureKind {
    }
 
    private static boolean isMap(final EClassifier type) {
+      if (type == null) {
+         return false;
+      }
       return "java.util.Map$Entry".equals(type.getInstanceClassName()) ||
          "java.util.Map.Entry".equals(type.getInstanceClassName());
    }
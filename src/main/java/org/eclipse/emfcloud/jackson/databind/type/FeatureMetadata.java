@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.type;
+
+import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_USE_NAMES_FROM_EXTENDED_META_DATA;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.impl.EPackageImpl;
+import org.eclipse.emf.ecore.util.ExtendedMetaData;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emfcloud.jackson.annotations.JsonAnnotations;
+import org.eclipse.emfcloud.jackson.utils.EObjects;
+import org.eclipse.emfcloud.jackson.utils.NotifierCache;
+
+/**
+ * Metadata of a feature derived from its type and annotations, computed once per feature so that
+ * reading and writing objects does not look up annotations.
+ * <p>
+ * Metadata are stored in a table per class indexed by feature ID. Annotations added to a feature
+ * after its metadata have been computed are not taken into account.
+ * </p>
+ * <p>
+ * The metadata of generated packages can be computed at build time with the {@code PackageGenerator}
+ * tool of the emfjson-jackson-tools artifact, the generated {@link Provider} is found with a {@link ServiceLoader}
+ * and spares the annotation lookups when a class is first used. Classes whose features or annotations no longer
+ * match the provider, see {@link #hashAnnotations}, are computed as usual.
+ * </p>
+ */
+public final class FeatureMetadata {
+
+   public static final int FEATURE_MAP = 1;
+   public static final int FEATURE_MAP_ENTRY = 2;
+   public static final int RAW_VALUE = 4;
+   public static final int IGNORED = 8;
+
+   private static final NotifierCache<EClass, Table> TABLES = new NotifierCache<>("featureMetadata");
+   private static final NotifierCache<EPackage, Provider> PROVIDERS = new NotifierCache<>("metadataProviders");
+   private static final List<Provider> REGISTERED = new CopyOnWriteArrayList<>();
+
+   // sources of the annotations metadata are computed from
+   private static final String[] ANNOTATIONS = { "JsonProperty", "JsonAlias", "JsonRawValue", "JsonIgnore",
+      ExtendedMetaData.ANNOTATION_URI };
+
+   private static final Provider NONE = new Provider() {
+      @Override
+      public String getNsURI() { return null; }
+
+      @Override
+      public FeatureMetadata[] getFeatures(final String className) { return null; }
+
+      @Override
+      public int getAnnotationsHash(final String className) { return 0; }
+   };
+
+   /**
+    * Precomputed metadata of the features of the classes of a package, written by the
+    * {@code PackageGenerator} tool.
+    */
+   public interface Provider {
+
+      /**
+       * Returns the namespace URI of the package described by this provider.
+       *
+       * @return namespace URI
+       */
+      String getNsURI();
+
+      /**
+       * Returns the metadata of all the features of the given class, indexed by feature ID.
+       *
+       * @param className name of a class of the package
+       * @return metadata, or null if the class is unknown
+       */
+      FeatureMetadata[] getFeatures(String className);
+
+      /**
+       * Returns the hash of the features and annotations of the given class the metadata were computed from.
+       *
+       * @param className name of a class of the package
+       * @return hash, see {@link FeatureMetadata#hashAnnotations}
+       */
+      int getAnnotationsHash(String className);
+   }
+
+   private final String name;
+
+   private final FeatureKind kind;
+   private final boolean featureMap;
+   private final boolean featureMapEntry;
+   private final String groupName;
+   private final boolean rawValue;
+   private final boolean ignored;
+   private final List<String> aliases;
+   private final String elementName;
+   private final String extendedElementName;
+
+   private FeatureMetadata(final EStructuralFeature feature) {
+      this.name = feature.getName();
+      this.kind = FeatureKind.get(feature);
+      this.featureMap = FeatureMapUtil.isFeatureMap(feature);
+      this.featureMapEntry = EObjects.isFeatureMapEntry(feature);
+      this.groupName = featureMapEntry ? EObjects.getGroupNameForFeatureMapEntry(feature) : null;
+      this.rawValue = JsonAnnotations.isRawValue(feature);
+      this.ignored = JsonAnnotations.shouldIgnore(feature);
+      this.aliases = JsonAnnotations.getAliases(feature);
+      this.elementName = JsonAnnotations.getElementName(feature, 0);
+      this.extendedElementName = JsonAnnotations.getElementName(feature,
+         OPTION_USE_NAMES_FROM_EXTENDED_META_DATA.getMask());
+   }
+
+   private FeatureMetadata(final String name, final FeatureKind kind, final int flags, final String groupName,
+      final String elementName, final String extendedElementName, final List<String> aliases) {
+      this.name = name;
+      this.kind = kind;
+      this.featureMap = (flags & FEATURE_MAP) != 0;
+      this.featureMapEntry = (flags & FEATURE_MAP_ENTRY) != 0;
+      this.groupName = groupName;
+      this.rawValue = (flags & RAW_VALUE) != 0;
+      this.ignored = (flags & IGNORED) != 0;
+      this.aliases = aliases;
+      this.elementName = elementName;
+      this.extendedElementName = extendedElementName;
+   }
+
+   /**
+    * Creates precomputed metadata, used by the providers written by the {@code PackageGenerator} tool.
+    *
+    * @param name                name of the feature
+    * @param kind                kind of the feature
+    * @param flags               combination of {@link #FEATURE_MAP}, {@link #FEATURE_MAP_ENTRY},
+    *                               {@link #RAW_VALUE} and {@link #IGNORED}
+    * @param groupName           name of the feature map of a feature map entry, or null
+    * @param elementName         name of the property
+    * @param extendedElementName name of the property from the extended metadata
+    * @param aliases             aliases of the property
+    * @return metadata
+    */
+   public static FeatureMetadata create(final String name, final FeatureKind kind, final int flags,
+      final String groupName, final String elementName, final String extendedElementName,
+      final String... aliases) {
+      return new FeatureMetadata(name, kind, flags, groupName, elementName, extendedElementName,
+         aliases.length == 0 ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(aliases)));
+   }
+
+   /**
+    * Computes the metadata of the given feature from its annotations, without caching them.
+    *
+    * @param feature any feature
+    * @return metadata
+    */
+   public static FeatureMetadata compute(final EStructuralFeature feature) {
+      return new FeatureMetadata(feature);
+   }
+
+   /**
+    * Returns a hash of the names, kinds and annotations of the features of the given class, of the annotations
+    * their metadata are computed from. Precomputed metadata are only used if the class has the same hash as
+    * when they were computed.
+    *
+    * @param type any class
+    * @return hash
+    */
+   public static int hashAnnotations(final EClass type) {
+      int hash = 1;
+      for (EStructuralFeature feature : type.getEAllStructuralFeatures()) {
+         hash = 31 * hash + Objects.hashCode(feature.getName());
+         hash = 31 * hash + FeatureKind.get(feature).ordinal();
+
+         for (String source : ANNOTATIONS) {
+            EAnnotation annotation = feature.getEAnnotation(source);
+            hash = 31 * hash + (annotation == null ? 0 : 1);
+            if (annotation != null) {
+               for (Map.Entry<String, String> detail : annotation.getDetails()) {
+                  hash = 31 * hash + (Objects.hashCode(detail.getKey()) ^ Objects.hashCode(detail.getValue()));
+               }
+            }
+         }
+      }
+      return hash;
+   }
+
+   /**
+    * Registers a provider of precomputed metadata, for environments where providers cannot be found with a
+    * {@link ServiceLoader}. It only applies to classes first used after this call.
+    *
+    * @param provider provider of precomputed metadata
+    */
+   public static void register(final Provider provider) {
+      REGISTERED.add(0, provider);
+   }
+
+   /**
+    * Returns the metadata of the given feature.
+    *
+    * @param feature any feature
+    * @return metadata
+    */
+   public static FeatureMetadata of(final EStructuralFeature feature) {
+      EClass type = feature.getEContainingClass();
+      int featureID = type == null ? -1 : type.getFeatureID(feature);
+      if (featureID < 0) {
+         return new FeatureMetadata(feature);
+      }
+
+      Table table = TABLES.get(type);
+      if (table == null) {
+         table = TABLES.putIfAbsent(type, new Table(type));
+      }
+
+      // features of dynamic classes may have changed since the table was built
+      if (featureID < table.features.length && table.features[featureID] == feature) {
+         return table.metadata[featureID];
+      }
+      return new FeatureMetadata(feature);
+   }
+
+   public String getName() { return name; }
+
+   public FeatureKind getKind() { return kind; }
+
+   /**
+    * Returns the flags of this metadata, as taken by {@link #create}.
+    *
+    * @return flags
+    */
+   public int getFlags() {
+      return (featureMap ? FEATURE_MAP : 0) | (featureMapEntry ? FEATURE_MAP_ENTRY : 0)
+         | (rawValue ? RAW_VALUE : 0) | (ignored ? IGNORED : 0);
+   }
+
+   /**
+    * Returns true if the feature holds a feature map, see {@link FeatureMapUtil#isFeatureMap}.
+    *
+    * @return true if feature map
+    */
+   public boolean isFeatureMap() { return featureMap; }
+
+   /**
+    * Returns true if the feature values are stored as entries of a feature map, see
+    * {@link EObjects#isFeatureMapEntry}.
+    *
+    * @return true if feature map entry
+    */
+   public boolean isFeatureMapEntry() { return featureMapEntry; }
+
+   /**
+    * Returns the name of the feature map holding the values of a feature map entry feature, see
+    * {@link EObjects#getGroupNameForFeatureMapEntry}.
+    *
+    * @return group name, or null if the feature is not a feature map entry
+    */
+   public String getGroupName() { return groupName; }
+
+   public boolean isRawValue() { return rawValue; }
+
+   public boolean isIgnored() { return ignored; }
+
+   public List<String> getAliases() { return aliases; }
+
+   /**
+    * Returns the name of the property of the feature, see {@link JsonAnnotations#getElementName}.
+    *
+    * @param features the EMF module's feature flags
+    * @return name of property
+    */
+   public String getElementName(final int features) {
+      return OPTION_USE_NAMES_FROM_EXTENDED_META_DATA.enabledIn(features) ? extendedElementName : elementName;
+   }
+
+   /**
+    * Metadata of the features of a class, indexed by feature ID.
+    */
+   private static final class Table {
+
+      private final EStructuralFeature[] features;
+      private final FeatureMetadata[] metadata;
+
+      Table(final EClass type) {
+         this.features = type.getEAllStructuralFeatures().toArray(new EStructuralFeature[0]);
+
+         FeatureMetadata[] precomputed = precomputed(type, features);
+         if (precomputed != null) {
+            this.metadata = precomputed;
+         } else {
+            this.metadata = new FeatureMetadata[features.length];
+            for (int i = 0; i < features.length; i++) {
+               metadata[i] = new FeatureMetadata(features[i]);
+            }
+         }
+      }
+   }
+
+   /*
+    * Returns the metadata of the features of the class from the provider of its package, or null if there
+    * is none or if it does not match the features and their annotations.
+    */
+   private static FeatureMetadata[] precomputed(final EClass type, final EStructuralFeature[] features) {
+      EPackage ePackage = type.getEPackage();
+      if (ePackage == null || ePackage.getNsURI() == null) {
+         return null;
+      }
+
+      Provider current = null;
+      for (Provider provider : REGISTERED) {
+         if (ePackage.getNsURI().equals(provider.getNsURI())) {
+            current = provider;
+            break;
+         }
+      }
+      FeatureMetadata[] metadata = current == null ? null : current.getFeatures(type.getName());
+      if (metadata == null) {
+         current = getProvider(ePackage);
+         metadata = current.getFeatures(type.getName());
+      }
+
+      if (metadata == null || metadata.length != features.length
+         || current.getAnnotationsHash(type.getName()) != hashAnnotations(type)) {
+         return null;
+      }
+      for (int i = 0; i < features.length; i++) {
+         if (metadata[i] == null || !metadata[i].name.equals(features[i].getName())) {
+            return null;
+         }
+      }
+      return metadata;
+   }
+
+   private static Provider getProvider(final EPackage ePackage) {
+      Provider provider = PROVIDERS.get(ePackage);
+      if (provider == null) {
+         provider = PROVIDERS.putIfAbsent(ePackage, findProvider(ePackage));
+      }
+      return provider;
+   }
+
+   /*
+    * Providers are packaged with the generated package they describe, dynamic packages have none.
+    */
+   private static Provider findProvider(final EPackage ePackage) {
+      if (ePackage.getClass() == EPackageImpl.class) {
+         return NONE;
+      }
+
+      try {
+         for (Provider provider : ServiceLoader.load(Provider.class, ePackage.getClass().getClassLoader())) {
+            if (ePackage.getNsURI().equals(provider.getNsURI())) {
+               return provider;
+            }
+         }
+      } catch (ServiceConfigurationError e) {
+         // metadata are computed from the annotations instead
+      }
+      return NONE;
+   }
+
+}
@@ -11,20 +11,31 @@
 package org.eclipse.emfcloud.jackson.module;
 
 import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Set;
 import java.util.TimeZone;
 
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.util.FeatureMap;
 import org.eclipse.emfcloud.jackson.annotations.EcoreIdentityInfo;
 import org.eclipse.emfcloud.jackson.annotations.EcoreReferenceInfo;
 import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
 import org.eclipse.emfcloud.jackson.databind.FeatureMapEntryConfig;
 import org.eclipse.emfcloud.jackson.databind.deser.EMFDeserializers;
+import org.eclipse.emfcloud.jackson.databind.deser.EObjectDeserializer;
 import org.eclipse.emfcloud.jackson.databind.deser.EcoreReferenceDeserializer;
 import org.eclipse.emfcloud.jackson.databind.deser.FeatureMapEntryDeserializer;
 import org.eclipse.emfcloud.jackson.databind.deser.ReferenceEntry;
 import org.eclipse.emfcloud.jackson.databind.ser.EMFSerializers;
+import org.eclipse.emfcloud.jackson.databind.ser.EObjectSerializer;
 import org.eclipse.emfcloud.jackson.databind.ser.EcoreReferenceSerializer;
 import org.eclipse.emfcloud.jackson.databind.ser.FeatureMapEntrySerializer;
 import org.eclipse.emfcloud.jackson.databind.ser.NullKeySerializer;
@@ -33,10 +44,14 @@ import org.eclipse.emfcloud.jackson.handlers.URIHandler;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
 /**
@@ -133,7 +148,15 @@ public class EMFModule extends SimpleModule {
        * By default, we would use the feature name directly as key, for a lighter json-style approach.
        * </p>
        */
-      OPTION_USE_FEATURE_MAP_KEY_AND_VALUE_PROPERTIES(false);
+      OPTION_USE_FEATURE_MAP_KEY_AND_VALUE_PROPERTIES(false),
+
+      /**
+       * Option used to indicate the module to set single valued attributes of generated classes through
+       * their generated setters, with values read directly from the parser instead of going through
+       * {@link org.eclipse.emf.ecore.EObject#eSet}. It only applies to attributes of type String, int,
+       * long, double, float and boolean whose values are read by the default Jackson deserializers.
+       */
+      OPTION_USE_GENERATED_SETTERS(false);
 
       private final boolean defaultState;
       private final int mask;
@@ -198,6 +221,76 @@ public class EMFModule extends SimpleModule {
       return mapper;
    }
 
+   /**
+    * Prepares a mapper for all concrete classes of the given packages and of their sub packages.
+    * <p>
+    * Property maps, Java types of features, annotations, the serializers and deserializers of
+    * properties, the index of the classes of the global package registry and the type property names
+    * of the sub types of each class are otherwise computed when an object of a class is first read or
+    * written, which makes the first requests handled by a new mapper much slower than the following
+    * ones. The index and type names are shared by the resource sets whose package registry has no
+    * packages of its own.
+    * </p>
+    *
+    * @param mapper   mapper configured with the EMF module
+    * @param packages packages to prepare
+    * @return report of the warm-up
+    * @throws JsonMappingException if a serializer or deserializer cannot be resolved
+    */
+   public static WarmUpReport warmUp(final ObjectMapper mapper, final EPackage... packages)
+      throws JsonMappingException {
+      final long start = System.nanoTime();
+
+      SerializerProvider provider = mapper.getSerializerProviderInstance();
+      DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+         .createInstance(mapper.getDeserializationConfig(), null, mapper.getInjectableValues());
+
+      JsonSerializer<Object> serializer = provider.findValueSerializer(EObject.class);
+      JsonDeserializer<Object> deserializer = ctxt.findRootValueDeserializer(ctxt.constructType(EObject.class));
+
+      Set<EPackage> visited = new HashSet<>();
+      Deque<EPackage> pending = new ArrayDeque<>(Arrays.asList(packages));
+      int classes = 0;
+
+      while (!pending.isEmpty()) {
+         EPackage ePackage = pending.poll();
+         if (!visited.add(ePackage)) {
+            continue;
+         }
+         pending.addAll(ePackage.getESubpackages());
+
+         for (EClassifier classifier : ePackage.getEClassifiers()) {
+            if (classifier instanceof EClass) {
+               EClass type = (EClass) classifier;
+               if (!type.isAbstract() && !type.isInterface()) {
+                  warmUp(provider, serializer, ctxt, type);
+                  classes++;
+               }
+               // abstract classes are the declared types of references, whose sub types are looked up
+               if (deserializer instanceof EObjectDeserializer) {
+                  ((EObjectDeserializer) deserializer).warmUp(ctxt, type);
+               }
+            }
+         }
+      }
+
+      return new WarmUpReport(visited.size(), classes, Duration.ofNanos(System.nanoTime() - start));
+   }
+
+   private static void warmUp(final SerializerProvider provider, final JsonSerializer<Object> serializer,
+      final DeserializationContext ctxt, final EClass type) throws JsonMappingException {
+      Class<?> instanceClass = type.getInstanceClass();
+      if (instanceClass != null) {
+         // fills the serializer and deserializer caches of the mapper for generated classes
+         provider.findValueSerializer(instanceClass);
+         ctxt.findRootValueDeserializer(ctxt.constructType(instanceClass));
+      }
+
+      if (serializer instanceof EObjectSerializer) {
+         ((EObjectSerializer) serializer).warmUp(provider, type);
+      }
+   }
+
    protected int moduleFeatures = DEFAULT_FEATURES;
 
    private URIHandler handler;
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.module;
+
+import java.time.Duration;
+
+/**
+ * Summary of a call to {@link EMFModule#warmUp}.
+ */
+public final class WarmUpReport {
+
+   private final int packages;
+   private final int classes;
+   private final Duration duration;
+
+   WarmUpReport(final int packages, final int classes, final Duration duration) {
+      this.packages = packages;
+      this.classes = classes;
+      this.duration = duration;
+   }
+
+   /**
+    * Returns the number of packages visited, including sub packages.
+    *
+    * @return number of packages
+    */
+   public int getPackages() { return packages; }
+
+   /**
+    * Returns the number of concrete classes prepared for serialization and deserialization.
+    *
+    * @return number of classes
+    */
+   public int getClasses() { return classes; }
+
+   /**
+    * Returns the time spent preparing the classes.
+    *
+    * @return duration of the warm-up
+    */
+   public Duration getDuration() { return duration; }
+
+   @Override
+   public String toString() {
+      return String.format("Warmed up %d classes from %d packages in %d ms", classes, packages,
+         duration.toMillis());
+   }
+}
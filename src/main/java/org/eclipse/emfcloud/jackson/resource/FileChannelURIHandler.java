@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.FileURIHandlerImpl;
+
+/**
+ * Reads and writes {@code file:} URIs through a {@link FileChannel} rather than file streams.
+ * <p>
+ * Files of at least {@link #getMapThreshold() the map threshold} are memory-mapped, so that the parser copies
+ * their content from the page cache without a system call per read. Smaller files are read from the channel
+ * straight into the buffer of the parser. Writes are gathered in large direct buffers before they are written
+ * to the channel. Buffers are reused across saves, up to {@link #getMaxPooledBuffers() a number of them}, those
+ * of concurrent saves beyond it are left to the garbage collector.
+ * </p>
+ * <p>
+ * It is installed in front of the default handlers of a resource set, and is used by resources of all formats:
+ * </p>
+ *
+ * <pre>
+ * resourceSet.getURIConverter().getURIHandlers().add(0, new FileChannelURIHandler());
+ * </pre>
+ * <p>
+ * Mapped files are unmapped once their buffer is garbage collected, until then some platforms do not let them
+ * be deleted or replaced.
+ * </p>
+ */
+public class FileChannelURIHandler extends FileURIHandlerImpl {
+
+   public static final long DEFAULT_MAP_THRESHOLD = 1L << 20;
+   public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+   public static final int DEFAULT_MAX_POOLED_BUFFERS = 4;
+
+   // largest region of a file mapped at once
+   private static final long MAX_REGION = 1L << 30;
+
+   private final long mapThreshold;
+   private final int bufferSize;
+   private final int maxPooledBuffers;
+   private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger pooledBuffers = new AtomicInteger();
+
+   public FileChannelURIHandler() {
+      this(DEFAULT_MAP_THRESHOLD, DEFAULT_BUFFER_SIZE);
+   }
+
+   /**
+    * Creates a handler with the given sizes.
+    *
+    * @param mapThreshold size from which files are memory-mapped, or {@link Long#MAX_VALUE} to never map them
+    * @param bufferSize   size of the direct buffers of writes
+    */
+   public FileChannelURIHandler(final long mapThreshold, final int bufferSize) {
+      this(mapThreshold, bufferSize, DEFAULT_MAX_POOLED_BUFFERS);
+   }
+
+   /**
+    * Creates a handler with the given sizes.
+    *
+    * @param mapThreshold     size from which files are memory-mapped, or {@link Long#MAX_VALUE} to never map them
+    * @param bufferSize       size of the direct buffers of writes
+    * @param maxPooledBuffers number of direct buffers kept for reuse once their save is done
+    */
+   public FileChannelURIHandler(final long mapThreshold, final int bufferSize, final int maxPooledBuffers) {
+      if (bufferSize <= 0) {
+         throw new IllegalArgumentException("Invalid buffer size " + bufferSize);
+      }
+      if (maxPooledBuffers < 0) {
+         throw new IllegalArgumentException("Invalid number of pooled buffers " + maxPooledBuffers);
+      }
+      this.mapThreshold = mapThreshold;
+      this.bufferSize = bufferSize;
+      this.maxPooledBuffers = maxPooledBuffers;
+   }
+
+   public long getMapThreshold() { return mapThreshold; }
+
+   public int getBufferSize() { return bufferSize; }
+
+   public int getMaxPooledBuffers() { return maxPooledBuffers; }
+
+   /**
+    * Returns the number of direct buffers currently kept for reuse, at most {@link #getMaxPooledBuffers()}.
+    *
+    * @return number of pooled buffers
+    */
+   public int getPooledBuffers() { return pooledBuffers.get(); }
+
+   @Override
+   @SuppressWarnings("checkstyle:illegalCatch")
+   public InputStream createInputStream(final URI uri, final Map<?, ?> options) throws IOException {
+      Path path = Paths.get(uri.toFileString());
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+      InputStream inputStream;
+      try {
+         inputStream = channel.size() >= mapThreshold
+            ? new MappedInputStream(channel)
+            : new ChannelInputStream(channel);
+      } catch (IOException | RuntimeException e) {
+         channel.close();
+         throw e;
+      }
+
+      Map<Object, Object> response = getResponse(options);
+      if (response != null) {
+         response.put(URIConverter.RESPONSE_TIME_STAMP_PROPERTY, Files.getLastModifiedTime(path).toMillis());
+      }
+      return inputStream;
+   }
+
+   @Override
+   public OutputStream createOutputStream(final URI uri, final Map<?, ?> options) throws IOException {
+      Path path = Paths.get(uri.toFileString()).toAbsolutePath();
+      if (path.getParent() != null) {
+         Files.createDirectories(path.getParent());
+      }
+
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+         StandardOpenOption.TRUNCATE_EXISTING);
+      return new ChannelOutputStream(channel, path, getResponse(options));
+   }
+
+   private ByteBuffer takeBuffer() {
+      ByteBuffer buffer = buffers.poll();
+      if (buffer == null) {
+         return ByteBuffer.allocateDirect(bufferSize);
+      }
+      pooledBuffers.decrementAndGet();
+      return buffer;
+   }
+
+   private void releaseBuffer(final ByteBuffer buffer) {
+      // buffers beyond the cap are dropped, and freed with their cleaner once unreachable
+      int pooled;
+      do {
+         pooled = pooledBuffers.get();
+         if (pooled >= maxPooledBuffers) {
+            return;
+         }
+      } while (!pooledBuffers.compareAndSet(pooled, pooled + 1));
+
+      buffer.clear();
+      buffers.offer(buffer);
+   }
+
+   /*
+    * Reads from the channel into the array given by the caller, with no intermediate buffer.
+    */
+   private static final class ChannelInputStream extends InputStream {
+
+      private final FileChannel channel;
+
+      ChannelInputStream(final FileChannel channel) {
+         this.channel = channel;
+      }
+
+      @Override
+      public int read() throws IOException {
+         byte[] b = new byte[1];
+         return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) throws IOException {
+         if (len == 0) {
+            return 0;
+         }
+         return channel.read(ByteBuffer.wrap(b, off, len));
+      }
+
+      @Override
+      public int available() throws IOException {
+         return (int) Math.min(Integer.MAX_VALUE, channel.size() - channel.position());
+      }
+
+      @Override
+      public void close() throws IOException {
+         channel.close();
+      }
+   }
+
+   /*
+    * Reads from successive mapped regions of the file.
+    */
+   private static final class MappedInputStream extends InputStream {
+
+      private final FileChannel channel;
+      private final long size;
+      private long position;
+      private MappedByteBuffer region;
+
+      MappedInputStream(final FileChannel channel) throws IOException {
+         this.channel = channel;
+         this.size = channel.size();
+         this.region = map();
+      }
+
+      private MappedByteBuffer map() throws IOException {
+         long length = Math.min(MAX_REGION, size - position);
+         MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+         position += length;
+         return mapped;
+      }
+
+      private boolean hasRemaining() throws IOException {
+         if (!region.hasRemaining() && position < size) {
+            region = map();
+         }
+         return region.hasRemaining();
+      }
+
+      @Override
+      public int read() throws IOException {
+         return hasRemaining() ? region.get() & 0xFF : -1;
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) throws IOException {
+         if (len == 0) {
+            return 0;
+         }
+         if (!hasRemaining()) {
+            return -1;
+         }
+         int read = Math.min(len, region.remaining());
+         region.get(b, off, read);
+         return read;
+      }
+
+      @Override
+      public int available() {
+         return (int) Math.min(Integer.MAX_VALUE, region.remaining() + size - position);
+      }
+
+      @Override
+      public void close() throws IOException {
+         channel.close();
+      }
+   }
+
+   /*
+    * Gathers writes in a direct buffer, written to the channel when full and on close.
+    */
+   private final class ChannelOutputStream extends OutputStream {
+
+      private final FileChannel channel;
+      private final Path path;
+      private final Map<Object, Object> response;
+      private ByteBuffer buffer;
+
+      ChannelOutputStream(final FileChannel channel, final Path path, final Map<Object, Object> response) {
+         this.channel = channel;
+         this.path = path;
+         this.response = response;
+         this.buffer = takeBuffer();
+      }
+
+      private ByteBuffer buffer() throws IOException {
+         if (buffer == null) {
+            throw new IOException("Stream closed");
+         }
+         return buffer;
+      }
+
+      @Override
+      public void write(final int b) throws IOException {
+         if (!buffer().hasRemaining()) {
+            drain();
+         }
+         buffer.put((byte) b);
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) throws IOException {
+         int offset = off;
+         int remaining = len;
+         while (remaining > 0) {
+            if (!buffer().hasRemaining()) {
+               drain();
+            }
+            int length = Math.min(remaining, buffer.remaining());
+            buffer.put(b, offset, length);
+            offset += length;
+            remaining -= length;
+         }
+      }
+
+      private void drain() throws IOException {
+         buffer.flip();
+         while (buffer.hasRemaining()) {
+            channel.write(buffer);
+         }
+         buffer.clear();
+      }
+
+      @Override
+      public void flush() throws IOException {
+         if (buffer().position() > 0) {
+            drain();
+         }
+      }
+
+      @Override
+      public void close() throws IOException {
+         if (buffer == null) {
+            return;
+         }
+         // a failure to close the channel is suppressed by a failure to write
+         try (FileChannel written = channel) {
+            flush();
+         } finally {
+            releaseBuffer(buffer);
+            buffer = null;
+         }
+
+         // only once the file is written and closed
+         if (response != null) {
+            response.put(URIConverter.RESPONSE_TIME_STAMP_PROPERTY, Files.getLastModifiedTime(path).toMillis());
+         }
+      }
+   }
+
+}
@@ -17,14 +17,20 @@ import static org.eclipse.emfcloud.jackson.databind.EMFContext.Attributes.RESOUR
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.WeakHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.util.SegmentSequence;
 import org.eclipse.emf.common.util.SegmentSequence.Builder;
 import org.eclipse.emf.common.util.URI;
@@ -40,13 +46,19 @@ import org.eclipse.emf.ecore.util.FeatureMap;
 import org.eclipse.emf.ecore.util.FeatureMap.Entry;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.databind.FeatureMapEntryConfig;
+import org.eclipse.emfcloud.jackson.databind.deser.ResourceDeserializer;
 import org.eclipse.emfcloud.jackson.databind.ser.FeatureMapEntrySerializer;
-import org.eclipse.emfcloud.jackson.utils.EObjects;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadata;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
 
 /**
  * A Resource implementation that read and write it's content in JSON.
@@ -59,6 +71,8 @@ public class JsonResource extends ResourceImpl {
    private ObjectMapper mapper;
    private Map<String, EObject> idToEObjectMap;
    private Map<EObject, String> eObjectToIDMap;
+   // index in the document of the first root of the contents, while its roots are streamed
+   private int rootOffset;
 
    public JsonResource(final URI uri, final ObjectMapper mapper) {
       super(uri);
@@ -148,7 +162,7 @@ public class JsonResource extends ResourceImpl {
       boolean skipFeatureMapEntryFragment = true;
       for (int i = 1; i < size && eObject != null; ++i) {
          // we must check the particular case for Feature Map Entries which are stored differently in json.
-         if (EObjects.isFeatureMapEntry(eObject.eContainingFeature())) {
+         if (isFeatureMapEntry(eObject.eContainingFeature())) {
             /*
              * First time, the segment indicates FeatureMapEntrySerializer.VALUE_PROPERTY or the feature.
              * In either case, we already have the targeted value and do not need to look for another one.
@@ -172,6 +186,31 @@ public class JsonResource extends ResourceImpl {
       return eObject;
    }
 
+   @Override
+   protected EObject getEObjectForURIFragmentRootSegment(final String uriFragmentRootSegment) {
+      if (rootOffset == 0 || !uriFragmentRootSegment.isEmpty() && uriFragmentRootSegment.charAt(0) == '?') {
+         return super.getEObjectForURIFragmentRootSegment(uriFragmentRootSegment);
+      }
+
+      int position;
+      try {
+         position = uriFragmentRootSegment.isEmpty() ? 0 : Integer.parseInt(uriFragmentRootSegment);
+      } catch (NumberFormatException e) {
+         return null;
+      }
+      position -= rootOffset;
+      return position >= 0 && position < getContents().size() ? getContents().get(position) : null;
+   }
+
+   /**
+    * Sets the index in the document of the first root of the contents, when the roots of a document are read
+    * one at a time, so that fragments addressing roots by their index in the document resolve against the roots
+    * currently held, see {@link #stream(InputStream, Map)}.
+    *
+    * @param offset index of the first root of the contents
+    */
+   public void setRootOffset(final int offset) { this.rootOffset = offset; }
+
    /**
     * Builds the URI fragment by building a path.
     *
@@ -185,8 +224,8 @@ public class JsonResource extends ResourceImpl {
       InternalEObject container = eObject.eInternalContainer();
       if (container != null) {
          // add fragment for element from container
-         if (EObjects.isFeatureMapEntry(eObject.eContainingFeature())) {
-            String generalFeatureName = EObjects.getGroupNameForFeatureMapEntry(eObject.eContainingFeature());
+         if (isFeatureMapEntry(eObject.eContainingFeature())) {
+            String generalFeatureName = FeatureMetadata.of(eObject.eContainingFeature()).getGroupName();
             EStructuralFeature generalFeature = eObject.eContainer().eClass().getEStructuralFeature(generalFeatureName);
             // find index of the entry containing the value
             int index = findEntryIndex(eObject, generalFeature);
@@ -230,6 +269,10 @@ public class JsonResource extends ResourceImpl {
       return false;
    }
 
+   private static boolean isFeatureMapEntry(final EStructuralFeature feature) {
+      return feature != null && FeatureMetadata.of(feature).isFeatureMapEntry();
+   }
+
    /**
     * Test whether we should use key and value dedicated properties for feature map entries.
     *
@@ -370,13 +413,137 @@ public class JsonResource extends ResourceImpl {
             .withPerCallAttribute(RESOURCE_SET, getResourceSet())
             .withPerCallAttribute(RESOURCE, this);
 
-         mapper.reader()
-            .with(attributes)
-            .forType(Resource.class)
-            .withValueToUpdate(this)
-            .readValue(inputStream);
+         try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            // an empty document leaves the resource empty, as does one without roots
+            if (parser.nextToken() != null) {
+               mapper.reader()
+                  .with(attributes)
+                  .forType(Resource.class)
+                  .withValueToUpdate(this)
+                  .readValue(parser);
+            }
+         }
+
+      }
+   }
+
+   /**
+    * Reads the roots of a document one at a time, rather than all at once into the contents of this resource.
+    * <p>
+    * Each root is held by this resource while it is the current element of the stream, with its references
+    * resolved, and is removed from it when the next one is read. References to other roots of the document are
+    * not resolved, unless they can be created as proxies. The resource must be empty and not loaded yet, it is
+    * loaded while the stream is open and left empty once it is closed. The stream is sequential and must be
+    * closed to release the input.
+    * </p>
+    *
+    * @param inputStream document to read
+    * @param options     load options
+    * @return stream of the roots of the document
+    * @throws IOException if the start of the document cannot be read
+    */
+   @SuppressWarnings("checkstyle:illegalCatch")
+   public Stream<EObject> stream(final InputStream inputStream, final Map<?, ?> options) throws IOException {
+      if (isLoaded() || !getContents().isEmpty()) {
+         throw new IllegalStateException("Cannot stream into a resource that is loaded or has contents");
+      }
+
+      JsonParser parser = mapper.getFactory().createParser(inputStream);
+      Iterator<EObject> roots;
+      try {
+         DeserializationContext ctxt = createContext(parser, options);
+         roots = findResourceDeserializer(ctxt).iterator(parser, ctxt, this);
+      } catch (IOException | RuntimeException e) {
+         parser.close();
+         throw e;
+      }
+      Notification notification = startLoading();
+
+      return StreamSupport
+         .stream(Spliterators.spliteratorUnknownSize(roots, Spliterator.ORDERED | Spliterator.NONNULL), false)
+         .onClose(() -> {
+            try {
+               parser.close();
+            } catch (IOException e) {
+               throw new UncheckedIOException(e);
+            } finally {
+               getContents().clear();
+               rootOffset = 0;
+               endLoading(notification);
+            }
+         });
+   }
+
+   /**
+    * Returns a feeder that loads a document into this resource as its content is given, without blocking on an
+    * input stream. Roots are read as soon as their last byte is fed, and their references are resolved once the
+    * whole document has been fed. As with {@link #load(Map)}, a resource that is already loaded is left as is,
+    * the result of the feeder is then complete and the document ignored.
+    * <p>
+    * The tokens of each root are buffered in memory until the root is complete, and only then read. A document
+    * made of a single root object is thus buffered whole before any of it is read, only the roots of a document
+    * that is an array are read while the rest of it arrives.
+    * </p>
+    *
+    * @param options load options
+    * @return feeder of the document
+    * @throws IOException if the parser cannot be created
+    */
+   public JsonResourceFeeder loadAsync(final Map<?, ?> options) throws IOException {
+      return new JsonResourceFeeder(this, mapper.getFactory().createNonBlockingByteArrayParser(), options);
+   }
+
+   /*
+    * Returns a context to read with the given parser and load options, as the reader used by doLoad would.
+    */
+   DeserializationContext createContext(final JsonParser parser, final Map<?, ?> options) {
+      ContextAttributes attributes = EMFContext
+         .from(options)
+         .withPerCallAttribute(RESOURCE_SET, getResourceSet())
+         .withPerCallAttribute(RESOURCE, this);
+
+      DeserializationConfig config = mapper.getDeserializationConfig().with(attributes);
+      config.initialize(parser);
+      if (parser.getCodec() == null) {
+         parser.setCodec(mapper);
+      }
+
+      DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+         .createInstance(config, parser, mapper.getInjectableValues());
+      EMFContext.init(this, ctxt);
+      return ctxt;
+   }
+
+   ResourceDeserializer findResourceDeserializer(final DeserializationContext ctxt) throws IOException {
+      JsonDeserializer<Object> deserializer = ctxt.findRootValueDeserializer(ctxt.constructType(Resource.class));
+      if (!(deserializer instanceof ResourceDeserializer)) {
+         throw new IllegalStateException("Cannot read resources root by root with " + deserializer);
+      }
+      return (ResourceDeserializer) deserializer;
+   }
+
+   /*
+    * Marks this resource as loading outside of load, and clears its diagnostics as load does. The notification
+    * of its loaded state is to be given back to endLoading.
+    */
+   Notification startLoading() {
+      Notification notification = setLoaded(true);
+      isLoading = true;
+      if (errors != null) {
+         errors.clear();
+      }
+      if (warnings != null) {
+         warnings.clear();
+      }
+      return notification;
+   }
 
+   void endLoading(final Notification notification) {
+      isLoading = false;
+      if (notification != null) {
+         eNotify(notification);
       }
+      setModified(false);
    }
 
    @Override
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.resource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.jackson.databind.deser.ResourceDeserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Loads a document into a {@link JsonResource} from chunks of bytes given as they arrive, for example by a
+ * non-blocking server, see {@link JsonResource#loadAsync(Map)}.
+ * <p>
+ * Chunks are parsed by a non-blocking parser as soon as they are fed, but objects are read one root at a time.
+ * The tokens of each root are buffered until the root is complete, it is then read into the resource. The roots
+ * of a document that is an array are thus created while the rest of the document arrives, whereas a document
+ * made of a single root object is buffered whole and read once its last byte is fed. References are resolved
+ * and the {@link #result() result} completed once the end of the document is signaled, or completed
+ * exceptionally on the first error, after which chunks are ignored. As with {@link JsonResource#load(Map)}, an
+ * empty document leaves the resource empty, and notifications of the roots are delivered at once when the
+ * load options suppress them.
+ * </p>
+ * <p>
+ * The feeder can also subscribe to a {@link Flow.Publisher} of chunks. It then requests one chunk at a time,
+ * and only once the previous one has been parsed. Chunks must not be fed concurrently.
+ * </p>
+ */
+public class JsonResourceFeeder implements Flow.Subscriber<ByteBuffer> {
+
+   private final JsonResource resource;
+   private final JsonParser parser;
+   private final ByteArrayFeeder feeder;
+   private final DeserializationContext ctxt;
+   private final ResourceDeserializer deserializer;
+   private final JsonDeserializer<Object> rootDeserializer;
+   private final Notification notification;
+   // first root to notify once loaded, or -1 if notifications are not suppressed
+   private final int start;
+   private final CompletableFuture<Resource> result = new CompletableFuture<>();
+
+   private Flow.Subscription subscription;
+   // tokens of the current root, null between roots
+   private TokenBuffer buffer;
+   private int depth;
+   private boolean started;
+
+   JsonResourceFeeder(final JsonResource resource, final JsonParser parser, final Map<?, ?> options)
+      throws IOException {
+      this.resource = resource;
+      this.parser = parser;
+      this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+      this.ctxt = resource.createContext(parser, options);
+      this.deserializer = resource.findResourceDeserializer(ctxt);
+      this.rootDeserializer = deserializer.findRootDeserializer(ctxt);
+
+      if (resource.isLoaded()) {
+         // left as is, as load does
+         this.notification = null;
+         this.start = -1;
+         parser.close();
+         result.complete(resource);
+      } else {
+         this.notification = resource.startLoading();
+         this.start = deserializer.suppressNotifications(ctxt, resource);
+      }
+   }
+
+   /**
+    * Returns the resource once the whole document has been fed and read.
+    *
+    * @return completion of the load
+    */
+   public CompletionStage<Resource> result() {
+      return result.minimalCompletionStage();
+   }
+
+   /**
+    * Parses the given bytes, and reads the roots they complete. The array is not copied, but is no longer used
+    * once this method returns.
+    *
+    * @param data   array of bytes
+    * @param offset index of the first byte to read
+    * @param length number of bytes to read
+    */
+   @SuppressWarnings("checkstyle:illegalCatch")
+   public void feed(final byte[] data, final int offset, final int length) {
+      if (result.isDone()) {
+         return;
+      }
+      try {
+         feeder.feedInput(data, offset, offset + length);
+         parse();
+      } catch (IOException | RuntimeException e) {
+         fail(e);
+      }
+   }
+
+   /**
+    * Parses the remaining bytes of the given buffer, see {@link #feed(byte[], int, int)}.
+    *
+    * @param data buffer of bytes
+    */
+   public void feed(final ByteBuffer data) {
+      int length = data.remaining();
+      if (data.hasArray()) {
+         feed(data.array(), data.arrayOffset() + data.position(), length);
+         data.position(data.limit());
+      } else {
+         byte[] bytes = new byte[length];
+         data.get(bytes);
+         feed(bytes, 0, length);
+      }
+   }
+
+   /**
+    * Signals the end of the document, resolves the references of all roots and completes the result.
+    */
+   @SuppressWarnings("checkstyle:illegalCatch")
+   public void end() {
+      if (result.isDone()) {
+         return;
+      }
+      try {
+         feeder.endOfInput();
+         parse();
+         // an empty document has no roots, as with load
+         if (buffer != null || !parser.getParsingContext().inRoot()) {
+            throw new IOException("Unexpected end of document");
+         }
+         deserializer.resolve(ctxt);
+      } catch (IOException | RuntimeException e) {
+         fail(e);
+         return;
+      }
+      close();
+      result.complete(resource);
+   }
+
+   @SuppressWarnings("checkstyle:cyclomaticComplexity")
+   private void parse() throws IOException {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+         if (buffer == null) {
+            // roots are the elements of a document that is an array
+            if (!started && token == JsonToken.START_ARRAY) {
+               started = true;
+               continue;
+            }
+            started = true;
+            if (token == JsonToken.END_ARRAY) {
+               continue;
+            }
+            buffer = new TokenBuffer(parser, ctxt);
+         }
+
+         buffer.copyCurrentEvent(parser);
+         if (token.isStructStart()) {
+            depth++;
+         } else if (token.isStructEnd()) {
+            depth--;
+         }
+
+         if (depth == 0) {
+            try (JsonParser root = buffer.asParser(parser.getCodec())) {
+               root.nextToken();
+               deserializer.readRoot(root, ctxt, resource, rootDeserializer);
+            }
+            buffer = null;
+         }
+      }
+   }
+
+   private void fail(final Throwable e) {
+      close();
+      if (subscription != null) {
+         subscription.cancel();
+      }
+      result.completeExceptionally(e);
+   }
+
+   private void close() {
+      try {
+         parser.close();
+      } catch (IOException e) {
+         // nothing left to read
+      } finally {
+         deserializer.restoreNotifications(resource, start);
+         resource.endLoading(notification);
+      }
+   }
+
+   @Override
+   public void onSubscribe(final Flow.Subscription subscription) {
+      if (this.subscription != null) {
+         subscription.cancel();
+         return;
+      }
+      this.subscription = subscription;
+      subscription.request(1);
+   }
+
+   @Override
+   public void onNext(final ByteBuffer item) {
+      feed(item);
+      if (!result.isDone()) {
+         subscription.request(1);
+      }
+   }
+
+   @Override
+   public void onError(final Throwable throwable) {
+      if (!result.isDone()) {
+         fail(throwable);
+      }
+   }
+
+   @Override
+   public void onComplete() {
+      end();
+   }
+
+}
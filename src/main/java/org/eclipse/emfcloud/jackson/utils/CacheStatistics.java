@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Size, hits and misses of the caches used to read and write models, such as property maps and feature
+ * types, to monitor their memory usage.
+ * <p>
+ * Statistics of caches with the same name, for example the caches of each mapper, are summed. Only caches
+ * that are still alive are counted.
+ * </p>
+ */
+public final class CacheStatistics {
+
+   // guarded by itself
+   private static final List<Registration> REGISTRATIONS = new ArrayList<>();
+
+   private final String name;
+   private final int size;
+   private final long hitCount;
+   private final long missCount;
+
+   private CacheStatistics(final String name, final int size, final long hitCount, final long missCount) {
+      this.name = name;
+      this.size = size;
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+   }
+
+   /**
+    * Returns the current statistics of all named caches, sorted by name.
+    *
+    * @return statistics by cache name
+    */
+   public static List<CacheStatistics> collect() {
+      List<Registration> registrations;
+      synchronized (REGISTRATIONS) {
+         registrations = new ArrayList<>(REGISTRATIONS);
+      }
+
+      Map<String, CacheStatistics> statistics = new TreeMap<>();
+      for (Registration registration : registrations) {
+         Metered cache = registration.get();
+         if (cache != null) {
+            statistics.merge(registration.name,
+               new CacheStatistics(registration.name, cache.size(), cache.getHitCount(), cache.getMissCount()),
+               CacheStatistics::add);
+         }
+      }
+      return new ArrayList<>(statistics.values());
+   }
+
+   /**
+    * Returns the current statistics of the caches with the given name.
+    *
+    * @param name name of the caches
+    * @return statistics, or null if no cache with this name is alive
+    */
+   public static CacheStatistics get(final String name) {
+      for (CacheStatistics statistics : collect()) {
+         if (statistics.name.equals(name)) {
+            return statistics;
+         }
+      }
+      return null;
+   }
+
+   static void register(final String name, final Metered cache) {
+      synchronized (REGISTRATIONS) {
+         REGISTRATIONS.removeIf(registration -> registration.get() == null);
+         REGISTRATIONS.add(new Registration(name, cache));
+      }
+   }
+
+   private CacheStatistics add(final CacheStatistics other) {
+      return new CacheStatistics(name, size + other.size, hitCount + other.hitCount, missCount + other.missCount);
+   }
+
+   public String getName() { return name; }
+
+   /**
+    * Returns the approximate number of entries.
+    *
+    * @return number of entries
+    */
+   public int getSize() { return size; }
+
+   public long getHitCount() { return hitCount; }
+
+   public long getMissCount() { return missCount; }
+
+   /**
+    * Returns the ratio of lookups that found a value.
+    *
+    * @return hit rate between 0 and 1, or 0 if there was no lookup
+    */
+   public double getHitRate() {
+      long lookups = hitCount + missCount;
+      return lookups == 0 ? 0 : (double) hitCount / lookups;
+   }
+
+   @Override
+   public String toString() {
+      return name + "[size=" + size + ", hits=" + hitCount + ", misses=" + missCount + "]";
+   }
+
+   /**
+    * Cache reporting statistics.
+    */
+   interface Metered {
+
+      int size();
+
+      long getHitCount();
+
+      long getMissCount();
+   }
+
+   private static final class Registration extends WeakReference<Metered> {
+
+      private final String name;
+
+      Registration(final String name, final Metered cache) {
+         super(cache);
+         this.name = name;
+      }
+   }
+
+}
@@ -10,25 +10,32 @@
  *******************************************************************************/
 package org.eclipse.emfcloud.jackson.utils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Optional;
-import java.util.WeakHashMap;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.ecore.EAnnotation;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.impl.DynamicEObjectImpl.BasicEMapEntry;
+import org.eclipse.emf.ecore.impl.EPackageImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.util.ExtendedMetaData;
 import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
 
 import com.fasterxml.jackson.databind.DatabindContext;
@@ -62,6 +69,41 @@ public final class EObjects {
       }
    }
 
+   /**
+    * Adds values to the list of a many valued feature at once, without checking the uniqueness of each value
+    * against the whole list, and with a single notification if any. Values already in a unique list are skipped,
+    * new contained objects cannot be in their list already.
+    *
+    * @param list    list of values of the feature
+    * @param feature many valued feature
+    * @param values  values to add, in order
+    * @param <T>     type of values
+    */
+   public static <T> void addAll(final InternalEList<T> list, final EStructuralFeature feature,
+      final Collection<? extends T> values) {
+      if (values.isEmpty()) {
+         return;
+      }
+
+      Collection<? extends T> added = values;
+      boolean containment = feature instanceof EReference && ((EReference) feature).isContainment();
+      if (feature.isUnique() && !containment) {
+         // objects are compared by identity, data values with equals as EMF unique lists do
+         Set<Object> seen = feature instanceof EReference ? Collections.newSetFromMap(new IdentityHashMap<>())
+            : new HashSet<>();
+         list.basicIterator().forEachRemaining(seen::add);
+
+         Collection<T> unique = new ArrayList<>(values.size());
+         for (T value : values) {
+            if (seen.add(value)) {
+               unique.add(value);
+            }
+         }
+         added = unique;
+      }
+      list.addAllUnique(added);
+   }
+
    /**
     * Checks that the contained object is in a different resource than it's owner, making
     * it a contained proxy.
@@ -108,10 +150,10 @@ public final class EObjects {
       return entry;
    }
 
-   private static final Map<EClass, Optional<EStructuralFeature>> ELEMENT_WILDCARD_CACHE = Collections
-      .synchronizedMap(new WeakHashMap<>());
-   private static final Map<EClass, Optional<EStructuralFeature>> ATTRIBUTE_WILDCARD_CACHE = Collections
-      .synchronizedMap(new WeakHashMap<>());
+   private static final NotifierCache<EClass, Optional<EStructuralFeature>> ELEMENT_WILDCARD_CACHE =
+      new NotifierCache<>("elementWildcards");
+   private static final NotifierCache<EClass, Optional<EStructuralFeature>> ATTRIBUTE_WILDCARD_CACHE =
+      new NotifierCache<>("attributeWildcards");
 
    /**
     * Test whether the feature is a map entry feature.
@@ -205,4 +247,26 @@ public final class EObjects {
          .filter(r -> ExtendedMetaData.INSTANCE.getFeatureKind(r) == ExtendedMetaData.ATTRIBUTE_WILDCARD_FEATURE)
          .findFirst();
    }
+
+   /**
+    * Returns true if the given element belongs to a generated package, which stays in the global package
+    * registry for the lifetime of its class loader.
+    *
+    * @param element element of a model
+    * @return true if the element is generated
+    */
+   public static boolean isGenerated(final Notifier element) {
+      EPackage ePackage = null;
+      if (element instanceof EPackage) {
+         ePackage = (EPackage) element;
+      } else if (element instanceof EClassifier) {
+         ePackage = ((EClassifier) element).getEPackage();
+      } else if (element instanceof EStructuralFeature) {
+         EClassifier owner = ((EStructuralFeature) element).getEContainingClass();
+         ePackage = owner == null ? null : owner.getEPackage();
+      }
+      // dynamic packages are created by the Ecore factory, generated ones extend it
+      return ePackage instanceof EPackageImpl && ePackage.getClass() != EPackageImpl.class;
+   }
+
 }
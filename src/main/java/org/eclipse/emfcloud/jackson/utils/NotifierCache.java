@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.utils;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.notify.Notifier;
+
+/**
+ * Read mostly cache keyed by elements of a model, such as EClasses, whose values may reference their key.
+ * <p>
+ * Values of generated packages are held strongly, these packages are never collected. Values of dynamic
+ * models are held softly: they are kept across garbage collections while their model is in use, and only
+ * cleared, then computed again if needed, when memory runs low. A dynamic model that is no longer used is thus
+ * collected at the latest before the heap is exhausted, even though its values reference it. Keys are never
+ * modified, a cache lives exactly as long as its owner, for example a mapper.
+ * </p>
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public final class NotifierCache<K extends Notifier, V> implements CacheStatistics.Metered {
+
+   // holds either a value, or a Soft reference to the value of a dynamic model
+   private final WeakIdentityCache<K, Object> values = new WeakIdentityCache<>();
+   private final Object lock = new Object();
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+
+   public NotifierCache() {}
+
+   /**
+    * Creates a cache whose statistics are reported under the given name, see {@link CacheStatistics#collect()}.
+    *
+    * @param name name of the cache
+    */
+   public NotifierCache(final String name) {
+      CacheStatistics.register(name, this);
+   }
+
+   /**
+    * Returns the value cached for the given key.
+    *
+    * @param key key
+    * @return value, or null if none
+    */
+   public V get(final K key) {
+      V value = find(key);
+      if (value == null) {
+         misses.increment();
+      } else {
+         hits.increment();
+      }
+      return value;
+   }
+
+   /**
+    * Caches the value for the given key, unless one is already cached. Values of a null key are not
+    * cached.
+    *
+    * @param key   key
+    * @param value value to cache
+    * @return the value cached for the key once this method returns
+    */
+   public V putIfAbsent(final K key, final V value) {
+      if (key == null) {
+         return value;
+      }
+
+      synchronized (lock) {
+         V previous = find(key);
+         if (previous != null) {
+            return previous;
+         }
+         // replaces the entry of a collected value
+         values.put(key, wrap(key, value));
+         return value;
+      }
+   }
+
+   /**
+    * Caches the value for the given key, replacing the one already cached if any. Values of a null
+    * key are not cached.
+    *
+    * @param key   key
+    * @param value value to cache
+    */
+   public void put(final K key, final V value) {
+      if (key == null) {
+         return;
+      }
+
+      synchronized (lock) {
+         values.put(key, wrap(key, value));
+      }
+   }
+
+   /**
+    * Returns the value cached for the given key, computing and caching it if none is. The value is
+    * computed outside of any lock, when several threads compute it at once all of them get the value
+    * of the first one to be cached.
+    *
+    * @param key      key
+    * @param function computes the value of a key
+    * @return cached value
+    */
+   public V computeIfAbsent(final K key, final Function<? super K, ? extends V> function) {
+      V value = get(key);
+      if (value == null) {
+         value = putIfAbsent(key, function.apply(key));
+      }
+      return value;
+   }
+
+   /**
+    * Returns the approximate number of cached entries, keys and values collected recently may or may
+    * not be counted.
+    *
+    * @return number of entries
+    */
+   @Override
+   public int size() {
+      return values.size();
+   }
+
+   @Override
+   public long getHitCount() { return hits.sum(); }
+
+   @Override
+   public long getMissCount() { return misses.sum(); }
+
+   @SuppressWarnings("unchecked")
+   private V find(final K key) {
+      if (key == null) {
+         return null;
+      }
+      Object value = values.find(key);
+      return value instanceof Soft ? ((Soft<V>) value).get() : (V) value;
+   }
+
+   private static Object wrap(final Notifier key, final Object value) {
+      return EObjects.isGenerated(key) ? value : new Soft<>(value);
+   }
+
+   private static final class Soft<V> extends SoftReference<V> {
+
+      Soft(final V value) {
+         super(value);
+      }
+   }
+
+}
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.utils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Read mostly cache with weak keys compared by identity, such as EClasses, that does not prevent
+ * dynamic models from being garbage collected.
+ * <p>
+ * Lookups never block: the table is an open addressing array of weak entries that readers probe
+ * without locking. Writers are serialized, they only append entries to the table or replace it by
+ * a larger one, dropping the entries of collected keys on the way. Entries are never removed in
+ * place, so that a concurrent lookup always sees a consistent probe sequence.
+ * </p>
+ * <p>
+ * Null keys are not supported: they are never found and cannot be cached.
+ * </p>
+ * <p>
+ * Values must not reference their key, otherwise the key is never collected, see {@link NotifierCache}
+ * for values that do.
+ * </p>
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public final class WeakIdentityCache<K, V> implements CacheStatistics.Metered {
+
+   private static final int INITIAL_CAPACITY = 64;
+
+   private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+   private final Object lock = new Object();
+
+   private volatile AtomicReferenceArray<Entry<K, V>> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+   // number of used slots in the table, including those of collected keys, guarded by lock
+   private int used;
+   // number of collected keys still in the table, guarded by lock
+   private int stale;
+
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+
+   public WeakIdentityCache() {}
+
+   /**
+    * Creates a cache whose statistics are reported under the given name, see {@link CacheStatistics#collect()}.
+    *
+    * @param name name of the cache
+    */
+   public WeakIdentityCache(final String name) {
+      CacheStatistics.register(name, this);
+   }
+
+   /**
+    * Returns the value cached for the given key.
+    *
+    * @param key key
+    * @return value, or null if none
+    */
+   public V get(final K key) {
+      V value = find(key);
+      if (value == null) {
+         misses.increment();
+      } else {
+         hits.increment();
+      }
+      return value;
+   }
+
+   // lookup that is not counted in the statistics
+   V find(final K key) {
+      if (key == null) {
+         // entries of collected keys refer to null
+         return null;
+      }
+
+      AtomicReferenceArray<Entry<K, V>> tab = table;
+      int mask = tab.length() - 1;
+      int index = hash(key) & mask;
+
+      Entry<K, V> entry;
+      while ((entry = tab.get(index)) != null) {
+         if (entry.get() == key) {
+            return entry.value;
+         }
+         index = (index + 1) & mask;
+      }
+      return null;
+   }
+
+   /**
+    * Caches the value for the given key, unless one is already cached.
+    *
+    * @param key   key
+    * @param value value to cache
+    * @return the value cached for the key once this method returns
+    */
+   public V putIfAbsent(final K key, final V value) {
+      Objects.requireNonNull(key, "key");
+      synchronized (lock) {
+         V previous = find(key);
+         if (previous != null) {
+            return previous;
+         }
+
+         expunge();
+         if ((used + 1) * 4 > table.length() * 3) {
+            rehash();
+         }
+         insert(table, new Entry<>(key, value, queue));
+         used++;
+         return value;
+      }
+   }
+
+   /**
+    * Caches the value for the given key, replacing the one already cached if any. Concurrent
+    * lookups return either the previous or the new value.
+    *
+    * @param key   key
+    * @param value value to cache
+    */
+   public void put(final K key, final V value) {
+      Objects.requireNonNull(key, "key");
+      synchronized (lock) {
+         AtomicReferenceArray<Entry<K, V>> tab = table;
+         int mask = tab.length() - 1;
+         int index = hash(key) & mask;
+
+         Entry<K, V> entry;
+         while ((entry = tab.get(index)) != null) {
+            if (entry.get() == key) {
+               tab.set(index, new Entry<>(key, value, queue));
+               // cleared without being enqueued, so that the key is counted once when collected, a lookup
+               // that is reading the replaced entry may then miss and compute the value again
+               entry.clear();
+               return;
+            }
+            index = (index + 1) & mask;
+         }
+         putIfAbsent(key, value);
+      }
+   }
+
+   /**
+    * Returns the value cached for the given key, computing and caching it if none is. The value
+    * is computed outside of any lock, when several threads compute it at once all of them get the
+    * value of the first one to be cached.
+    *
+    * @param key      key
+    * @param function computes the value of a key
+    * @return cached value
+    */
+   public V computeIfAbsent(final K key, final Function<? super K, ? extends V> function) {
+      Objects.requireNonNull(key, "key");
+      V value = get(key);
+      if (value == null) {
+         value = putIfAbsent(key, function.apply(key));
+      }
+      return value;
+   }
+
+   /**
+    * Returns the approximate number of cached entries, keys collected recently may or may not be
+    * counted.
+    *
+    * @return number of entries
+    */
+   @Override
+   public int size() {
+      synchronized (lock) {
+         expunge();
+         return Math.max(0, used - stale);
+      }
+   }
+
+   @Override
+   public long getHitCount() { return hits.sum(); }
+
+   @Override
+   public long getMissCount() { return misses.sum(); }
+
+   /**
+    * Removes all entries.
+    */
+   public void clear() {
+      synchronized (lock) {
+         while (queue.poll() != null) {
+            // entries are dropped with the table
+         }
+         table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+         used = 0;
+         stale = 0;
+      }
+   }
+
+   private void expunge() {
+      while (queue.poll() != null) {
+         stale++;
+      }
+      if (stale > 0 && stale * 2 >= used) {
+         rehash();
+      }
+   }
+
+   private void rehash() {
+      // keys collected from now on are counted as stale again, even if they are not copied
+      while (queue.poll() != null) {
+         // dropped from the new table
+      }
+
+      AtomicReferenceArray<Entry<K, V>> current = table;
+      int live = 0;
+      for (int i = 0; i < current.length(); i++) {
+         Entry<K, V> entry = current.get(i);
+         if (entry != null && entry.get() != null) {
+            live++;
+         }
+      }
+
+      int capacity = INITIAL_CAPACITY;
+      while ((live + 1) * 2 > capacity) {
+         capacity <<= 1;
+      }
+
+      AtomicReferenceArray<Entry<K, V>> next = new AtomicReferenceArray<>(capacity);
+      for (int i = 0; i < current.length(); i++) {
+         Entry<K, V> entry = current.get(i);
+         if (entry != null && entry.get() != null) {
+            insert(next, entry);
+         }
+      }
+
+      table = next;
+      used = live;
+      stale = 0;
+   }
+
+   private static <K, V> void insert(final AtomicReferenceArray<Entry<K, V>> tab, final Entry<K, V> entry) {
+      int mask = tab.length() - 1;
+      int index = entry.hash & mask;
+      while (tab.get(index) != null) {
+         index = (index + 1) & mask;
+      }
+      tab.set(index, entry);
+   }
+
+   private static int hash(final Object key) {
+      int h = System.identityHashCode(key);
+      return h ^ (h >>> 16);
+   }
+
+   private static final class Entry<K, V> extends WeakReference<K> {
+
+      private final int hash;
+      private final V value;
+
+      Entry(final K key, final V value, final ReferenceQueue<? super K> queue) {
+         super(key, queue);
+         this.hash = hash(key);
+         this.value = value;
+      }
+   }
+
+}
@@ -10,13 +10,22 @@
  *******************************************************************************/
 package org.eclipse.emfcloud.jackson;
 
+import org.eclipse.emfcloud.jackson.databind.property.EObjectCodecTest;
+import org.eclipse.emfcloud.jackson.databind.property.EObjectPropertyMapTest;
+import org.eclipse.emfcloud.jackson.databind.ser.TypeValueCacheTest;
 import org.eclipse.emfcloud.jackson.databind.type.EcoreTypeFactoryTest;
+import org.eclipse.emfcloud.jackson.databind.type.EcoreTypeIndexTest;
+import org.eclipse.emfcloud.jackson.databind.type.FeatureMetadataTest;
 import org.eclipse.emfcloud.jackson.tests.AnnotationTest;
 import org.eclipse.emfcloud.jackson.tests.ArrayTest;
+import org.eclipse.emfcloud.jackson.tests.AsyncLoadTest;
+import org.eclipse.emfcloud.jackson.tests.BulkLoadTest;
 import org.eclipse.emfcloud.jackson.tests.ContainmentTest;
 import org.eclipse.emfcloud.jackson.tests.EnumTest;
 import org.eclipse.emfcloud.jackson.tests.ExternalReferencesTest;
 import org.eclipse.emfcloud.jackson.tests.FeatureMapTest;
+import org.eclipse.emfcloud.jackson.tests.FileChannelTest;
+import org.eclipse.emfcloud.jackson.tests.GeneratedSettersTest;
 import org.eclipse.emfcloud.jackson.tests.IdTest;
 import org.eclipse.emfcloud.jackson.tests.MapTest;
 import org.eclipse.emfcloud.jackson.tests.ModelTest;
@@ -27,6 +36,8 @@ import org.eclipse.emfcloud.jackson.tests.NorasCaravanTest;
 import org.eclipse.emfcloud.jackson.tests.PolymorphicTest;
 import org.eclipse.emfcloud.jackson.tests.ReaderTest;
 import org.eclipse.emfcloud.jackson.tests.ReferenceTest;
+import org.eclipse.emfcloud.jackson.tests.StreamTest;
+import org.eclipse.emfcloud.jackson.tests.SuppressNotificationsTest;
 import org.eclipse.emfcloud.jackson.tests.ValueTest;
 import org.eclipse.emfcloud.jackson.tests.annotations.JsonPropertyTest;
 import org.eclipse.emfcloud.jackson.tests.annotations.JsonTypeInfoTest;
@@ -42,6 +53,8 @@ import org.eclipse.emfcloud.jackson.tests.dynamic.DynamicValueTest;
 import org.eclipse.emfcloud.jackson.tests.generics.GenericTest;
 import org.eclipse.emfcloud.jackson.tests.uuids.UuidLoadTest;
 import org.eclipse.emfcloud.jackson.tests.uuids.UuidSaveTest;
+import org.eclipse.emfcloud.jackson.utils.NotifierCacheTest;
+import org.eclipse.emfcloud.jackson.utils.WeakIdentityCacheTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -60,14 +73,31 @@ import org.junit.runners.Suite.SuiteClasses;
    ModuleTest.class,
    NoTypeTest.class,
    NoMinimizedTypeTest.class,
+   GeneratedSettersTest.class,
    PolymorphicTest.class,
    ReaderTest.class,
    ReferenceTest.class,
    ValueTest.class,
    ArrayTest.class,
+   BulkLoadTest.class,
+   SuppressNotificationsTest.class,
+   StreamTest.class,
+   AsyncLoadTest.class,
+   FileChannelTest.class,
+
+   // property maps
+   EObjectPropertyMapTest.class,
+   EObjectCodecTest.class,
+   TypeValueCacheTest.class,
 
    // type factory
    EcoreTypeFactoryTest.class,
+   EcoreTypeIndexTest.class,
+   FeatureMetadataTest.class,
+
+   // utils
+   WeakIdentityCacheTest.class,
+   NotifierCacheTest.class,
 
    // meta
    ModelTest.class,
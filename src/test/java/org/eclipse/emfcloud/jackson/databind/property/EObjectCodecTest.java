@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.property;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.jackson.junit.model.ETypes;
+import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
+import org.eclipse.emfcloud.jackson.junit.model.ModelPackage;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.eclipse.emfcloud.jackson.resource.JsonResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.LRUMap;
+
+public class EObjectCodecTest {
+
+   // the codec is only given to the property maps of the mappers of this test
+   private static volatile boolean enabled;
+   private static int writes;
+   private static int reads;
+
+   @BeforeClass
+   public static void setUpClass() {
+      EObjectCodec.register(new EObjectCodec.Provider() {
+         @Override
+         public String getNsURI() { return ModelPackage.eNS_URI; }
+
+         @Override
+         public EObjectCodec getCodec(final String className) {
+            return enabled && "ETypes".equals(className) ? new ETypesCodec() : null;
+         }
+      });
+   }
+
+   @Before
+   public void setUp() {
+      writes = 0;
+      reads = 0;
+   }
+
+   @After
+   public void tearDown() {
+      enabled = false;
+   }
+
+   /*
+    * Mappers with their own type factory do not share the property maps of other mappers.
+    */
+   private static ObjectMapper mapper(final boolean codecs) {
+      enabled = codecs;
+      ObjectMapper mapper = EMFModule.setupDefaultMapper();
+      mapper.setTypeFactory(TypeFactory.defaultInstance().withCache(new LRUMap<>(16, 200)));
+      return mapper;
+   }
+
+   private static ETypes types() {
+      ETypes types = ModelFactory.eINSTANCE.createETypes();
+      types.setEString("a");
+      types.setEInt(2);
+      types.setEBoolean(true);
+      return types;
+   }
+
+   private static String save(final ObjectMapper mapper, final EObject root) throws IOException {
+      Resource resource = new JsonResource(URI.createURI("types.json"), mapper);
+      resource.getContents().add(root);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      resource.save(out, null);
+      return out.toString(StandardCharsets.UTF_8);
+   }
+
+   private static ETypes load(final ObjectMapper mapper, final String json) throws IOException {
+      Resource resource = new JsonResource(URI.createURI("types.json"), mapper);
+      resource.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), null);
+      return (ETypes) resource.getContents().get(0);
+   }
+
+   @Test
+   public void testWriteAndReadWithCodec() throws IOException {
+      String expected = save(mapper(false), types());
+
+      ObjectMapper mapper = mapper(true);
+      assertThat(save(mapper, types())).isEqualTo(expected);
+      assertThat(writes).isEqualTo(2);
+
+      ETypes loaded = load(mapper, expected);
+      assertThat(reads).isEqualTo(2);
+      assertThat(loaded.getEString()).isEqualTo("a");
+      assertThat(loaded.getEInt()).isEqualTo(2);
+      assertThat(loaded.isEBoolean()).isTrue();
+   }
+
+   @Test
+   public void testReadValueOfOtherTokenWithInterpretedProperty() throws IOException {
+      ETypes loaded = load(mapper(true), "{\"eClass\": \"" + ModelPackage.eNS_URI + "#//ETypes\", \"eInt\": \"3\"}");
+
+      assertThat(reads).isZero();
+      assertThat(loaded.getEInt()).isEqualTo(3);
+   }
+
+   @Test
+   public void testWriteWithCustomSerializer() throws IOException {
+      ObjectMapper mapper = mapper(true);
+      mapper.registerModule(new SimpleModule().addSerializer(String.class, new JsonSerializer<String>() {
+         @Override
+         public void serialize(final String value, final JsonGenerator jg, final SerializerProvider provider)
+            throws IOException {
+            jg.writeString(value.toUpperCase());
+         }
+      }));
+
+      assertThat(save(mapper, types())).contains("\"A\"").doesNotContain("\"a\"");
+      assertThat(writes).isEqualTo(1);
+   }
+
+   @Test
+   public void testNoCodecOfDynamicClass() {
+      enabled = true;
+      EClass type = EcoreFactory.eINSTANCE.createEClass();
+      type.setName("ETypes");
+
+      assertThat(EObjectCodec.of(ModelPackage.Literals.ETYPES)).isNotNull();
+      assertThat(EObjectCodec.of(type)).isNull();
+   }
+
+   /**
+    * Codec of the string and int attributes of ETypes, as generated.
+    */
+   private static final class ETypesCodec extends EObjectCodec {
+
+      ETypesCodec() {
+         super(hashFeatures(ModelPackage.Literals.ETYPES));
+      }
+
+      @Override
+      public boolean handles(final int featureID) {
+         return featureID == ModelPackage.ETYPES__ESTRING || featureID == ModelPackage.ETYPES__EINT;
+      }
+
+      @Override
+      public void write(final int featureID, final EObject object, final JsonGenerator jg) throws IOException {
+         writes++;
+         if (featureID == ModelPackage.ETYPES__ESTRING) {
+            jg.writeString(((ETypes) object).getEString());
+         } else {
+            jg.writeNumber(((ETypes) object).getEInt());
+         }
+      }
+
+      @Override
+      public boolean read(final int featureID, final JsonParser jp, final EObject object) throws IOException {
+         if (featureID == ModelPackage.ETYPES__ESTRING && jp.currentToken() == JsonToken.VALUE_STRING) {
+            ((ETypes) object).setEString(jp.getText());
+         } else if (featureID == ModelPackage.ETYPES__EINT && jp.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            ((ETypes) object).setEInt(jp.getIntValue());
+         } else {
+            return false;
+         }
+         reads++;
+         return true;
+      }
+   }
+
+}
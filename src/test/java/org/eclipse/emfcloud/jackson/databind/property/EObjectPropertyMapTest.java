@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.property;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.emfcloud.jackson.junit.annotations.AnnotationsPackage.Literals.TEST_F;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emfcloud.jackson.annotations.EcoreIdentityInfo;
+import org.eclipse.emfcloud.jackson.annotations.EcoreReferenceInfo;
+import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
+import org.eclipse.emfcloud.jackson.handlers.BaseURIHandler;
+import org.eclipse.emfcloud.jackson.junit.model.ModelPackage;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+public class EObjectPropertyMapTest {
+
+   private EObjectPropertyMap.Builder builder;
+   private SerializerProvider provider;
+
+   @Before
+   public void setUp() {
+      builder = new EObjectPropertyMap.Builder(new EcoreIdentityInfo(), new EcoreTypeInfo(),
+         new EcoreReferenceInfo(new BaseURIHandler()), EMFModule.Feature.collectDefaults());
+      provider = new ObjectMapper().registerModule(new EMFModule()).getSerializerProviderInstance();
+   }
+
+   @Test
+   public void testFindPropertyByInternedAndOtherNames() {
+      EObjectPropertyMap propertyMap = builder.construct(provider, ModelPackage.Literals.USER);
+
+      EObjectProperty property = propertyMap.findProperty("name");
+
+      assertThat(property).isNotNull();
+      assertThat(property.getFieldName()).isEqualTo("name");
+      assertThat(propertyMap.findProperty(new String("name"))).isSameAs(property);
+      assertThat(propertyMap.findProperty("eClass")).isInstanceOf(EObjectTypeProperty.class);
+      assertThat(propertyMap.findProperty("unknown")).isNull();
+      assertThat(propertyMap.findProperty(null)).isNull();
+   }
+
+   @Test
+   public void testRegistriesAreSharedByTypeFactory() {
+      EcoreIdentityInfo identityInfo = new EcoreIdentityInfo();
+      EcoreTypeInfo typeInfo = new EcoreTypeInfo();
+      EcoreReferenceInfo referenceInfo = new EcoreReferenceInfo(new BaseURIHandler());
+      int features = EMFModule.Feature.collectDefaults();
+      TypeFactory other = TypeFactory.defaultInstance().withClassLoader(getClass().getClassLoader());
+
+      PropertyMapRegistry registry = PropertyMapRegistry.get(identityInfo, typeInfo, referenceInfo, features,
+         TypeFactory.defaultInstance());
+
+      assertThat(PropertyMapRegistry.get(identityInfo, typeInfo, referenceInfo, features,
+         TypeFactory.defaultInstance())).isSameAs(registry);
+      assertThat(PropertyMapRegistry.get(identityInfo, typeInfo, referenceInfo, features, other))
+         .isNotSameAs(registry);
+   }
+
+   @Test
+   public void testFindPropertyByAlias() {
+      EObjectPropertyMap propertyMap = builder.construct(provider, TEST_F);
+
+      EObjectProperty property = propertyMap.findProperty("v");
+
+      assertThat(property).isNotNull();
+      assertThat(propertyMap.findProperty("value")).isSameAs(property);
+      assertThat(propertyMap.findProperty(new String("value"))).isSameAs(property);
+   }
+
+   private static EClass createClass(final EPackage ePackage, final String name, final String attribute) {
+      EClass type = EcoreFactory.eINSTANCE.createEClass();
+      type.setName(name);
+      ePackage.getEClassifiers().add(type);
+
+      if (attribute != null) {
+         EAttribute feature = EcoreFactory.eINSTANCE.createEAttribute();
+         feature.setName(attribute);
+         feature.setEType(EcorePackage.Literals.ESTRING);
+         type.getEStructuralFeatures().add(feature);
+      }
+      return type;
+   }
+
+   @Test
+   public void testWritePropertyOfObjectWithOtherFeatureIDs() throws IOException {
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName("p");
+      ePackage.setNsURI("http://www.emfjson.org/jackson/featureIDs");
+      EClass first = createClass(ePackage, "First", "a");
+      EClass second = createClass(ePackage, "Second", "b");
+      EClass both = createClass(ePackage, "Both", null);
+      both.getESuperTypes().add(first);
+      both.getESuperTypes().add(second);
+
+      // b has the feature ID 0 in Second and 1 in Both
+      EObject object = EcoreUtil.create(both);
+      object.eSet(both.getEStructuralFeature("a"), "x");
+      object.eSet(both.getEStructuralFeature("b"), "y");
+
+      EObjectProperty property = builder.construct(provider, second).findProperty("b");
+
+      StringWriter writer = new StringWriter();
+      try (JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(writer)) {
+         generator.writeStartObject();
+         property.serialize(object, generator, provider);
+         generator.writeEndObject();
+      }
+
+      assertThat(writer.toString()).isEqualTo("{\"b\":\"y\"}");
+   }
+
+}
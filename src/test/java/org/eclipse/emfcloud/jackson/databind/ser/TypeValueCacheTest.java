@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.ser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
+import org.eclipse.emfcloud.jackson.utils.ValueWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+public class TypeValueCacheTest {
+
+   private SerializerProvider provider;
+   private Resource resource;
+   private EClass type;
+
+   @Before
+   public void setUp() {
+      provider = new ObjectMapper().getSerializerProviderInstance();
+
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName("p");
+      ePackage.setNsURI("http://p");
+      type = EcoreFactory.eINSTANCE.createEClass();
+      type.setName("A");
+      ePackage.getEClassifiers().add(type);
+
+      resource = new ResourceImpl(URI.createURI("http://p"));
+      resource.getContents().add(ePackage);
+   }
+
+   @Test
+   public void testValuesAreCachedPerClass() {
+      TypeValueCache cache = TypeValueCache.of(EcoreTypeInfo.DEFAULT_VALUE_WRITER);
+
+      assertThat(cache).isSameAs(TypeValueCache.of(EcoreTypeInfo.DEFAULT_VALUE_WRITER));
+      assertThat(cache.get(type, provider).getValue()).isEqualTo("http://p#//A");
+      assertThat(cache.get(type, provider)).isSameAs(cache.get(type, provider));
+   }
+
+   @Test
+   public void testValuesFollowClassChanges() {
+      TypeValueCache uris = TypeValueCache.of(EcoreTypeInfo.DEFAULT_VALUE_WRITER);
+      TypeValueCache names = TypeValueCache.of(EcoreTypeInfo.WRITE_BY_NAME);
+
+      assertThat(uris.get(type, provider).getValue()).isEqualTo("http://p#//A");
+      assertThat(names.get(type, provider).getValue()).isEqualTo("A");
+
+      type.setName("B");
+      resource.setURI(URI.createURI("http://q"));
+      // URIs of objects are also cached for the duration of a save
+      provider = new ObjectMapper().getSerializerProviderInstance();
+
+      assertThat(uris.get(type, provider).getValue()).isEqualTo("http://q#//B");
+      assertThat(names.get(type, provider).getValue()).isEqualTo("B");
+   }
+
+   @Test
+   public void testValuesFollowPackageChanges() {
+      EPackage root = type.getEPackage();
+      EPackage sub = EcoreFactory.eINSTANCE.createEPackage();
+      sub.setName("sub");
+      sub.setNsURI("http://p/sub");
+      root.getESubpackages().add(sub);
+      EClass subType = EcoreFactory.eINSTANCE.createEClass();
+      subType.setName("S");
+      sub.getEClassifiers().add(subType);
+
+      TypeValueCache uris = TypeValueCache.of(EcoreTypeInfo.DEFAULT_VALUE_WRITER);
+
+      assertThat(uris.get(subType, provider).getValue()).isEqualTo("http://p#//sub/S");
+
+      sub.setName("renamed");
+      provider = new ObjectMapper().getSerializerProviderInstance();
+
+      assertThat(uris.get(subType, provider).getValue()).isEqualTo("http://p#//renamed/S");
+
+      root.getEClassifiers().add(subType);
+      provider = new ObjectMapper().getSerializerProviderInstance();
+
+      assertThat(uris.get(subType, provider).getValue()).isEqualTo("http://p#//S");
+   }
+
+   @Test
+   public void testCustomWritersAreNotCached() {
+      int[] calls = new int[1];
+      ValueWriter<EClass, String> writer = (value, context) -> value.getName() + calls[0]++;
+      TypeValueCache cache = TypeValueCache.of(writer);
+
+      assertThat(cache.get(type, provider).getValue()).isEqualTo("A0");
+      assertThat(cache.get(type, provider).getValue()).isEqualTo("A1");
+   }
+
+}
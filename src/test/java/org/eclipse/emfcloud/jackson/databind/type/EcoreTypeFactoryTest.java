@@ -17,6 +17,10 @@ import static org.eclipse.emfcloud.jackson.junit.model.ModelPackage.Literals.PRI
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emfcloud.jackson.junit.model.ModelPackage;
 import org.junit.Before;
 import org.junit.Test;
@@ -47,4 +51,39 @@ public class EcoreTypeFactoryTest {
          .isInstanceOf(CollectionType.class);
    }
 
+   @Test
+   public void testTypesAreCachedPerClass() {
+      TypeFactory typeFactory = TypeFactory.defaultInstance();
+      DatabindContext context = mock(DatabindContext.class);
+      when(context.getTypeFactory()).thenReturn(typeFactory);
+
+      assertThat(factory.typeOf(context, ModelPackage.Literals.USER, ModelPackage.Literals.USER__NAME))
+         .isSameAs(factory.typeOf(context, ModelPackage.Literals.USER, ModelPackage.Literals.USER__NAME))
+         .isEqualTo(typeFactory.constructType(String.class));
+   }
+
+   @Test
+   public void testDynamicClassChanges() {
+      TypeFactory typeFactory = TypeFactory.defaultInstance();
+      DatabindContext context = mock(DatabindContext.class);
+      when(context.getTypeFactory()).thenReturn(typeFactory);
+
+      EClass type = EcoreFactory.eINSTANCE.createEClass();
+      EAttribute name = EcoreFactory.eINSTANCE.createEAttribute();
+      name.setName("name");
+      name.setEType(EcorePackage.Literals.ESTRING);
+      type.getEStructuralFeatures().add(name);
+
+      assertThat(factory.typeOf(context, type, name)).isEqualTo(typeFactory.constructType(String.class));
+
+      EAttribute values = EcoreFactory.eINSTANCE.createEAttribute();
+      values.setName("values");
+      values.setEType(EcorePackage.Literals.EINT);
+      values.setUpperBound(-1);
+      type.getEStructuralFeatures().add(0, values);
+
+      assertThat(factory.typeOf(context, type, values)).isInstanceOf(CollectionType.class);
+      assertThat(factory.typeOf(context, type, name)).isEqualTo(typeFactory.constructType(String.class));
+   }
+
 }
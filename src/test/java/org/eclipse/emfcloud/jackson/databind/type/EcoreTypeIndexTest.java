@@ -0,0 +1,426 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emfcloud.jackson.databind.EMFContext;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class EcoreTypeIndexTest {
+
+   private EPackage.Registry registry;
+
+   @Before
+   public void setUp() {
+      registry = new EPackageRegistryImpl(EPackage.Registry.INSTANCE);
+   }
+
+   private static EPackage createPackage(final String name, final String... classes) {
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName(name);
+      ePackage.setNsURI("http://" + name);
+      for (String className : classes) {
+         ePackage.getEClassifiers().add(createClass(className));
+      }
+      return ePackage;
+   }
+
+   private static EClass createClass(final String name) {
+      EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+      eClass.setName(name);
+      return eClass;
+   }
+
+   @Test
+   public void testIndexIsSharedByRegistry() {
+      EPackage a = createPackage("a", "A1", "A2");
+      registry.put(a.getNsURI(), a);
+
+      EcoreTypeIndex index = EcoreTypeIndex.get(registry);
+
+      assertThat(index).isSameAs(EcoreTypeIndex.get(registry));
+      assertThat(index).isNotSameAs(EcoreTypeIndex.get(new EPackageRegistryImpl()));
+      assertThat(index.getTypes())
+         .contains((EClass) a.getEClassifiers().get(0), (EClass) a.getEClassifiers().get(1));
+   }
+
+   @Test
+   public void testAddPackage() {
+      EPackage a = createPackage("a", "A1");
+      registry.put(a.getNsURI(), a);
+      EcoreTypeIndex index = EcoreTypeIndex.get(registry);
+
+      EPackage b = createPackage("b", "B1");
+      EPackage sub = createPackage("sub", "S1");
+      b.getESubpackages().add(sub);
+      registry.put(b.getNsURI(), b);
+
+      assertThat(EcoreTypeIndex.get(registry).getTypes())
+         .contains((EClass) a.getEClassifiers().get(0))
+         .contains((EClass) b.getEClassifiers().get(0))
+         .contains((EClass) sub.getEClassifiers().get(0));
+      assertThat(index).isSameAs(EcoreTypeIndex.get(registry));
+   }
+
+   @Test
+   public void testRemovePackage() {
+      EPackage a = createPackage("a", "A1");
+      EPackage b = createPackage("b", "B1");
+      registry.put(a.getNsURI(), a);
+      registry.put(b.getNsURI(), b);
+
+      assertThat(EcoreTypeIndex.get(registry).getTypes()).contains((EClass) a.getEClassifiers().get(0));
+
+      registry.remove(a.getNsURI());
+
+      assertThat(EcoreTypeIndex.get(registry).getTypes())
+         .doesNotContain((EClass) a.getEClassifiers().get(0))
+         .contains((EClass) b.getEClassifiers().get(0));
+   }
+
+   @Test
+   public void testModifyPackage() {
+      EPackage a = createPackage("a", "A1");
+      registry.put(a.getNsURI(), a);
+
+      assertThat(EcoreTypeIndex.get(registry).getTypes()).contains((EClass) a.getEClassifiers().get(0));
+
+      EClass added = createClass("A2");
+      a.getEClassifiers().add(added);
+
+      assertThat(EcoreTypeIndex.get(registry).getTypes()).contains(added);
+   }
+
+   @Test
+   public void testSubTypes() {
+      EPackage a = createPackage("a", "A", "B", "C");
+      EClass typeA = (EClass) a.getEClassifiers().get(0);
+      EClass typeB = (EClass) a.getEClassifiers().get(1);
+      EClass typeC = (EClass) a.getEClassifiers().get(2);
+      typeA.setAbstract(true);
+      typeB.getESuperTypes().add(typeA);
+      typeC.getESuperTypes().add(typeB);
+      registry.put(a.getNsURI(), a);
+
+      EcoreTypeIndex index = EcoreTypeIndex.get(registry);
+
+      assertThat(index.getSubTypes(typeA)).containsExactly(typeB, typeC);
+      assertThat(index.getSubTypes(typeB)).containsExactly(typeB, typeC);
+      assertThat(index.getSubTypes(typeC)).containsExactly(typeC);
+      assertThat(index.getSubTypes(createClass("Unknown"))).isEmpty();
+      assertThat(index.getSubTypes(typeA)).isSameAs(index.getSubTypes(typeA));
+   }
+
+   @Test
+   public void testSubTypesOfAddedPackage() {
+      EPackage a = createPackage("a", "A");
+      EClass typeA = (EClass) a.getEClassifiers().get(0);
+      registry.put(a.getNsURI(), a);
+
+      assertThat(EcoreTypeIndex.get(registry).getSubTypes(typeA)).containsExactly(typeA);
+
+      EPackage b = createPackage("b", "B");
+      EClass typeB = (EClass) b.getEClassifiers().get(0);
+      typeB.getESuperTypes().add(typeA);
+      registry.put(b.getNsURI(), b);
+
+      assertThat(EcoreTypeIndex.get(registry).getSubTypes(typeA)).containsExactly(typeA, typeB);
+   }
+
+   @Test
+   public void testFindByName() {
+      EPackage a = createPackage("a", "IndexedFirst", "IndexedShared");
+      EPackage b = createPackage("b", "IndexedShared");
+      registry.put(a.getNsURI(), a);
+      registry.put(b.getNsURI(), b);
+
+      EcoreTypeIndex index = EcoreTypeIndex.get(registry);
+      EClass first = index.findByName("IndexedShared");
+
+      assertThat(index.findByName("IndexedFirst")).isSameAs(a.getEClassifiers().get(0));
+      assertThat(index.findByName("IndexedUnknown")).isNull();
+      assertThat(index.getNameCollisions()).containsKey("IndexedShared");
+      assertThat(index.getNameCollisions().get("IndexedShared"))
+         .containsExactlyInAnyOrder((EClass) a.getEClassifiers().get(1), (EClass) b.getEClassifiers().get(0))
+         .startsWith(first);
+      assertThat(index.getNameCollisions()).doesNotContainKey("IndexedFirst");
+   }
+
+   @Test
+   public void testFindByQualifiedName() {
+      EPackage a = createPackage("a", "A");
+      EClass type = (EClass) a.getEClassifiers().get(0);
+      type.setInstanceClassName("org.example.IndexedType");
+      registry.put(a.getNsURI(), a);
+
+      EcoreTypeIndex index = EcoreTypeIndex.get(registry);
+
+      assertThat(index.findByQualifiedName("org.example.IndexedType")).isSameAs(type);
+      assertThat(index.findByQualifiedName("org.example.Unknown")).isNull();
+   }
+
+   @Test
+   public void testFindByURI() {
+      EPackage a = createPackage("a", "A1", "A2");
+      new ResourceImpl(URI.createURI(a.getNsURI())).getContents().add(a);
+      registry.put(a.getNsURI(), a);
+
+      EClass type = EcoreTypeIndex.findByURI(registry, "http://a#//A2");
+
+      assertThat(type).isSameAs(a.getEClassifiers().get(1));
+      assertThat(EcoreTypeIndex.findByURI(registry, "http://a#//A2")).isSameAs(type);
+      assertThat(EcoreTypeIndex.findByURI(registry, "http://a#//A3")).isNull();
+      assertThat(EcoreTypeIndex.findByURI(registry, "http://unknown#//A1")).isNull();
+
+      a.getEClassifiers().remove(type);
+
+      assertThat(EcoreTypeIndex.findByURI(registry, "http://a#//A2")).isNull();
+   }
+
+   @Test
+   public void testResourceMappedToRegisteredURITakesPrecedence() {
+      EPackage registered = createPackage("mapped", "M1");
+      EPackage loaded = createPackage("mapped", "M1");
+      new ResourceImpl(URI.createURI(registered.getNsURI())).getContents().add(registered);
+      ResourceSet resourceSet = new ResourceSetImpl();
+      resourceSet.getPackageRegistry().put(registered.getNsURI(), registered);
+
+      // the namespace URI of the registered package is mapped to the location of the loaded one
+      URI location = URI.createURI("platform:/resource/project/mapped.ecore");
+      resourceSet.getURIConverter().getURIMap().put(URI.createURI(registered.getNsURI()), location);
+      Resource resource = new ResourceImpl(location);
+      resource.getContents().add(loaded);
+      resourceSet.getResources().add(resource);
+
+      DatabindContext ctxt = new ObjectMapper().getSerializerProviderInstance()
+         .setAttribute(EMFContext.Attributes.RESOURCE_SET, resourceSet);
+
+      assertThat(EMFContext.findEClass(ctxt, "http://mapped#//M1")).isSameAs(loaded.getEClassifiers().get(0));
+   }
+
+   private static EPackage.Descriptor describe(final EPackage ePackage, final AtomicInteger resolved) {
+      return new EPackage.Descriptor() {
+         @Override
+         public EPackage getEPackage() {
+            resolved.incrementAndGet();
+            return ePackage;
+         }
+
+         @Override
+         public EFactory getEFactory() { return ePackage.getEFactoryInstance(); }
+      };
+   }
+
+   @Test
+   public void testDescriptorsAreResolvedOnDemand() {
+      EPackage a = createPackage("a", "LazyPlain");
+      EPackage b = createPackage("b", "LazyDescribed");
+      new ResourceImpl(URI.createURI(a.getNsURI())).getContents().add(a);
+      AtomicInteger resolved = new AtomicInteger();
+      registry.put(a.getNsURI(), a);
+      registry.put(b.getNsURI(), describe(b, resolved));
+
+      assertThat(EcoreTypeIndex.findByURI(registry, "http://a#//LazyPlain")).isSameAs(a.getEClassifiers().get(0));
+      assertThat(resolved.get()).isEqualTo(0);
+
+      EcoreTypeIndex index = EcoreTypeIndex.get(registry);
+
+      assertThat(index.findByName("LazyPlain")).isSameAs(a.getEClassifiers().get(0));
+      assertThat(resolved.get()).isEqualTo(1);
+
+      assertThat(index.findByName("LazyDescribed")).isSameAs(b.getEClassifiers().get(0));
+      assertThat(EcoreTypeIndex.get(registry).getTypes()).contains((EClass) b.getEClassifiers().get(0));
+      assertThat(resolved.get()).isEqualTo(1);
+   }
+
+   @Test
+   public void testNamesDoNotDependOnRegistrationOrder() {
+      EPackage a = createPackage("ordered.a", "OrderedShared");
+      EPackage b = createPackage("ordered.b", "OrderedShared");
+      AtomicInteger resolved = new AtomicInteger();
+      registry.put(b.getNsURI(), b);
+      registry.put(a.getNsURI(), describe(a, resolved));
+
+      EPackage.Registry other = new EPackageRegistryImpl(EPackage.Registry.INSTANCE);
+      other.put(a.getNsURI(), a);
+      other.put(b.getNsURI(), b);
+
+      assertThat(EcoreTypeIndex.get(registry).findByName("OrderedShared")).isSameAs(a.getEClassifiers().get(0));
+      assertThat(EcoreTypeIndex.get(other).findByName("OrderedShared")).isSameAs(a.getEClassifiers().get(0));
+      assertThat(EcoreTypeIndex.get(registry).getNameCollisions().get("OrderedShared"))
+         .containsExactly((EClass) a.getEClassifiers().get(0), (EClass) b.getEClassifiers().get(0));
+   }
+
+   @Test
+   public void testCollisionWithUnresolvedPackageIsReported() {
+      EPackage a = createPackage("unresolved.a", "UnresolvedShared");
+      EPackage b = createPackage("unresolved.b", "UnresolvedShared");
+      AtomicInteger resolved = new AtomicInteger();
+      registry.put(a.getNsURI(), a);
+      registry.put(b.getNsURI(), describe(b, resolved));
+
+      EcoreTypeIndex index = EcoreTypeIndex.get(registry);
+
+      assertThat(index.getNameCollisions().get("UnresolvedShared"))
+         .containsExactly((EClass) a.getEClassifiers().get(0), (EClass) b.getEClassifiers().get(0));
+      assertThat(resolved.get()).isEqualTo(1);
+   }
+
+   @Test
+   public void testSubTypesDoNotResolveOtherDescriptors() {
+      EPackage a = createPackage("subtypes.a", "SubTypesBase", "SubTypesDerived");
+      EPackage b = createPackage("subtypes.b", "SubTypesOther");
+      EClass base = (EClass) a.getEClassifiers().get(0);
+      EClass derived = (EClass) a.getEClassifiers().get(1);
+      derived.getESuperTypes().add(base);
+      AtomicInteger resolvedA = new AtomicInteger();
+      AtomicInteger resolvedB = new AtomicInteger();
+      registry.put(a.getNsURI(), describe(a, resolvedA));
+      registry.put(b.getNsURI(), describe(b, resolvedB));
+
+      EcoreTypeIndex index = EcoreTypeIndex.get(registry);
+
+      assertThat(index.getSubTypes(base)).containsExactly(base, derived);
+      assertThat(resolvedA.get()).isEqualTo(1);
+      assertThat(resolvedB.get()).isEqualTo(0);
+   }
+
+   @Test
+   public void testLoadUntypedChildrenDoesNotResolveOtherDescriptors() throws IOException {
+      EPackage a = createPackage("untyped.a", "UntypedParent", "UntypedChild");
+      EPackage b = createPackage("untyped.b", "UntypedOther");
+      EClass parent = (EClass) a.getEClassifiers().get(0);
+      EClass child = (EClass) a.getEClassifiers().get(1);
+      EAttribute name = EcoreFactory.eINSTANCE.createEAttribute();
+      name.setName("name");
+      name.setEType(EcorePackage.Literals.ESTRING);
+      child.getEStructuralFeatures().add(name);
+      EReference children = EcoreFactory.eINSTANCE.createEReference();
+      children.setName("children");
+      children.setEType(child);
+      children.setContainment(true);
+      children.setUpperBound(-1);
+      parent.getEStructuralFeatures().add(children);
+
+      AtomicInteger resolved = new AtomicInteger();
+      ResourceSet resourceSet = new ResourceSetImpl();
+      resourceSet.getPackageRegistry().put(a.getNsURI(), a);
+      resourceSet.getPackageRegistry().put(b.getNsURI(), describe(b, resolved));
+
+      Resource resource = new ObjectMapper().registerModule(new EMFModule())
+         .reader()
+         .withAttribute(EMFContext.Attributes.RESOURCE_SET, resourceSet)
+         .withAttribute(EMFContext.Attributes.ROOT_ELEMENT, parent)
+         .forType(Resource.class)
+         .readValue("{ \"children\": [ { \"name\": \"first\" }, { \"name\": \"second\" } ] }");
+
+      @SuppressWarnings("unchecked")
+      List<EObject> loaded = (List<EObject>) resource.getContents().get(0).eGet(children);
+      assertThat(loaded).extracting(EObject::eClass).containsExactly(child, child);
+      assertThat(loaded.get(1).eGet(name)).isEqualTo("second");
+      assertThat(resolved.get()).isEqualTo(0);
+   }
+
+   @Test
+   public void testIndexIsSharedByResourceSet() {
+      ResourceSet resourceSet = new ResourceSetImpl();
+      EPackage a = createPackage("a", "A1");
+      resourceSet.getPackageRegistry().put(a.getNsURI(), a);
+
+      EcoreTypeIndex index = EcoreTypeIndex.get(resourceSet);
+
+      assertThat(index).isSameAs(EcoreTypeIndex.get(resourceSet));
+      assertThat(index.getTypes()).contains((EClass) a.getEClassifiers().get(0));
+
+      resourceSet.setPackageRegistry(new EPackageRegistryImpl(EPackage.Registry.INSTANCE));
+
+      assertThat(EcoreTypeIndex.get(resourceSet)).isNotSameAs(index);
+      assertThat(EcoreTypeIndex.get(resourceSet).getTypes()).doesNotContain((EClass) a.getEClassifiers().get(0));
+   }
+
+   @Test
+   public void testResourceSetWithoutPackagesSharesGlobalIndex() {
+      EcoreTypeIndex global = EcoreTypeIndex.get(EPackage.Registry.INSTANCE);
+
+      assertThat(EcoreTypeIndex.get(new ResourceSetImpl())).isSameAs(global);
+      assertThat(EcoreTypeIndex.get(new ResourceSetImpl())).isSameAs(global);
+   }
+
+   @Test
+   public void testReplaceLocalPackage() {
+      EPackage a = createPackage("a", "A1");
+      EPackage other = createPackage("a", "A2");
+      registry.put(a.getNsURI(), a);
+
+      assertThat(EcoreTypeIndex.get(registry).getTypes()).contains((EClass) a.getEClassifiers().get(0));
+
+      registry.put(other.getNsURI(), other);
+
+      assertThat(EcoreTypeIndex.get(registry).getTypes())
+         .doesNotContain((EClass) a.getEClassifiers().get(0))
+         .contains((EClass) other.getEClassifiers().get(0));
+   }
+
+   @Test
+   public void testRegistryOfResourceSetIsCollected() throws InterruptedException {
+      WeakReference<EPackage.Registry> reference = indexDynamicPackage();
+
+      for (int i = 0; i < 50 && reference.get() != null; i++) {
+         System.gc();
+         Thread.sleep(10);
+      }
+      assertThat(reference.get()).isNull();
+   }
+
+   /*
+    * Indexes a package contained by a resource of a resource set and registered in its registry, so that
+    * the registry is reachable from the package.
+    */
+   private static WeakReference<EPackage.Registry> indexDynamicPackage() {
+      ResourceSet resourceSet = new ResourceSetImpl();
+      EPackage ePackage = createPackage("collected", "C1");
+      Resource resource = new ResourceImpl(URI.createURI(ePackage.getNsURI()));
+      resource.getContents().add(ePackage);
+      resourceSet.getResources().add(resource);
+      resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+
+      assertThat(EcoreTypeIndex.get(resourceSet).findByName("C1")).isSameAs(ePackage.getEClassifiers().get(0));
+      assertThat(EcoreTypeIndex.findByURI(resourceSet, "http://collected#//C1"))
+         .isSameAs(ePackage.getEClassifiers().get(0));
+      return new WeakReference<>(resourceSet.getPackageRegistry());
+   }
+
+}
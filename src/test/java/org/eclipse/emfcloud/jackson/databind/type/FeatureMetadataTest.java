@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.databind.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_USE_NAMES_FROM_EXTENDED_META_DATA;
+
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.ExtendedMetaData;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FeatureMetadataTest {
+
+   private static int packages;
+
+   private EPackage ePackage;
+   private EClass type;
+   private EAttribute name;
+   private EAttribute ignored;
+   private EReference children;
+
+   @Before
+   public void setUp() {
+      ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName("metadata");
+      ePackage.setNsURI("http://www.emfjson.org/jackson/metadata/" + packages++);
+
+      type = EcoreFactory.eINSTANCE.createEClass();
+      type.setName("Node");
+      ePackage.getEClassifiers().add(type);
+
+      name = EcoreFactory.eINSTANCE.createEAttribute();
+      name.setName("name");
+      name.setEType(EcorePackage.Literals.ESTRING);
+      annotate(name, "JsonProperty", "value", "label");
+      annotate(name, "JsonAlias", "value", "title, caption");
+      annotate(name, ExtendedMetaData.ANNOTATION_URI, "name", "xml-name");
+
+      ignored = EcoreFactory.eINSTANCE.createEAttribute();
+      ignored.setName("ignored");
+      ignored.setEType(EcorePackage.Literals.ESTRING);
+      ignored.getEAnnotations().add(EcoreFactory.eINSTANCE.createEAnnotation());
+      ignored.getEAnnotations().get(0).setSource("JsonIgnore");
+
+      children = EcoreFactory.eINSTANCE.createEReference();
+      children.setName("children");
+      children.setEType(type);
+      children.setContainment(true);
+      children.setUpperBound(-1);
+
+      type.getEStructuralFeatures().add(name);
+      type.getEStructuralFeatures().add(ignored);
+      type.getEStructuralFeatures().add(children);
+   }
+
+   private static void annotate(final EAttribute attribute, final String source, final String key,
+      final String value) {
+      EAnnotation annotation = EcoreFactory.eINSTANCE.createEAnnotation();
+      annotation.setSource(source);
+      annotation.getDetails().put(key, value);
+      attribute.getEAnnotations().add(annotation);
+   }
+
+   private FeatureMetadata.Provider provider(final FeatureMetadata... metadata) {
+      String nsURI = ePackage.getNsURI();
+      int hash = FeatureMetadata.hashAnnotations(type);
+      return new FeatureMetadata.Provider() {
+         @Override
+         public String getNsURI() { return nsURI; }
+
+         @Override
+         public FeatureMetadata[] getFeatures(final String className) {
+            return "Node".equals(className) ? metadata : null;
+         }
+
+         @Override
+         public int getAnnotationsHash(final String className) {
+            return "Node".equals(className) ? hash : 0;
+         }
+      };
+   }
+
+   @Test
+   public void testMetadata() {
+      FeatureMetadata metadata = FeatureMetadata.of(name);
+
+      assertThat(metadata).isSameAs(FeatureMetadata.of(name));
+      assertThat(metadata.getKind()).isEqualTo(FeatureKind.SINGLE_ATTRIBUTE);
+      assertThat(metadata.getElementName(0)).isEqualTo("label");
+      assertThat(metadata.getElementName(OPTION_USE_NAMES_FROM_EXTENDED_META_DATA.getMask())).isEqualTo("label");
+      assertThat(metadata.getAliases()).containsExactly("title", "caption");
+      assertThat(metadata.isIgnored()).isFalse();
+      assertThat(metadata.isRawValue()).isFalse();
+      assertThat(metadata.isFeatureMapEntry()).isFalse();
+      assertThat(metadata.getGroupName()).isNull();
+
+      assertThat(FeatureMetadata.of(ignored).isIgnored()).isTrue();
+      assertThat(FeatureMetadata.of(children).getKind()).isEqualTo(FeatureKind.MANY_CONTAINMENT);
+      assertThat(FeatureMetadata.of(children).getElementName(0)).isEqualTo("children");
+   }
+
+   @Test
+   public void testMetadataOfChangedClass() {
+      FeatureMetadata metadata = FeatureMetadata.of(children);
+
+      EAttribute added = EcoreFactory.eINSTANCE.createEAttribute();
+      added.setName("added");
+      added.setEType(EcorePackage.Literals.EINT);
+      type.getEStructuralFeatures().add(0, added);
+
+      assertThat(FeatureMetadata.of(added).getElementName(0)).isEqualTo("added");
+      assertThat(FeatureMetadata.of(children).getKind()).isEqualTo(metadata.getKind());
+      assertThat(FeatureMetadata.of(name).getElementName(0)).isEqualTo("label");
+   }
+
+   @Test
+   public void testUsePrecomputedMetadata() {
+      FeatureMetadata.register(provider(
+         FeatureMetadata.create("name", FeatureKind.SINGLE_ATTRIBUTE, FeatureMetadata.RAW_VALUE, null, "title",
+            "title", "caption"),
+         FeatureMetadata.create("ignored", FeatureKind.SINGLE_ATTRIBUTE, 0, null, "ignored", "ignored"),
+         FeatureMetadata.create("children", FeatureKind.MANY_CONTAINMENT, FeatureMetadata.IGNORED, null,
+            "children", "children")));
+
+      assertThat(FeatureMetadata.of(name).getElementName(0)).isEqualTo("title");
+      assertThat(FeatureMetadata.of(name).isRawValue()).isTrue();
+      assertThat(FeatureMetadata.of(name).getAliases()).containsExactly("caption");
+      assertThat(FeatureMetadata.of(ignored).isIgnored()).isFalse();
+      assertThat(FeatureMetadata.of(children).isIgnored()).isTrue();
+   }
+
+   @Test
+   public void testIgnorePrecomputedMetadataOfChangedClass() {
+      FeatureMetadata.register(provider(
+         FeatureMetadata.create("label", FeatureKind.SINGLE_ATTRIBUTE, 0, null, "label", "label"),
+         FeatureMetadata.create("ignored", FeatureKind.SINGLE_ATTRIBUTE, 0, null, "ignored", "ignored"),
+         FeatureMetadata.create("children", FeatureKind.MANY_CONTAINMENT, FeatureMetadata.IGNORED, null,
+            "children", "children")));
+
+      assertThat(FeatureMetadata.of(name).getAliases()).containsExactly("title", "caption");
+      assertThat(FeatureMetadata.of(ignored).isIgnored()).isTrue();
+      assertThat(FeatureMetadata.of(children).isIgnored()).isFalse();
+   }
+
+   @Test
+   public void testIgnorePrecomputedMetadataOfChangedAnnotations() {
+      FeatureMetadata.register(provider(
+         FeatureMetadata.create("name", FeatureKind.SINGLE_ATTRIBUTE, 0, null, "label", "xml-name", "title",
+            "caption"),
+         FeatureMetadata.create("ignored", FeatureKind.SINGLE_ATTRIBUTE, FeatureMetadata.IGNORED, null, "ignored",
+            "ignored"),
+         FeatureMetadata.create("children", FeatureKind.MANY_CONTAINMENT, 0, null, "children", "children")));
+
+      name.getEAnnotation("JsonAlias").getDetails().put("value", "heading");
+      EAnnotation ignore = EcoreFactory.eINSTANCE.createEAnnotation();
+      ignore.setSource("JsonIgnore");
+      children.getEAnnotations().add(ignore);
+
+      assertThat(FeatureMetadata.of(name).getAliases()).containsExactly("heading");
+      assertThat(FeatureMetadata.of(children).isIgnored()).isTrue();
+   }
+
+   @Test
+   public void testHashAnnotations() {
+      int hash = FeatureMetadata.hashAnnotations(type);
+
+      assertThat(FeatureMetadata.hashAnnotations(type)).isEqualTo(hash);
+
+      annotate(name, "JsonRawValue", "value", "true");
+      assertThat(FeatureMetadata.hashAnnotations(type)).isNotEqualTo(hash);
+
+      name.getEAnnotations().remove(name.getEAnnotation("JsonRawValue"));
+      assertThat(FeatureMetadata.hashAnnotations(type)).isEqualTo(hash);
+
+      name.getEAnnotation("JsonProperty").getDetails().put("value", "other");
+      assertThat(FeatureMetadata.hashAnnotations(type)).isNotEqualTo(hash);
+   }
+
+}
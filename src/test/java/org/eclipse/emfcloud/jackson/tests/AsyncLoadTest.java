@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.emfcloud.jackson.databind.EMFContext.Attributes.SUPPRESS_NOTIFICATIONS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emfcloud.jackson.junit.model.AbstractType;
+import org.eclipse.emfcloud.jackson.errors.JSONException;
+import org.eclipse.emfcloud.jackson.junit.model.Container;
+import org.eclipse.emfcloud.jackson.resource.JsonResource;
+import org.eclipse.emfcloud.jackson.resource.JsonResourceFeeder;
+import org.eclipse.emfcloud.jackson.support.StandardFixture;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonLocation;
+
+public class AsyncLoadTest {
+
+   @ClassRule
+   public static StandardFixture fixture = new StandardFixture();
+
+   private final ResourceSet resourceSet = fixture.getResourceSet();
+
+   private static String container(final String prefix) {
+      return "{\"eClass\": \"http://www.emfjson.org/jackson/model#//Container\", \"elements\": [" +
+         "{\"eClass\": \"http://www.emfjson.org/jackson/model#//ConcreteTypeOne\", \"name\": \"" + prefix +
+         "1\", \"refProperty\": [{\"$ref\": \"" + prefix + "2\"}]}, " +
+         "{\"eClass\": \"http://www.emfjson.org/jackson/model#//ConcreteTypeOne\", \"name\": \"" + prefix +
+         "2\", \"refProperty\": [{\"$ref\": \"a1\"}]}]}";
+   }
+
+   private static final String FIRST = "[" + container("a") + ", ";
+   private static final String SECOND = container("b") + "]";
+
+   private static byte[] bytes(final String data) {
+      return data.getBytes(StandardCharsets.UTF_8);
+   }
+
+   private JsonResource createResource(final String name) {
+      return (JsonResource) resourceSet.createResource(URI.createURI(name));
+   }
+
+   @Test
+   public void testReadRootsAsBytesArrive() throws Exception {
+      JsonResource resource = createResource("async-roots.json");
+      JsonResourceFeeder feeder = resource.loadAsync(null);
+      CompletableFuture<Resource> result = feeder.result().toCompletableFuture();
+
+      feeder.feed(ByteBuffer.wrap(bytes(FIRST)));
+      assertEquals(1, resource.getContents().size());
+      assertFalse(result.isDone());
+
+      feeder.feed(ByteBuffer.wrap(bytes(SECOND)));
+      assertEquals(2, resource.getContents().size());
+      assertFalse(result.isDone());
+
+      feeder.end();
+      assertSame(resource, result.get());
+
+      // references, including those to another root, are resolved at the end
+      Container second = (Container) resource.getContents().get(1);
+      AbstractType first = ((Container) resource.getContents().get(0)).getElements().get(0);
+      assertThat(second.getElements().get(1).getRefProperty()).containsExactly(first);
+   }
+
+   @Test
+   public void testLoadSameContentByteByByte() throws Exception {
+      byte[] data = bytes(FIRST + SECOND);
+      Resource expected = createResource("async-expected.json");
+      expected.load(new ByteArrayInputStream(data), null);
+
+      JsonResource actual = createResource("async-actual.json");
+      JsonResourceFeeder feeder = actual.loadAsync(null);
+      for (int i = 0; i < data.length; i++) {
+         feeder.feed(new byte[] { data[i] }, 0, 1);
+      }
+      feeder.end();
+
+      assertSame(actual, feeder.result().toCompletableFuture().get());
+      assertTrue(EcoreUtil.equals(expected.getContents(), actual.getContents()));
+   }
+
+   @Test
+   public void testRequestOneChunkAtATime() throws Exception {
+      byte[] data = bytes(FIRST + SECOND);
+      List<Long> requests = new ArrayList<>();
+
+      JsonResource resource = createResource("async-publisher.json");
+      JsonResourceFeeder feeder = resource.loadAsync(null);
+
+      Flow.Publisher<ByteBuffer> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+         private int position;
+
+         @Override
+         public void request(final long n) {
+            requests.add(n);
+            if (position < data.length) {
+               int length = Math.min(16, data.length - position);
+               ByteBuffer chunk = ByteBuffer.wrap(data, position, length);
+               position += length;
+               subscriber.onNext(chunk);
+            } else if (position == data.length) {
+               position++;
+               subscriber.onComplete();
+            }
+         }
+
+         @Override
+         public void cancel() {}
+      });
+      publisher.subscribe(feeder);
+
+      assertSame(resource, feeder.result().toCompletableFuture().get());
+      assertEquals(2, resource.getContents().size());
+      assertThat(requests).hasSize((data.length + 15) / 16 + 1).containsOnly(1L);
+   }
+
+   @Test
+   public void testLoadedResourceIsLeftAsIs() throws Exception {
+      JsonResource resource = createResource("async-loaded.json");
+      resource.load(new ByteArrayInputStream(bytes(FIRST + SECOND)), null);
+
+      JsonResourceFeeder feeder = resource.loadAsync(null);
+      assertSame(resource, feeder.result().toCompletableFuture().get());
+
+      feeder.feed(ByteBuffer.wrap(bytes(FIRST + SECOND)));
+      feeder.end();
+      assertEquals(2, resource.getContents().size());
+   }
+
+   @Test
+   public void testDiagnosticsAreClearedAndResourceIsNotModified() throws Exception {
+      JsonResource resource = createResource("async-diagnostics.json");
+      resource.setTrackingModification(true);
+      resource.getErrors().add(new JSONException("previous error", JsonLocation.NA));
+      resource.getWarnings().add(new JSONException("previous warning", JsonLocation.NA));
+
+      JsonResourceFeeder feeder = resource.loadAsync(null);
+      feeder.feed(ByteBuffer.wrap(bytes(FIRST + SECOND)));
+      feeder.end();
+
+      assertSame(resource, feeder.result().toCompletableFuture().get());
+      assertTrue(resource.isLoaded());
+      assertTrue(resource.getErrors().isEmpty());
+      assertTrue(resource.getWarnings().isEmpty());
+      assertFalse(resource.isModified());
+   }
+
+   @Test
+   public void testEmptyDocumentLeavesResourceEmpty() throws Exception {
+      JsonResource loaded = createResource("load-empty.json");
+      loaded.load(new ByteArrayInputStream(new byte[0]), null);
+
+      JsonResource resource = createResource("async-empty.json");
+      JsonResourceFeeder feeder = resource.loadAsync(null);
+      feeder.feed(ByteBuffer.wrap(bytes(" ")));
+      feeder.end();
+
+      assertSame(resource, feeder.result().toCompletableFuture().get());
+      assertTrue(resource.isLoaded());
+      assertTrue(resource.getContents().isEmpty());
+      assertEquals(loaded.getContents().size(), resource.getContents().size());
+   }
+
+   @Test
+   public void testNotificationsAreSuppressed() throws Exception {
+      JsonResource resource = createResource("async-suppressed.json");
+      List<Notification> notifications = new ArrayList<>();
+      resource.eAdapters().add(new AdapterImpl() {
+         @Override
+         public void notifyChanged(final Notification notification) {
+            if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+               notifications.add(notification);
+            }
+         }
+      });
+
+      JsonResourceFeeder feeder = resource.loadAsync(Collections.singletonMap(SUPPRESS_NOTIFICATIONS, Boolean.TRUE));
+      feeder.feed(ByteBuffer.wrap(bytes(FIRST + SECOND)));
+      assertEquals(2, resource.getContents().size());
+      assertThat(notifications).isEmpty();
+
+      feeder.end();
+
+      assertSame(resource, feeder.result().toCompletableFuture().get());
+      assertThat(notifications).hasSize(1);
+      assertEquals(Notification.ADD_MANY, notifications.get(0).getEventType());
+      assertThat((List<?>) notifications.get(0).getNewValue()).containsExactlyElementsOf(resource.getContents());
+   }
+
+   @Test
+   public void testFailOnMalformedDocument() throws IOException {
+      JsonResource resource = createResource("async-malformed.json");
+      JsonResourceFeeder feeder = resource.loadAsync(null);
+
+      feeder.feed(ByteBuffer.wrap(bytes("[{\"eClass\": ")));
+      feeder.end();
+
+      assertTrue(feeder.result().toCompletableFuture().isCompletedExceptionally());
+   }
+
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.emfcloud.jackson.databind.EMFContext.Attributes.BULK_LOAD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emfcloud.jackson.junit.model.AbstractType;
+import org.eclipse.emfcloud.jackson.junit.model.Container;
+import org.eclipse.emfcloud.jackson.junit.model.ETypes;
+import org.eclipse.emfcloud.jackson.support.StandardFixture;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class BulkLoadTest {
+
+   @ClassRule
+   public static StandardFixture fixture = new StandardFixture();
+
+   private final ResourceSet resourceSet = fixture.getResourceSet();
+
+   private static final Map<Object, Object> BULK = Collections.singletonMap(BULK_LOAD, Boolean.TRUE);
+
+   private static String container(final int size) {
+      StringBuilder data = new StringBuilder("{\"eClass\": \"http://www.emfjson.org/jackson/model#//Container\", ")
+         .append("\"elements\": [");
+      for (int i = 0; i < size; i++) {
+         if (i > 0) {
+            data.append(", ");
+         }
+         data.append("{\"eClass\": \"http://www.emfjson.org/jackson/model#//ConcreteTypeOne\", ")
+            .append("\"name\": \"").append(i).append("\", \"refProperty\": [")
+            // each element refers twice to the first one and once to the previous one
+            .append("{\"$ref\": \"0\"}, {\"$ref\": \"0\"}");
+         if (i > 0) {
+            data.append(", {\"$ref\": \"").append(i - 1).append("\"}");
+         }
+         data.append("]}");
+      }
+      return data.append("]}").toString();
+   }
+
+   private EObject load(final String name, final String data, final Map<?, ?> options) throws IOException {
+      Resource resource = resourceSet.createResource(URI.createURI(name));
+      resource.load(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), options);
+      return resource.getContents().get(0);
+   }
+
+   @Test
+   public void testLoadContainmentAndReferencesInBulk() throws IOException {
+      Container container = (Container) load("bulk-containment.json", container(10), BULK);
+
+      assertEquals(10, container.getElements().size());
+      for (int i = 0; i < 10; i++) {
+         AbstractType element = container.getElements().get(i);
+         assertEquals(String.valueOf(i), element.getName());
+         assertSame(container, element.eContainer());
+
+         // duplicate references are added once
+         if (i <= 1) {
+            assertThat(element.getRefProperty()).containsExactly(container.getElements().get(0));
+         } else {
+            assertThat(element.getRefProperty())
+               .containsExactly(container.getElements().get(0), container.getElements().get(i - 1));
+         }
+      }
+   }
+
+   @Test
+   public void testLoadSameContentInBulk() throws IOException {
+      String data = container(50);
+
+      EObject expected = load("default-content.json", data, null);
+      EObject actual = load("bulk-content.json", data, BULK);
+
+      assertTrue(EcoreUtil.equals(expected, actual));
+   }
+
+   @Test
+   public void testLoadUniqueAttributeValuesInBulk() throws IOException {
+      String data = "{\"eClass\": \"http://www.emfjson.org/jackson/model#//ETypes\", " +
+         "\"eStrings\": [\"a\", \"b\", \"a\"], \"eInts\": [1, 2, 1, 3]}";
+
+      ETypes expected = (ETypes) load("default-values.json", data, null);
+      ETypes actual = (ETypes) load("bulk-values.json", data, BULK);
+
+      assertThat(actual.getEStrings()).containsExactly("a", "b").isEqualTo(expected.getEStrings());
+      assertThat(actual.getEInts()).containsExactly(1, 2, 3).isEqualTo(expected.getEInts());
+   }
+
+}
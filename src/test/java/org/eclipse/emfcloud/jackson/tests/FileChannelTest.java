@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emfcloud.jackson.junit.model.ConcreteTypeOne;
+import org.eclipse.emfcloud.jackson.junit.model.Container;
+import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
+import org.eclipse.emfcloud.jackson.resource.FileChannelURIHandler;
+import org.eclipse.emfcloud.jackson.support.StandardFixture;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileChannelTest {
+
+   @ClassRule
+   public static StandardFixture fixture = new StandardFixture();
+
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   private static Container container() {
+      Container container = ModelFactory.eINSTANCE.createContainer();
+      for (int i = 0; i < 100; i++) {
+         ConcreteTypeOne element = ModelFactory.eINSTANCE.createConcreteTypeOne();
+         element.setName("element" + i);
+         container.getElements().add(element);
+      }
+      return container;
+   }
+
+   private static ResourceSet resourceSet(final FileChannelURIHandler handler) {
+      ResourceSet resourceSet = new ResourceSetImpl();
+      resourceSet.setResourceFactoryRegistry(fixture.getResourceSet().getResourceFactoryRegistry());
+      if (handler != null) {
+         resourceSet.getURIConverter().getURIHandlers().add(0, handler);
+      }
+      return resourceSet;
+   }
+
+   private void assertSameAsStreams(final FileChannelURIHandler handler) throws IOException {
+      File expectedFile = new File(folder.getRoot(), "expected.json");
+      File actualFile = new File(folder.getRoot(), "nested/actual.json");
+      Container container = container();
+
+      Resource expected = resourceSet(null).createResource(URI.createFileURI(expectedFile.getAbsolutePath()));
+      expected.getContents().add(EcoreUtil.copy(container));
+      expected.save(null);
+
+      Resource saved = resourceSet(handler).createResource(URI.createFileURI(actualFile.getAbsolutePath()));
+      saved.getContents().add(container);
+      saved.save(null);
+
+      assertArrayEquals(Files.readAllBytes(expectedFile.toPath()), Files.readAllBytes(actualFile.toPath()));
+      assertEquals(actualFile.lastModified(), saved.getTimeStamp());
+
+      Resource loaded = resourceSet(handler).getResource(URI.createFileURI(actualFile.getAbsolutePath()), true);
+
+      assertTrue(EcoreUtil.equals(expected.getContents(), loaded.getContents()));
+      assertEquals(actualFile.lastModified(), loaded.getTimeStamp());
+   }
+
+   @Test
+   public void testReadAndWriteThroughChannel() throws IOException {
+      assertSameAsStreams(new FileChannelURIHandler(Long.MAX_VALUE, 64));
+   }
+
+   @Test
+   public void testReadMappedFile() throws IOException {
+      assertSameAsStreams(new FileChannelURIHandler(0, FileChannelURIHandler.DEFAULT_BUFFER_SIZE));
+   }
+
+   @Test
+   public void testPooledBuffersAreCapped() throws IOException {
+      FileChannelURIHandler handler = new FileChannelURIHandler(Long.MAX_VALUE, 64, 1);
+      OutputStream[] streams = new OutputStream[3];
+      for (int i = 0; i < streams.length; i++) {
+         File file = new File(folder.getRoot(), "file" + i + ".json");
+         streams[i] = handler.createOutputStream(URI.createFileURI(file.getAbsolutePath()), null);
+         streams[i].write('{');
+      }
+      for (OutputStream stream : streams) {
+         stream.close();
+      }
+
+      assertEquals(1, handler.getPooledBuffers());
+
+      File file = new File(folder.getRoot(), "reused.json");
+      handler.createOutputStream(URI.createFileURI(file.getAbsolutePath()), null).close();
+
+      assertEquals(1, handler.getPooledBuffers());
+   }
+
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tests;
+
+import static org.eclipse.emfcloud.jackson.module.EMFModule.Feature.OPTION_USE_GENERATED_SETTERS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emfcloud.jackson.junit.model.ETypes;
+import org.eclipse.emfcloud.jackson.junit.model.User;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.eclipse.emfcloud.jackson.resource.JsonResourceFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class GeneratedSettersTest {
+
+   private ObjectMapper mapper;
+   private ResourceSetImpl resourceSet;
+
+   @Before
+   public void setUp() {
+      mapper = new ObjectMapper();
+      resourceSet = new ResourceSetImpl();
+
+      EMFModule module = new EMFModule();
+      module.configure(OPTION_USE_GENERATED_SETTERS, true);
+      mapper.registerModule(module);
+
+      resourceSet.getResourceFactoryRegistry()
+         .getExtensionToFactoryMap()
+         .put("*", new JsonResourceFactory(mapper));
+   }
+
+   private Resource load(final JsonNode data) throws IOException {
+      Resource resource = resourceSet.createResource(URI.createURI("tests/test.json"));
+      resource.load(new ByteArrayInputStream(mapper.writeValueAsBytes(data)), null);
+      return resource;
+   }
+
+   @Test
+   public void testLoadPrimitiveValues() throws IOException {
+      JsonNode data = mapper.createObjectNode()
+         .put("eClass", "http://www.emfjson.org/jackson/model#//ETypes")
+         .put("eString", "Hello")
+         .put("eBoolean", true)
+         .put("eInt", 2)
+         .put("eLong", 3000000000L)
+         .put("eDouble", 1.5)
+         .put("doubleValue", 2.5)
+         .put("eFloat", 0.5f);
+
+      ETypes root = (ETypes) load(data).getContents().get(0);
+
+      assertEquals("Hello", root.getEString());
+      assertTrue(root.isEBoolean());
+      assertEquals(2, root.getEInt());
+      assertEquals(3000000000L, root.getELong());
+      assertEquals(1.5, root.getEDouble(), 0);
+      assertEquals(Double.valueOf(2.5), root.getDoubleValue());
+      assertEquals(0.5f, root.getEFloat(), 0);
+   }
+
+   @Test
+   public void testLoadIntegerIntoFloatingPointValues() throws IOException {
+      JsonNode data = mapper.createObjectNode()
+         .put("eClass", "http://www.emfjson.org/jackson/model#//ETypes")
+         .put("eDouble", 2)
+         .put("eFloat", 3);
+
+      ETypes root = (ETypes) load(data).getContents().get(0);
+
+      assertEquals(2.0, root.getEDouble(), 0);
+      assertEquals(3.0f, root.getEFloat(), 0);
+   }
+
+   @Test
+   public void testLoadCoercedValues() throws IOException {
+      JsonNode data = mapper.createObjectNode()
+         .put("eClass", "http://www.emfjson.org/jackson/model#//ETypes")
+         .put("eString", 12)
+         .put("eInt", "7")
+         .put("eBoolean", "true");
+
+      ETypes root = (ETypes) load(data).getContents().get(0);
+
+      assertEquals("12", root.getEString());
+      assertEquals(7, root.getEInt());
+      assertTrue(root.isEBoolean());
+   }
+
+   @Test
+   public void testLoadNullValues() throws IOException {
+      JsonNode data = mapper.createObjectNode()
+         .put("eClass", "http://www.emfjson.org/jackson/model#//ETypes")
+         .putNull("eString")
+         .putNull("doubleValue");
+
+      ETypes root = (ETypes) load(data).getContents().get(0);
+
+      assertNull(root.getEString());
+      assertNull(root.getDoubleValue());
+      assertFalse(root.eIsSet(root.eClass().getEStructuralFeature("eString")));
+   }
+
+   @Test
+   public void testLoadIdentifiers() throws IOException {
+      JsonNode data = mapper.createObjectNode()
+         .put("eClass", "http://www.emfjson.org/jackson/model#//User")
+         .put("userId", "1")
+         .put("name", "Paul");
+
+      Resource resource = load(data);
+      User root = (User) resource.getContents().get(0);
+
+      assertEquals("1", root.getUserId());
+      assertEquals("Paul", root.getName());
+      assertEquals(root, resource.getEObject("1"));
+   }
+
+}
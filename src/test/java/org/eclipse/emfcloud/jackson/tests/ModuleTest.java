@@ -12,9 +12,12 @@ package org.eclipse.emfcloud.jackson.tests;
 
 import static org.eclipse.emfcloud.jackson.databind.EMFContext.Attributes.RESOURCE_SET;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.stream.Stream;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
@@ -28,8 +31,10 @@ import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
 import org.eclipse.emfcloud.jackson.junit.model.ModelPackage;
 import org.eclipse.emfcloud.jackson.junit.model.User;
 import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.eclipse.emfcloud.jackson.module.WarmUpReport;
 import org.eclipse.emfcloud.jackson.resource.JsonResource;
 import org.eclipse.emfcloud.jackson.resource.JsonResourceFactory;
+import org.eclipse.emfcloud.jackson.utils.CacheStatistics;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -153,4 +158,44 @@ public class ModuleTest {
       assertEquals("A", ((EClass) root).getName());
    }
 
+   @Test
+   public void testWarmUp() throws IOException {
+      WarmUpReport report = EMFModule.warmUp(mapper, ModelPackage.eINSTANCE, EcorePackage.eINSTANCE);
+
+      long allClasses = Stream.of(ModelPackage.eINSTANCE, EcorePackage.eINSTANCE)
+         .flatMap(p -> p.getEClassifiers().stream())
+         .filter(c -> c instanceof EClass)
+         .count();
+      long classes = Stream.of(ModelPackage.eINSTANCE, EcorePackage.eINSTANCE)
+         .flatMap(p -> p.getEClassifiers().stream())
+         .filter(c -> c instanceof EClass && !((EClass) c).isAbstract() && !((EClass) c).isInterface())
+         .count();
+
+      assertEquals(2, report.getPackages());
+      assertEquals(classes, report.getClasses());
+      assertNotNull(report.getDuration());
+
+      // caches of the mapper are filled before the first read, those of other mappers only add to them
+      assertTrue(CacheStatistics.get("boundPropertyMaps").getSize() >= classes);
+      assertTrue(CacheStatistics.get("typeNames").getSize() >= allClasses);
+      assertTrue(CacheStatistics.get("featureTypes").getSize() > 0);
+      assertTrue(CacheStatistics.get("typeIndexes").getSize() > 0);
+
+      JsonNode data = mapper.createObjectNode()
+         .put("eClass", "http://www.emfjson.org/jackson/model#//User")
+         .put("name", "A");
+
+      User user = ModelFactory.eINSTANCE.createUser();
+      user.setName("A");
+
+      assertEquals(data, mapper.valueToTree(user));
+
+      User result = (User) mapper
+         .reader()
+         .withAttribute(RESOURCE_SET, resourceSet)
+         .treeToValue(data, EObject.class);
+
+      assertEquals("A", result.getName());
+   }
+
 }
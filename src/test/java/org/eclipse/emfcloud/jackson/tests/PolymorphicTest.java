@@ -15,7 +15,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,6 +31,7 @@ import org.eclipse.emfcloud.jackson.junit.model.ConcreteTypeTwo;
 import org.eclipse.emfcloud.jackson.junit.model.Container;
 import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
 import org.eclipse.emfcloud.jackson.junit.model.ModelPackage;
+import org.eclipse.emfcloud.jackson.junit.model.Node;
 import org.eclipse.emfcloud.jackson.support.StandardFixture;
 import org.junit.ClassRule;
 import org.junit.Test;
@@ -126,4 +129,65 @@ public class PolymorphicTest {
       assertSame(second, ref);
    }
 
+   @Test
+   public void testLoadObjectsWithTypeInformationLast() throws IOException {
+      String data = "{" +
+         "\"elements\": [" +
+         "{\"name\": \"First\", \"refProperty\": [{\"$ref\": \"Two\"}], \"propTypeOne\": \"one\", " +
+         "\"eClass\": \"http://www.emfjson.org/jackson/model#//ConcreteTypeOne\"}," +
+         "{\"name\": \"Two\", \"eClass\": \"http://www.emfjson.org/jackson/model#//ConcreteTypeTwo\", " +
+         "\"propTypeTwo\": \"two\"}" +
+         "]," +
+         "\"eClass\": \"http://www.emfjson.org/jackson/model#//Container\"" +
+         "}";
+
+      Resource resource = resourceSet.createResource(URI.createURI("types-last.json"));
+      resource.load(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), null);
+
+      assertEquals(1, resource.getContents().size());
+      assertTrue(resource.getContents().get(0) instanceof Container);
+
+      Container container = (Container) resource.getContents().get(0);
+      assertEquals(2, container.getElements().size());
+
+      AbstractType first = container.getElements().get(0);
+      AbstractType second = container.getElements().get(1);
+
+      assertTrue(first instanceof ConcreteTypeOne);
+      assertTrue(second instanceof ConcreteTypeTwo);
+      assertEquals("First", first.getName());
+      assertEquals("one", ((ConcreteTypeOne) first).getPropTypeOne());
+      assertEquals("Two", second.getName());
+      assertEquals("two", ((ConcreteTypeTwo) second).getPropTypeTwo());
+      assertSame(second, first.getRefProperty().get(0));
+   }
+
+   @Test
+   public void testLoadNestedObjectsWithoutTypeInformationAndRootTypeLast() throws IOException {
+      String data = "{" +
+         "\"label\": \"root\"," +
+         "\"child\": [" +
+         "{\"label\": \"a\", \"child\": [{\"child\": [{\"label\": \"c\"}], \"label\": \"b\"}]}," +
+         "{\"label\": \"d\"}" +
+         "]," +
+         "\"eClass\": \"http://www.emfjson.org/jackson/model#//Node\"" +
+         "}";
+
+      Resource resource = resourceSet.createResource(URI.createURI("nodes-last.json"));
+      resource.load(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), null);
+
+      assertEquals(1, resource.getContents().size());
+      assertTrue(resource.getContents().get(0) instanceof Node);
+
+      Node root = (Node) resource.getContents().get(0);
+      assertEquals("root", root.getLabel());
+      assertEquals(2, root.getChild().size());
+
+      Node a = root.getChild().get(0);
+      assertEquals("a", a.getLabel());
+      assertEquals("d", root.getChild().get(1).getLabel());
+      assertEquals("b", a.getChild().get(0).getLabel());
+      assertEquals("c", a.getChild().get(0).getChild().get(0).getLabel());
+   }
+
 }
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
+import org.eclipse.emfcloud.jackson.junit.model.Node;
+import org.eclipse.emfcloud.jackson.resource.JsonResource;
+import org.eclipse.emfcloud.jackson.support.StandardFixture;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class StreamTest {
+
+   @ClassRule
+   public static StandardFixture fixture = new StandardFixture();
+
+   private final ResourceSet resourceSet = fixture.getResourceSet();
+
+   private static Node node(final String label) {
+      Node node = ModelFactory.eINSTANCE.createNode();
+      node.setLabel(label);
+      return node;
+   }
+
+   /*
+    * Roots whose second child refers to the first one, and the second child of the last root also to the first
+    * child of the first root.
+    */
+   private byte[] roots(final int size) throws IOException {
+      Resource resource = resourceSet.createResource(URI.createURI("roots-" + size + ".json"));
+      for (int i = 0; i < size; i++) {
+         Node root = node("root" + i);
+         root.getChild().add(node("first" + i));
+         root.getChild().add(node("second" + i));
+         root.getChild().get(1).getManyRef().add(root.getChild().get(0));
+         resource.getContents().add(root);
+      }
+      Node first = (Node) resource.getContents().get(0);
+      Node last = (Node) resource.getContents().get(size - 1);
+      last.getChild().get(1).getManyRef().add(first.getChild().get(0));
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      resource.save(outputStream, null);
+      return outputStream.toByteArray();
+   }
+
+   private JsonResource createResource(final String name) {
+      return (JsonResource) resourceSet.createResource(URI.createURI(name));
+   }
+
+   @Test
+   public void testStreamRootsOneAtATime() throws IOException {
+      JsonResource resource = createResource("stream-roots.json");
+      List<EObject> roots = new ArrayList<>();
+
+      try (Stream<EObject> stream = resource.stream(new ByteArrayInputStream(roots(3)), null)) {
+         stream.forEach(root -> {
+            assertThat(resource.getContents()).containsExactly(root);
+            roots.add(root);
+         });
+      }
+
+      assertEquals(3, roots.size());
+      assertTrue(resource.getContents().isEmpty());
+      for (int i = 0; i < 3; i++) {
+         Node root = (Node) roots.get(i);
+         assertEquals("root" + i, root.getLabel());
+         assertNull(root.eResource());
+
+         // references within the root are resolved, even those written with the index of the root, but not
+         // those to another root
+         assertThat(root.getChild().get(1).getManyRef()).containsExactly(root.getChild().get(0));
+      }
+   }
+
+   @Test
+   public void testIteratorOfStreamReadsRootsLazily() throws IOException {
+      JsonResource resource = createResource("stream-lazily.json");
+
+      try (Stream<EObject> stream = resource.stream(new ByteArrayInputStream(roots(3)), null)) {
+         List<String> labels = stream.limit(2)
+            .map(root -> ((Node) root).getLabel())
+            .collect(Collectors.toList());
+
+         assertThat(labels).containsExactly("root0", "root1");
+         assertThat(resource.getContents()).hasSize(1);
+      }
+      assertTrue(resource.getContents().isEmpty());
+   }
+
+   @Test
+   public void testStreamSingleRoot() throws IOException {
+      JsonResource resource = createResource("stream-single.json");
+      String data = "{\"eClass\": \"http://www.emfjson.org/jackson/model#//Node\", \"label\": \"single\", " +
+         "\"child\": [{\"label\": \"first\"}, {\"label\": \"second\", \"manyRef\": [{\"$ref\": \"//@child.0\"}]}]}";
+
+      List<EObject> roots;
+      try (Stream<EObject> stream = resource
+         .stream(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), null)) {
+         roots = stream.collect(Collectors.toList());
+      }
+
+      assertEquals(1, roots.size());
+      Node root = (Node) roots.get(0);
+      assertEquals("single", root.getLabel());
+      assertThat(root.getChild().get(1).getManyRef()).containsExactly(root.getChild().get(0));
+   }
+
+   @Test(expected = IllegalStateException.class)
+   public void testCannotStreamIntoResourceWithContents() throws IOException {
+      JsonResource resource = createResource("stream-contents.json");
+      resource.getContents().add(node("existing"));
+
+      resource.stream(new ByteArrayInputStream(roots(1)), null);
+   }
+
+   @Test(expected = IllegalStateException.class)
+   public void testCannotStreamIntoLoadedResource() throws IOException {
+      JsonResource resource = createResource("stream-loaded.json");
+      resource.load(new ByteArrayInputStream(roots(1)), null);
+      resource.getContents().clear();
+
+      resource.stream(new ByteArrayInputStream(roots(1)), null);
+   }
+
+   @Test
+   public void testStreamedResourceIsNotModified() throws IOException {
+      JsonResource resource = createResource("stream-modified.json");
+      resource.setTrackingModification(true);
+
+      try (Stream<EObject> stream = resource.stream(new ByteArrayInputStream(roots(2)), null)) {
+         assertEquals(2, stream.count());
+      }
+
+      assertTrue(resource.isLoaded());
+      assertFalse(resource.isModified());
+   }
+
+}
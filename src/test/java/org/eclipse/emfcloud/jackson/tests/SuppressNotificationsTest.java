@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.emfcloud.jackson.databind.EMFContext.Attributes.SUPPRESS_NOTIFICATIONS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emfcloud.jackson.junit.model.AbstractType;
+import org.eclipse.emfcloud.jackson.junit.model.Container;
+import org.eclipse.emfcloud.jackson.support.StandardFixture;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class SuppressNotificationsTest {
+
+   @ClassRule
+   public static StandardFixture fixture = new StandardFixture();
+
+   private static final Map<Object, Object> SUPPRESS = Collections.singletonMap(SUPPRESS_NOTIFICATIONS,
+      Boolean.TRUE);
+
+   private static final String DATA = "{\"eClass\": \"http://www.emfjson.org/jackson/model#//Container\", " +
+      "\"elements\": [" +
+      "{\"eClass\": \"http://www.emfjson.org/jackson/model#//ConcreteTypeOne\", \"name\": \"0\"}, " +
+      "{\"eClass\": \"http://www.emfjson.org/jackson/model#//ConcreteTypeOne\", \"name\": \"1\", " +
+      "\"refProperty\": [{\"$ref\": \"0\"}]}, " +
+      "{\"eClass\": \"http://www.emfjson.org/jackson/model#//ConcreteTypeOne\", \"name\": \"2\", " +
+      "\"refProperty\": [{\"$ref\": \"0\"}, {\"$ref\": \"1\"}]}" +
+      "]}";
+
+   private ResourceSet resourceSet;
+   private final List<Notification> notifications = new ArrayList<>();
+
+   @Before
+   public void setUp() {
+      resourceSet = new ResourceSetImpl();
+      resourceSet.setResourceFactoryRegistry(fixture.getResourceSet().getResourceFactoryRegistry());
+      resourceSet.eAdapters().add(new EContentAdapter() {
+         @Override
+         public void notifyChanged(final Notification notification) {
+            super.notifyChanged(notification);
+            if (notification.getNotifier() instanceof EObject
+               || notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+               notifications.add(notification);
+            }
+         }
+      });
+   }
+
+   private Container load(final String name, final Map<?, ?> options) throws IOException {
+      Resource resource = resourceSet.createResource(URI.createURI(name));
+      resource.load(new ByteArrayInputStream(DATA.getBytes(StandardCharsets.UTF_8)), options);
+      return (Container) resource.getContents().get(0);
+   }
+
+   @Test
+   public void testNotifyEachValueByDefault() throws IOException {
+      load("default.json", null);
+
+      assertThat(notifications).hasSizeGreaterThan(1);
+   }
+
+   @Test
+   public void testNotifyContentsOnceWhenSuppressed() throws IOException {
+      Container container = load("suppressed.json", SUPPRESS);
+
+      assertEquals(1, notifications.size());
+      assertEquals(Notification.ADD, notifications.get(0).getEventType());
+      assertEquals(container, notifications.get(0).getNewValue());
+      assertEquals(container.eResource(), notifications.get(0).getNotifier());
+
+      // adapters of the resource set have been propagated to the contents
+      for (AbstractType element : container.getElements()) {
+         assertThat(element.eAdapters()).containsAll(container.eResource().eAdapters());
+      }
+
+      notifications.clear();
+      container.getElements().get(0).setName("changed");
+      assertEquals(1, notifications.size());
+   }
+
+   @Test
+   public void testIndexCrossReferencesWhenSuppressed() throws IOException {
+      ECrossReferenceAdapter adapter = new ECrossReferenceAdapter();
+      resourceSet.eAdapters().add(adapter);
+
+      Container expected = load("default-references.json", null);
+      Container actual = load("suppressed-references.json", SUPPRESS);
+
+      assertTrue(EcoreUtil.equals(expected, actual));
+      for (int i = 0; i < 3; i++) {
+         assertEquals(owners(adapter, expected.getElements().get(i)).size(),
+            owners(adapter, actual.getElements().get(i)).size());
+      }
+      assertThat(owners(adapter, actual.getElements().get(0)))
+         .containsExactlyInAnyOrder(actual, actual.getElements().get(1), actual.getElements().get(2));
+   }
+
+   private static List<EObject> owners(final ECrossReferenceAdapter adapter, final EObject target) {
+      List<EObject> owners = new ArrayList<>();
+      for (EStructuralFeature.Setting setting : adapter.getInverseReferences(target, false)) {
+         owners.add(setting.getEObject());
+      }
+      return owners;
+   }
+
+}
@@ -222,4 +222,56 @@ public class CustomSerializersTest {
 
       assertEquals(expected, result);
    }
+
+   @Test
+   public void testSerializeReferenceAsStringsDoesNotAffectOtherMappers() {
+      EMFModule module = new EMFModule();
+      module.configure(EMFModule.Feature.OPTION_USE_ID, true);
+      module.configure(EMFModule.Feature.OPTION_SERIALIZE_TYPE, false);
+
+      module.setReferenceSerializer(new JsonSerializer<EObject>() {
+         @Override
+         public void serialize(final EObject value, final JsonGenerator gen, final SerializerProvider serializers)
+            throws IOException {
+            gen.writeString(((JsonResource) value.eResource()).getID(value));
+         }
+      });
+      mapper.registerModule(module);
+
+      EMFModule otherModule = new EMFModule();
+      otherModule.configure(EMFModule.Feature.OPTION_USE_ID, true);
+      otherModule.configure(EMFModule.Feature.OPTION_SERIALIZE_TYPE, false);
+      ObjectMapper otherMapper = new ObjectMapper().registerModule(otherModule);
+
+      JsonNode expected = mapper.createObjectNode()
+         .put("@id", "1")
+         .put("name", "Paul")
+         .put("uniqueFriend", "2");
+
+      JsonNode otherExpected = mapper.createObjectNode()
+         .put("@id", "1")
+         .put("name", "Paul")
+         .set("uniqueFriend", mapper.createObjectNode()
+            .put("eClass", "http://www.emfjson.org/jackson/model#//User")
+            .put("$ref", "2"));
+
+      User u1 = ModelFactory.eINSTANCE.createUser();
+      u1.setName("Paul");
+
+      User u2 = ModelFactory.eINSTANCE.createUser();
+      u2.setName("Franck");
+
+      u1.setUniqueFriend(u2);
+
+      Resource resource = resourceSet.createResource(URI.createURI("test"));
+      resource.getContents().add(u1);
+      resource.getContents().add(u2);
+
+      ((JsonResource) resource).setID(u1, "1");
+      ((JsonResource) resource).setID(u2, "2");
+
+      assertEquals(otherExpected, otherMapper.valueToTree(resource).get(0));
+      assertEquals(expected, mapper.valueToTree(resource).get(0));
+      assertEquals(otherExpected, otherMapper.valueToTree(resource).get(0));
+   }
 }
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emfcloud.jackson.junit.model.ConcreteTypeOne;
+import org.eclipse.emfcloud.jackson.junit.model.Container;
+import org.eclipse.emfcloud.jackson.junit.model.ModelFactory;
+import org.eclipse.emfcloud.jackson.junit.model.ModelPackage;
+import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class NotifierCacheTest {
+
+   @Test
+   public void testPutIfAbsentKeepsFirstValue() {
+      NotifierCache<EClass, String> cache = new NotifierCache<>();
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+
+      assertThat(cache.get(a)).isNull();
+      assertThat(cache.putIfAbsent(a, "first")).isEqualTo("first");
+      assertThat(cache.putIfAbsent(a, "second")).isEqualTo("first");
+      assertThat(cache.computeIfAbsent(a, e -> "third")).isEqualTo("first");
+
+      cache.put(a, "fourth");
+      assertThat(cache.get(a)).isEqualTo("fourth");
+      assertThat(cache.size()).isEqualTo(1);
+   }
+
+   @Test
+   public void testNullKeyIsNotCached() {
+      NotifierCache<EClass, String> cache = new NotifierCache<>();
+
+      assertThat(cache.computeIfAbsent(null, e -> "value")).isEqualTo("value");
+      assertThat(cache.get(null)).isNull();
+      assertThat(cache.size()).isEqualTo(0);
+   }
+
+   @Test
+   public void testKeysAreNotAdapted() {
+      NotifierCache<EClass, String> cache = new NotifierCache<>();
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+      int adapters = ModelPackage.Literals.CONTAINER.eAdapters().size();
+
+      cache.put(a, "a");
+      cache.put(ModelPackage.Literals.CONTAINER, "container");
+
+      assertThat(a.eAdapters()).isEmpty();
+      assertThat(ModelPackage.Literals.CONTAINER.eAdapters()).hasSize(adapters);
+   }
+
+   @Test
+   public void testValuesOfGeneratedClassesAreKept() throws InterruptedException {
+      NotifierCache<EClass, Object> cache = new NotifierCache<>();
+      WeakReference<Object> value = cacheValue(cache, ModelPackage.Literals.CONTAINER);
+
+      assertThat(collect(value)).isFalse();
+      assertThat(cache.get(ModelPackage.Literals.CONTAINER)).isSameAs(value.get());
+   }
+
+   @Test
+   public void testValuesOfDynamicClassesAreKeptWhileInUse() throws InterruptedException {
+      NotifierCache<EClass, Object> cache = new NotifierCache<>();
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+      WeakReference<Object> value = cacheValue(cache, a);
+
+      assertThat(collect(value)).isFalse();
+      assertThat(cache.get(a)).isSameAs(value.get());
+   }
+
+   @Test
+   public void testValuesOfDynamicClassesAreComputedAgain() throws InterruptedException {
+      NotifierCache<EClass, Object> cache = new NotifierCache<>();
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+      WeakReference<Object> value = cacheValue(cache, a);
+
+      assertThat(collectUnderPressure(value)).isTrue();
+      assertThat(cache.get(a)).isNull();
+      assertThat(cache.computeIfAbsent(a, e -> "again")).isEqualTo("again");
+   }
+
+   @Test
+   public void testValuesReferencingTheirKeyAreCollected() throws InterruptedException {
+      NotifierCache<EClass, List<EClass>> cache = new NotifierCache<>();
+      WeakReference<EClass> key = cacheDynamicClass(cache);
+
+      assertThat(collectUnderPressure(key)).isTrue();
+      assertThat(cache.size()).isEqualTo(0);
+   }
+
+   @Test
+   public void testDynamicPackagesAreCollectedAfterUse() throws Exception {
+      ObjectMapper mapper = EMFModule.setupDefaultMapper();
+      WeakReference<EPackage> ePackage = writeDynamicObject(mapper);
+
+      assertThat(collectUnderPressure(ePackage)).isTrue();
+   }
+
+   @Test
+   public void testDiscardedMapperIsCollectedAfterWritingGeneratedClass() throws Exception {
+      // caches of mappers discarded by previous tests are no longer counted
+      collect(new WeakReference<>(new Object()));
+      int before = boundPropertyMaps();
+
+      writeGeneratedObject(EMFModule.setupDefaultMapper());
+      assertThat(boundPropertyMaps()).isGreaterThan(before);
+
+      // the bound property maps are only counted while the builder that owns them is alive
+      for (int i = 0; i < 50 && boundPropertyMaps() > before; i++) {
+         System.gc();
+         Thread.sleep(10);
+      }
+      assertThat(boundPropertyMaps()).isLessThanOrEqualTo(before);
+   }
+
+   @Test
+   public void testStatistics() {
+      NotifierCache<EClass, String> cache = new NotifierCache<>("notifierCacheTest");
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+
+      cache.computeIfAbsent(a, e -> "a");
+      cache.get(a);
+      cache.get(a);
+
+      assertThat(cache.getHitCount()).isEqualTo(2);
+      assertThat(cache.getMissCount()).isEqualTo(1);
+
+      CacheStatistics statistics = CacheStatistics.get("notifierCacheTest");
+      assertThat(statistics).isNotNull();
+      assertThat(statistics.getSize()).isEqualTo(1);
+      assertThat(statistics.getHitCount()).isEqualTo(2);
+      assertThat(statistics.getMissCount()).isEqualTo(1);
+      assertThat(statistics.getHitRate()).isEqualTo(2.0 / 3);
+   }
+
+   private static WeakReference<EClass> cacheDynamicClass(final NotifierCache<EClass, List<EClass>> cache) {
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+      cache.put(a, Collections.singletonList(a));
+
+      assertThat(cache.get(a)).containsExactly(a);
+      return new WeakReference<>(a);
+   }
+
+   private static WeakReference<Object> cacheValue(final NotifierCache<EClass, Object> cache, final EClass key) {
+      Object value = new Object();
+      cache.put(key, value);
+      return new WeakReference<>(value);
+   }
+
+   private static int boundPropertyMaps() {
+      CacheStatistics statistics = CacheStatistics.get("boundPropertyMaps");
+      return statistics == null ? 0 : statistics.getSize();
+   }
+
+   private static void writeGeneratedObject(final ObjectMapper mapper) throws Exception {
+      Container container = ModelFactory.eINSTANCE.createContainer();
+      ConcreteTypeOne element = ModelFactory.eINSTANCE.createConcreteTypeOne();
+      element.setName("generated-object");
+      container.getElements().add(element);
+
+      assertThat(mapper.writeValueAsString(container)).contains("generated-object");
+   }
+
+   private static WeakReference<EPackage> writeDynamicObject(final ObjectMapper mapper) throws Exception {
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName("tenant");
+      ePackage.setNsURI("http://tenant");
+
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+      a.setName("A");
+      EAttribute name = attribute("name");
+      a.getEStructuralFeatures().add(name);
+      ePackage.getEClassifiers().add(a);
+
+      EObject object = ePackage.getEFactoryInstance().create(a);
+      object.eSet(name, "tenant-object");
+
+      assertThat(mapper.writeValueAsString(object)).contains("tenant-object");
+      return new WeakReference<>(ePackage);
+   }
+
+   private static EAttribute attribute(final String name) {
+      EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+      attribute.setName(name);
+      attribute.setEType(EcorePackage.Literals.ESTRING);
+      return attribute;
+   }
+
+   private static boolean collect(final WeakReference<?> reference) throws InterruptedException {
+      for (int i = 0; i < 50 && reference.get() != null; i++) {
+         System.gc();
+         Thread.sleep(10);
+      }
+      return reference.get() == null;
+   }
+
+   /*
+    * Fills the heap until the referent is collected, soft references are cleared before memory is exhausted.
+    */
+   @SuppressWarnings("checkstyle:illegalCatch")
+   private static boolean collectUnderPressure(final WeakReference<?> reference) throws InterruptedException {
+      List<long[]> garbage = new ArrayList<>();
+      try {
+         while (reference.get() != null) {
+            garbage.add(new long[1 << 20]);
+         }
+      } catch (OutOfMemoryError e) {
+         // soft references are cleared by now
+      } finally {
+         garbage.clear();
+      }
+      return collect(reference);
+   }
+
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2021 Guillaume Hillairet and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.jackson.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WeakIdentityCacheTest {
+
+   private WeakIdentityCache<EClass, String> cache;
+
+   @Before
+   public void setUp() {
+      cache = new WeakIdentityCache<>();
+   }
+
+   private static List<EClass> createClasses(final int size) {
+      List<EClass> classes = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+         EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+         eClass.setName("A" + i);
+         classes.add(eClass);
+      }
+      return classes;
+   }
+
+   @Test
+   public void testPutIfAbsentKeepsFirstValue() {
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+
+      assertThat(cache.get(a)).isNull();
+      assertThat(cache.putIfAbsent(a, "first")).isEqualTo("first");
+      assertThat(cache.putIfAbsent(a, "second")).isEqualTo("first");
+      assertThat(cache.get(a)).isEqualTo("first");
+      assertThat(cache.computeIfAbsent(a, e -> "third")).isEqualTo("first");
+   }
+
+   @Test
+   public void testPutReplacesValue() {
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+      EClass b = EcoreFactory.eINSTANCE.createEClass();
+
+      cache.put(a, "first");
+      cache.put(a, "second");
+      cache.put(b, "b");
+
+      assertThat(cache.get(a)).isEqualTo("second");
+      assertThat(cache.get(b)).isEqualTo("b");
+      assertThat(cache.size()).isEqualTo(2);
+   }
+
+   @Test
+   public void testNullKeysAreRejected() {
+      List<EClass> classes = createClasses(1);
+      cache.putIfAbsent(classes.get(0), "collected");
+      classes.clear();
+      System.gc();
+
+      assertThat(cache.get(null)).isNull();
+      assertThatThrownBy(() -> cache.put(null, "null")).isInstanceOf(NullPointerException.class);
+      assertThatThrownBy(() -> cache.putIfAbsent(null, "null")).isInstanceOf(NullPointerException.class);
+      assertThatThrownBy(() -> cache.computeIfAbsent(null, e -> "null")).isInstanceOf(NullPointerException.class);
+   }
+
+   @Test
+   public void testReplacedKeyIsCountedOnceWhenCollected() throws InterruptedException {
+      List<EClass> classes = createClasses(10);
+      classes.forEach(c -> cache.putIfAbsent(c, c.getName()));
+      putTwice();
+
+      for (int i = 0; i < 50 && cache.size() > 10; i++) {
+         System.gc();
+         Thread.sleep(10);
+      }
+      System.gc();
+      Thread.sleep(50);
+
+      assertThat(cache.size()).isEqualTo(10);
+      classes.forEach(c -> assertThat(cache.get(c)).isEqualTo(c.getName()));
+   }
+
+   private void putTwice() {
+      EClass replaced = EcoreFactory.eINSTANCE.createEClass();
+      cache.put(replaced, "first");
+      cache.put(replaced, "second");
+      assertThat(cache.size()).isEqualTo(11);
+   }
+
+   @Test
+   public void testKeysAreComparedByIdentity() {
+      EClass a = EcoreFactory.eINSTANCE.createEClass();
+      a.setName("A");
+      EClass b = EcoreFactory.eINSTANCE.createEClass();
+      b.setName("A");
+
+      cache.putIfAbsent(a, "a");
+
+      assertThat(cache.get(b)).isNull();
+      assertThat(cache.computeIfAbsent(b, EClass::getName)).isEqualTo("A");
+      assertThat(cache.size()).isEqualTo(2);
+   }
+
+   @Test
+   public void testGrow() {
+      List<EClass> classes = createClasses(1000);
+      classes.forEach(c -> cache.putIfAbsent(c, c.getName()));
+
+      assertThat(cache.size()).isEqualTo(1000);
+      classes.forEach(c -> assertThat(cache.get(c)).isEqualTo(c.getName()));
+
+      cache.clear();
+
+      assertThat(cache.size()).isEqualTo(0);
+      assertThat(cache.get(classes.get(0))).isNull();
+   }
+
+   @Test
+   public void testConcurrentAccess() throws Exception {
+      List<EClass> classes = createClasses(500);
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+
+      try {
+         List<Future<?>> futures = new ArrayList<>();
+         for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+               for (EClass c : classes) {
+                  assertThat(cache.computeIfAbsent(c, EClass::getName)).isEqualTo(c.getName());
+               }
+            }));
+         }
+         for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+
+      assertThat(cache.size()).isEqualTo(500);
+   }
+
+}